@@ -1,9 +1,13 @@
 package org.example;
 
+import org.example.common.CommunicationType;
 import org.example.controller.GameController;
 import org.example.gui.LobbyWindow;
 import org.example.network.MainServer;
 
+import javax.swing.*;
+import java.util.concurrent.TimeUnit;
+
 public class Main {
     public static void main(String[] args) {
         // Cria a janela de lobby, que será o ponto de entrada do jogo
@@ -29,26 +33,29 @@ public class Main {
                 }
             }).start();
 
-            // Aguarda 1 segundo para garantir que o servidor iniciou
-            // antes de tentar conectar o cliente
+            // Aguarda o servidor sinalizar que está aceitando conexões
             try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+                MainServer.readiness().get(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                JOptionPane.showMessageDialog(lobby, "Não foi possível iniciar o servidor: " + e.getMessage(),
+                        "Erro", JOptionPane.ERROR_MESSAGE);
+                return;
             }
 
-            // Cria o controlador do jogo para o host com o tipo de comunicação selecionado
-            // O host também é um cliente, então precisa se conectar ao servidor
-            GameController controller = new GameController(lobby.getSelectedCommunicationType());
-            controller.connectToServer(lobby.getSelectedIP(), lobby.getSelectedPort());
+            // Cria o controlador do jogo para o host. O host também é um cliente, mas está no
+            // mesmo processo do servidor, então se conecta em memória (o oponente usa Socket/RPC)
+            GameController controller = new GameController(CommunicationType.LOOPBACK, lobby.getSelectedBoardSize());
+            controller.setOnShutdown(() -> System.exit(0));
+            controller.connectToServer(lobby.getSelectedIP(), lobby.getSelectedPort(), lobby.getPlayerName());
         });
 
         // Configura o comportamento quando o usuário escolhe conectar em uma partida
         lobby.setOnJoinSelected(() -> {
             // Cria o controlador do jogo para o cliente
             // Não precisa iniciar servidor, apenas conecta ao existente
-            GameController controller = new GameController(lobby.getSelectedCommunicationType());
-            controller.connectToServer(lobby.getSelectedIP(), lobby.getSelectedPort());
+            GameController controller = new GameController(lobby.getSelectedCommunicationType(), lobby.getSelectedBoardSize());
+            controller.setOnShutdown(() -> System.exit(0));
+            controller.connectToServer(lobby.getSelectedIP(), lobby.getSelectedPort(), lobby.getPlayerName());
         });
 
         // Exibe a janela de lobby e aguarda a escolha do usuário
@@ -0,0 +1,98 @@
+package org.example.ai;
+
+import org.example.ai.book.OpeningBook;
+import org.example.ai.tablebase.Tablebase;
+import org.example.ai.tablebase.TablebaseResult;
+import org.example.common.PieceType;
+import org.example.model.Board;
+import org.example.model.BoardGeometry;
+import org.example.model.Move;
+import org.example.model.TurnGenerator;
+
+/**
+ * Bot que consulta o livro de aberturas na fase de colocação e a tablebase nos finais,
+ * delegando a outro bot quando nenhum dos dois cobre a posição.
+ */
+public class BookBot implements Bot {
+    private final OpeningBook book;         // Pode ser null
+    private final Tablebase tablebase;      // Pode ser null
+    private final Bot fallback;
+
+    public BookBot(OpeningBook book, Tablebase tablebase, Bot fallback) {
+        this.book = book;
+        this.tablebase = tablebase;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public String getName() {
+        return "book+" + fallback.getName();
+    }
+
+    @Override
+    public Move chooseMove(Board board, PieceType player, long deadlineNanos) {
+        BoardGeometry geometry = BoardGeometry.FIVE;
+        // Livro e tablebase só existem para o 5x5
+        if (board.getGeometry() != geometry) {
+            return fallback.chooseMove(board, player, deadlineNanos);
+        }
+        if (board.isSetupPhase() && book != null) {
+            int square = book.suggestPlacement(board, player);
+            if (square >= 0) {
+                return Move.placement(geometry.row(square), geometry.col(square));
+            }
+        } else if (!board.isSetupPhase() && tablebase != null) {
+            Move move = tablebaseMove(board, player);
+            if (move != null) {
+                return move;
+            }
+        }
+        return fallback.chooseMove(board, player, deadlineNanos);
+    }
+
+    /**
+     * Escolhe o turno completo que deixa o oponente na pior posição segundo a tablebase
+     * (vitória mais rápida ou derrota mais demorada) e devolve o seu primeiro passo.
+     * Null se a posição não estiver coberta.
+     */
+    private Move tablebaseMove(Board board, PieceType player) {
+        if (tablebase.probe(board, player).getOutcome() == TablebaseResult.Outcome.UNKNOWN) {
+            return null;
+        }
+        BoardGeometry geometry = board.getGeometry();
+        boolean player1 = player == PieceType.PLAYER1;
+        long mover = geometry.maskOf(board, player);
+        long opponent = geometry.maskOf(board, player1 ? PieceType.PLAYER2 : PieceType.PLAYER1);
+
+        int[] best = new int[2];
+        int[] bestRank = {Integer.MIN_VALUE};
+        new TurnGenerator(geometry).generate(mover, opponent, board.getChainSquare(),
+                (path, length, newMover, newOpponent) -> {
+                    TablebaseResult result = tablebase.probe(player1 ? newMover : newOpponent,
+                            player1 ? newOpponent : newMover, !player1);
+                    int rank;
+                    switch (result.getOutcome()) {
+                        case LOSS:
+                            rank = 1_000_000 - result.getDistance(); // Oponente perde: quanto antes melhor
+                            break;
+                        case DRAW:
+                            rank = 0;
+                            break;
+                        case WIN:
+                            rank = -1_000_000 + result.getDistance(); // Oponente vence: adia o máximo
+                            break;
+                        default:
+                            return;
+                    }
+                    if (rank > bestRank[0]) {
+                        bestRank[0] = rank;
+                        best[0] = path[0];
+                        best[1] = path[1];
+                    }
+                });
+        if (bestRank[0] == Integer.MIN_VALUE) {
+            return null;
+        }
+        return new Move(geometry.row(best[0]), geometry.col(best[0]), geometry.row(best[1]), geometry.col(best[1]));
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.ai;
+
+import org.example.common.PieceType;
+import org.example.model.Board;
+import org.example.model.Move;
+
+/**
+ * Jogador automático do Seega.
+ * As implementações devem ser thread-safe: a mesma instância pode jogar várias partidas em paralelo.
+ */
+public interface Bot {
+    /**
+     * Nome usado nos relatórios
+     */
+    String getName();
+
+    /**
+     * Escolhe o próximo lance do jogador.
+     * @param board Cópia do tabuleiro (pode ser alterada livremente)
+     * @param player Jogador que vai jogar
+     * @param deadlineNanos Instante (System.nanoTime) em que o relógio do jogador acaba
+     * @return Lance escolhido, ou null se não houver lance
+     */
+    Move chooseMove(Board board, PieceType player, long deadlineNanos);
+}
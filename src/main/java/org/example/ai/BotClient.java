@@ -0,0 +1,312 @@
+package org.example.ai;
+
+import org.example.common.CommunicationType;
+import org.example.common.PieceType;
+import org.example.communication.CommunicationException;
+import org.example.communication.CommunicationFactory;
+import org.example.communication.GameCommunication;
+import org.example.communication.GameCommunicationListener;
+import org.example.game.EndReason;
+import org.example.game.GameSession;
+import org.example.game.GameSessionListener;
+import org.example.model.Board;
+import org.example.model.Move;
+import org.example.network.MainServer;
+import org.example.network.NetworkProtocol;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cliente sem interface gráfica que joga contra um servidor real usando um {@link Bot}.
+ *
+ * Mantém a própria {@link GameSession} e responde aos eventos de comunicação com os lances
+ * do bot, com as mesmas regras do GameController. O bot pensa num executor
+ * compartilhado, então centenas de clientes cabem na mesma JVM sem bloquear as threads
+ * de recebimento. Usado em testes de carga e filas de treino.
+ */
+public class BotClient implements GameCommunicationListener {
+    // Tempo máximo de raciocínio por lance
+    private static final long THINK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // Limite de lances da partida antes de desistir (evita partidas em ciclo)
+    private static final int MAX_PLIES = 300;
+
+    private final String name;
+    private final Bot bot;
+    private final ExecutorService thinkPool;
+    private final GameCommunication communication;
+    private final GameSession session;
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private PieceType myPieceType;
+    private boolean gameOver;
+    private String result; // Motivo do fim da partida
+    private boolean clocked; // Partida com relógio (não aceita voltar lance)
+    private boolean playingTurn;    // Jogando um turno próprio, ainda não enviado
+    private String pendingEndGame;  // Fim de jogo a avisar depois do turno que o causou (null se não avisa)
+    private String pendingResult;   // Resultado a registrar depois do envio desse turno
+
+    public BotClient(String name, Bot bot, GameCommunication communication, ExecutorService thinkPool) {
+        this(name, bot, communication, thinkPool, Board.DEFAULT_SIZE);
+    }
+
+    /**
+     * @param boardSize tamanho do tabuleiro pedido ao servidor (5, 7 ou 9)
+     */
+    public BotClient(String name, Bot bot, GameCommunication communication, ExecutorService thinkPool, int boardSize) {
+        this.session = new GameSession(new Board(boardSize));
+        this.name = name;
+        this.bot = bot;
+        this.communication = communication;
+        this.thinkPool = thinkPool;
+        communication.setGameCommunicationListener(this);
+    }
+
+    /**
+     * Conecta ao servidor e se identifica
+     */
+    public void connect(String host, int port) throws CommunicationException {
+        communication.connect(host, port);
+        communication.sendConnect(name, session.getBoard().getBoardSize());
+    }
+
+    /**
+     * Aguarda o fim da partida
+     * @return true se a partida terminou dentro do prazo
+     */
+    public boolean awaitGameEnd(long timeout, TimeUnit unit) throws InterruptedException {
+        return finished.await(timeout, unit);
+    }
+
+    public synchronized String getResult() {
+        return result;
+    }
+
+    @Override
+    public synchronized void onGameStart(boolean isFirstPlayer) {
+        myPieceType = isFirstPlayer ? PieceType.PLAYER1 : PieceType.PLAYER2;
+        session.addListener(new GameSessionListener() {
+            @Override
+            public void onTurnChanged(PieceType toMove) {
+                if (toMove == myPieceType) {
+                    scheduleTurn();
+                }
+            }
+
+            @Override
+            public void onGameOver(PieceType winner, EndReason reason) {
+                handleGameOver(winner, reason);
+            }
+        });
+        if (session.getToMove() == myPieceType) {
+            scheduleTurn();
+        }
+    }
+
+    @Override
+    public synchronized void onMoveReceived(String moveData) {
+        if (gameOver) return;
+        if (!session.play(Move.parse(moveData))) {
+            concede("Lance inválido do oponente: " + moveData);
+        }
+    }
+
+    @Override
+    public synchronized void onTurnReceived(String turnData) {
+        if (gameOver) return;
+        if (!session.playTurn(Move.parseTurn(turnData))) {
+            concede("Turno inválido do oponente: " + turnData);
+        }
+    }
+
+    @Override
+    public void onChatReceived(String message) {
+        // Bots ignoram o chat
+    }
+
+    @Override
+    public synchronized void onClockReceived(String clockData) {
+        // O servidor controla o tempo; o bot já pensa com prazo fixo por lance
+        clocked = true;
+    }
+
+    /**
+     * Aceita voltar lance só em partida casual sem relógio (o servidor já recusa as que valem
+     * rating) e se o último lance ainda for do oponente
+     */
+    @Override
+    public synchronized void onTakebackReceived(String data) {
+        if (!NetworkProtocol.TAKEBACK_REQUEST.equals(data) || gameOver) return;
+        if (!clocked && session.getLastMovePlayer() != myPieceType && session.undoTurn()) {
+            communication.sendTakeback(NetworkProtocol.TAKEBACK_ACCEPT);
+        } else {
+            communication.sendTakeback(NetworkProtocol.TAKEBACK_REJECT);
+        }
+    }
+
+    @Override
+    public synchronized void onGameEnd(String reason) {
+        session.end(null, EndReason.EXTERNAL);
+        finish(reason);
+    }
+
+    @Override
+    public synchronized void onError(String error) {
+        finish("ERRO: " + error);
+    }
+
+    /**
+     * Joga o turno no executor de raciocínio
+     */
+    private void scheduleTurn() {
+        thinkPool.execute(this::playTurn);
+    }
+
+    private synchronized void playTurn() {
+        if (gameOver || session.isOver() || session.getToMove() != myPieceType) return;
+
+        if (!session.isSetupPhase() && session.getPlies() >= MAX_PLIES) {
+            concede("Desistência: limite de lances");
+            return;
+        }
+        // Joga o turno inteiro (2 colocações, ou a sequência de capturas) e envia de uma vez
+        List<Move> steps = new ArrayList<>(2);
+        playingTurn = true;
+        try {
+            do {
+                Move move = bot.chooseMove(new Board(session.getBoard()), myPieceType, System.nanoTime() + THINK_NANOS);
+                if (!session.play(move)) {
+                    concede("Bot sem lance válido");
+                    return;
+                }
+                steps.add(move);
+            } while (!session.isOver() && session.isTurnInProgress());
+        } finally {
+            playingTurn = false;
+        }
+        // Se o oponente ficou bloqueado, onTurnChanged já agendou o próximo turno
+        communication.sendTurn(steps);
+        // O fim de jogo vai depois do turno: o servidor confere o resultado contra a posição
+        if (pendingResult != null) {
+            announceEnd(pendingEndGame, pendingResult);
+        }
+    }
+
+    /**
+     * Quem vence pelas regras avisa o servidor, que encerra a partida do oponente
+     */
+    private void handleGameOver(PieceType winner, EndReason reason) {
+        if (reason == EndReason.EXTERNAL) return;
+        String endGame = null;
+        String outcome;
+        if (winner == null) {
+            // Empate: quem fez o último lance avisa o servidor
+            if (session.getLastMovePlayer() == myPieceType) {
+                endGame = "DRAW_" + reason.name();
+            }
+            outcome = "Empate: " + reason;
+        } else if (winner == myPieceType) {
+            endGame = "VICTORY_" + reason.name();
+            outcome = "Vitória: " + reason;
+        } else {
+            outcome = "Derrota: " + reason;
+        }
+        if (playingTurn) {
+            // Fim causado pelo próprio turno: só avisa depois de enviá-lo
+            pendingEndGame = endGame;
+            pendingResult = outcome;
+        } else {
+            announceEnd(endGame, outcome);
+        }
+    }
+
+    private void announceEnd(String endGame, String outcome) {
+        if (endGame != null) {
+            communication.sendEndGame(endGame);
+        }
+        finish(outcome);
+    }
+
+    /**
+     * Desiste da partida; o servidor avisa o oponente
+     */
+    private void concede(String reason) {
+        if (gameOver) return;
+        gameOver = true;
+        result = reason;
+        communication.surrender();
+        finished.countDown();
+    }
+
+    private void finish(String reason) {
+        if (gameOver) return;
+        gameOver = true;
+        result = reason;
+        communication.disconnect();
+        finished.countDown();
+    }
+
+    /**
+     * Sobe vários bots contra um servidor (com LOOPBACK, um servidor no próprio processo).
+     * Uso: BotClient [host] [porta] [quantidade] [random|greedy] [SOCKET|RPC|LOOPBACK] [tamanho do tabuleiro]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 12345;
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        String botName = args.length > 3 ? args[3] : "greedy";
+        CommunicationType type = args.length > 4 ? CommunicationType.valueOf(args[4]) : CommunicationType.SOCKET;
+        int boardSize = args.length > 5 ? Integer.parseInt(args[5]) : Board.DEFAULT_SIZE;
+
+        if (type == CommunicationType.LOOPBACK) {
+            // Sem transporte: o servidor roda neste processo e os bots se conectam em memória
+            MainServer.main(new String[]{String.valueOf(port), type.name()});
+            try {
+                MainServer.readiness().get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                System.err.println("Servidor não iniciou: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        Bot bot = "random".equals(botName) ? new RandomBot() : new GreedyBot();
+        ExecutorService thinkPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+        BotClient[] clients = new BotClient[count];
+        AtomicInteger connectErrors = new AtomicInteger();
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            clients[i] = new BotClient("bot-" + i, bot, CommunicationFactory.createCommunication(type), thinkPool, boardSize);
+            try {
+                clients[i].connect(host, port);
+            } catch (CommunicationException e) {
+                connectErrors.incrementAndGet();
+                clients[i].finish("ERRO: " + e.getMessage());
+            }
+        }
+
+        int finishedGames = 0;
+        int errors = 0;
+        for (BotClient client : clients) {
+            if (client.awaitGameEnd(5, TimeUnit.MINUTES)) {
+                finishedGames++;
+                String result = client.getResult();
+                if (result != null && result.startsWith("ERRO")) {
+                    errors++;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d bots, %d partidas terminadas (%d por erro), %d erros de conexão em %.2fs%n",
+                count, finishedGames, errors, connectErrors.get(), seconds);
+        thinkPool.shutdown();
+        System.exit(0);
+    }
+}
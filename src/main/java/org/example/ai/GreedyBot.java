@@ -0,0 +1,61 @@
+package org.example.ai;
+
+import org.example.common.PieceType;
+import org.example.model.Board;
+import org.example.model.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bot guloso: na fase de movimento escolhe o lance com maior saldo de capturas,
+ * descontando a melhor captura que o oponente consegue em resposta. Coloca peças ao acaso.
+ */
+public class GreedyBot implements Bot {
+    @Override
+    public String getName() {
+        return "greedy";
+    }
+
+    @Override
+    public Move chooseMove(Board board, PieceType player, long deadlineNanos) {
+        List<Move> moves = board.getValidMoves(player);
+        if (moves.isEmpty()) {
+            return null;
+        }
+        if (board.isSetupPhase()) {
+            return moves.get(ThreadLocalRandom.current().nextInt(moves.size()));
+        }
+
+        PieceType opponent = player == PieceType.PLAYER1 ? PieceType.PLAYER2 : PieceType.PLAYER1;
+        List<Move> best = new ArrayList<>();
+        int bestScore = Integer.MIN_VALUE;
+        // Explora no próprio tabuleiro com makeMove/unmakeMove, sem cópias
+        for (Move move : moves) {
+            int score = board.makeMove(move, player);
+            // Sem tempo para olhar a resposta: fica só com o ganho imediato
+            if (System.nanoTime() < deadlineNanos) {
+                score -= bestCaptures(board, opponent);
+            }
+            board.unmakeMove();
+            if (score > bestScore) {
+                bestScore = score;
+                best.clear();
+            }
+            if (score == bestScore) {
+                best.add(move);
+            }
+        }
+        return best.get(ThreadLocalRandom.current().nextInt(best.size()));
+    }
+
+    private static int bestCaptures(Board board, PieceType player) {
+        int best = 0;
+        for (Move move : board.getValidMoves(player)) {
+            best = Math.max(best, board.makeMove(move, player));
+            board.unmakeMove();
+        }
+        return best;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.ai;
+
+import org.example.common.PieceType;
+import org.example.model.Board;
+import org.example.model.Move;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bot que escolhe um lance válido ao acaso (referência mínima de força).
+ */
+public class RandomBot implements Bot {
+    @Override
+    public String getName() {
+        return "random";
+    }
+
+    @Override
+    public Move chooseMove(Board board, PieceType player, long deadlineNanos) {
+        List<Move> moves = board.getValidMoves(player);
+        if (moves.isEmpty()) {
+            return null;
+        }
+        return moves.get(ThreadLocalRandom.current().nextInt(moves.size()));
+    }
+}
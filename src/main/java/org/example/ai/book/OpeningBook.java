@@ -0,0 +1,117 @@
+package org.example.ai.book;
+
+import org.example.common.PieceType;
+import org.example.model.Board;
+import org.example.model.BoardGeometry;
+import org.example.model.BoardSymmetry;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Livro de aberturas da fase de colocação carregado em memória.
+ *
+ * As chaves canônicas ficam num long[] ordenado e as estatísticas num int[] paralelo, então
+ * cada consulta é uma canonicalização mais uma busca binária, sem alocação.
+ */
+public class OpeningBook {
+    static final int MAGIC = 0x53474F42; // "SGOB"
+    static final int VERSION = 1;
+
+    private final BoardSymmetry symmetry;
+    private final long[] keys;
+    private final int[] stats; // partidas, vitórias do jogador 1, vitórias do jogador 2
+
+    private OpeningBook(BoardSymmetry symmetry, long[] keys, int[] stats) {
+        this.symmetry = symmetry;
+        this.keys = keys;
+        this.stats = stats;
+    }
+
+    /**
+     * Carrega o livro gravado pelo {@link OpeningBookBuilder}
+     */
+    public static OpeningBook load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Arquivo não é um livro de aberturas Seega: " + file);
+            }
+            if (in.readInt() != BoardGeometry.FIVE.getSize()) {
+                throw new IOException("Tamanho de tabuleiro não suportado");
+            }
+            int count = in.readInt();
+            long[] keys = new long[count];
+            int[] stats = new int[count * 3];
+            for (int i = 0; i < count; i++) {
+                keys[i] = in.readLong();
+            }
+            for (int i = 0; i < stats.length; i++) {
+                stats[i] = in.readInt();
+            }
+            return new OpeningBook(BoardSymmetry.FIVE, keys, stats);
+        }
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Número de partidas que passaram pela posição (0 se ela não estiver no livro)
+     */
+    public int getGames(long player1, long player2) {
+        int i = Arrays.binarySearch(keys, symmetry.canonicalKey(player1, player2));
+        return i < 0 ? 0 : stats[i * 3];
+    }
+
+    /**
+     * Pontuação da posição para o jogador (vitória = 1, empate = 0.5), ou NaN se não estiver no livro
+     */
+    public double getScore(long player1, long player2, PieceType player) {
+        int i = Arrays.binarySearch(keys, symmetry.canonicalKey(player1, player2));
+        if (i < 0) {
+            return Double.NaN;
+        }
+        int games = stats[i * 3];
+        int p1Wins = stats[i * 3 + 1];
+        int p2Wins = stats[i * 3 + 2];
+        int wins = player == PieceType.PLAYER1 ? p1Wins : p2Wins;
+        int draws = games - p1Wins - p2Wins;
+        return (wins + 0.5 * draws) / games;
+    }
+
+    /**
+     * Sugere a melhor casa para o jogador colocar a próxima peça
+     * @return índice da casa (linha * tamanho + coluna) ou -1 se nenhuma continuação estiver no livro
+     */
+    public int suggestPlacement(long player1, long player2, PieceType player) {
+        BoardGeometry geometry = symmetry.getGeometry();
+        long empty = ~(player1 | player2 | (1L << geometry.getCenter())) & geometry.getAllSquares();
+        int best = -1;
+        double bestScore = -1;
+        while (empty != 0) {
+            int sq = Long.numberOfTrailingZeros(empty);
+            empty &= empty - 1;
+            long bit = 1L << sq;
+            double score = player == PieceType.PLAYER1
+                    ? getScore(player1 | bit, player2, player)
+                    : getScore(player1, player2 | bit, player);
+            if (!Double.isNaN(score) && score > bestScore) {
+                bestScore = score;
+                best = sq;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Sugere a melhor casa para o jogador no tabuleiro informado (fase de colocação)
+     */
+    public int suggestPlacement(Board board, PieceType player) {
+        BoardGeometry geometry = symmetry.getGeometry();
+        return suggestPlacement(geometry.maskOf(board, PieceType.PLAYER1),
+                geometry.maskOf(board, PieceType.PLAYER2), player);
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.ai.book;
+
+import org.example.model.BoardGeometry;
+import org.example.model.BoardSymmetry;
+import org.example.model.TurnGenerator;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Constrói o livro de aberturas da fase de colocação a partir de partidas de autoplay.
+ *
+ * As partidas rodam em paralelo sobre máscaras de bits; cada lote agrega os resultados das
+ * posições após cada colocação (até a profundidade configurada) numa tabela própria, e as
+ * tabelas são somadas no final. As posições são reduzidas pela simetria do tabuleiro antes
+ * de entrar na tabela, e só as que aparecem em partidas suficientes vão para o arquivo.
+ *
+ * Uso: OpeningBookBuilder [partidas] [profundidade] [mínimoDePartidas] [arquivoSaída]
+ */
+public class OpeningBookBuilder {
+    // Partidas por tarefa paralela (cada tarefa tem sua própria tabela)
+    private static final int GAMES_PER_BATCH = 10_000;
+    // Limite de lances na fase de movimento antes de declarar empate
+    private static final int MAX_MOVEMENT_PLIES = 300;
+
+    private final BoardGeometry geometry;
+    private final BoardSymmetry symmetry;
+    private final int piecesPerPlayer;
+    private final int depth;
+
+    public OpeningBookBuilder(BoardSymmetry symmetry, int depth) {
+        this.symmetry = symmetry;
+        this.geometry = symmetry.getGeometry();
+        this.piecesPerPlayer = (geometry.getSquareCount() - 1) / 2;
+        this.depth = Math.min(depth, 2 * piecesPerPlayer);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int minGames = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        Path output = Paths.get(args.length > 3 ? args[3] : "seega-5x5.book");
+
+        long start = System.nanoTime();
+        OpeningBookBuilder builder = new OpeningBookBuilder(BoardSymmetry.FIVE, depth);
+        PositionStatsTable table = builder.playGames(games, 42L);
+        int written = builder.write(table, minGames, output);
+        System.out.printf("%d partidas, %d posições distintas, %d gravadas em %s (%.1fs)%n",
+                games, table.size(), written, output, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Joga as partidas em paralelo e retorna as estatísticas agregadas por posição canônica
+     */
+    public PositionStatsTable playGames(int games, long seed) {
+        int batches = (games + GAMES_PER_BATCH - 1) / GAMES_PER_BATCH;
+        return IntStream.range(0, batches).parallel()
+                .mapToObj(batch -> {
+                    int count = Math.min(GAMES_PER_BATCH, games - batch * GAMES_PER_BATCH);
+                    return playBatch(count, new SplittableRandom(seed + batch));
+                })
+                .reduce((a, b) -> {
+                    PositionStatsTable bigger = a.size() >= b.size() ? a : b;
+                    bigger.merge(bigger == a ? b : a);
+                    return bigger;
+                })
+                .orElseGet(PositionStatsTable::new);
+    }
+
+    private PositionStatsTable playBatch(int games, SplittableRandom random) {
+        PositionStatsTable table = new PositionStatsTable();
+        long[] trace = new long[depth];
+        GreedyTurns moves = new GreedyTurns();
+        for (int g = 0; g < games; g++) {
+            int winner = playGame(random, trace, moves);
+            for (long key : trace) {
+                table.add(key, 1, winner == 1 ? 1 : 0, winner == 2 ? 1 : 0);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Joga uma partida completa, gravando em trace a chave canônica após cada colocação
+     * @return 1 ou 2 para o vencedor, 0 para empate
+     */
+    private int playGame(SplittableRandom random, long[] trace, GreedyTurns moves) {
+        long[] side = new long[2];
+        long forbidden = 1L << geometry.getCenter();
+
+        // Fase de colocação: 2 peças por turno, começando pelo jogador 1, centro proibido
+        int totalPlacements = 2 * piecesPerPlayer;
+        for (int placed = 0; placed < totalPlacements; placed++) {
+            int player = (placed / 2) % 2;
+            long empty = ~(side[0] | side[1] | forbidden) & geometry.getAllSquares();
+            side[player] |= 1L << randomBit(empty, random);
+            if (placed < depth) {
+                trace[placed] = symmetry.canonicalKey(side[0], side[1]);
+            }
+        }
+
+        // Fase de movimento: o jogador 1 começa; prefere o turno que mais captura
+        int player = 0;
+        for (int ply = 0; ply < MAX_MOVEMENT_PLIES; ply++) {
+            long mover = side[player];
+            long opponent = side[1 - player];
+
+            if (moves.collect(mover, opponent) == 0) {
+                if (!geometry.hasMoves(opponent, mover)) {
+                    // Os dois bloqueados: vence quem tem mais peças
+                    int diff = Long.bitCount(side[0]) - Long.bitCount(side[1]);
+                    return diff > 0 ? 1 : diff < 0 ? 2 : 0;
+                }
+                // Bloqueado: passa a vez
+                player = 1 - player;
+                continue;
+            }
+
+            int choice = random.nextInt(moves.count);
+            side[player] = moves.movers[choice];
+            side[1 - player] = moves.opponents[choice];
+            if (side[1 - player] == 0) {
+                return player + 1;
+            }
+            player = 1 - player;
+        }
+        return 0;
+    }
+
+    /**
+     * Guarda as posições resultantes dos turnos que mais capturam. Uma instância por lote.
+     */
+    private final class GreedyTurns implements TurnGenerator.TurnVisitor {
+        private final TurnGenerator generator = new TurnGenerator(geometry);
+        private long[] movers = new long[64];
+        private long[] opponents = new long[64];
+        private int count;
+        private int bestCaptures;
+        private int opponentPieces;
+
+        int collect(long mover, long opponent) {
+            count = 0;
+            bestCaptures = -1;
+            opponentPieces = Long.bitCount(opponent);
+            generator.generate(mover, opponent, -1, this);
+            return count;
+        }
+
+        @Override
+        public void visit(int[] path, int length, long mover, long opponent) {
+            int captures = opponentPieces - Long.bitCount(opponent);
+            if (captures > bestCaptures) {
+                bestCaptures = captures;
+                count = 0;
+            }
+            if (captures == bestCaptures) {
+                if (count == movers.length) {
+                    movers = Arrays.copyOf(movers, count * 2);
+                    opponents = Arrays.copyOf(opponents, count * 2);
+                }
+                movers[count] = mover;
+                opponents[count] = opponent;
+                count++;
+            }
+        }
+    }
+
+    private static int randomBit(long mask, SplittableRandom random) {
+        int n = random.nextInt(Long.bitCount(mask));
+        for (int i = 0; i < n; i++) {
+            mask &= mask - 1;
+        }
+        return Long.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * Grava as posições com pelo menos minGames partidas, ordenadas pela chave
+     * @return quantidade de posições gravadas
+     */
+    public int write(PositionStatsTable table, int minGames, Path output) throws IOException {
+        long[] keys = new long[table.size()];
+        int count = 0;
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            if (table.occupied(slot) && table.games(slot) >= minGames) {
+                keys[count++] = table.key(slot);
+            }
+        }
+        keys = Arrays.copyOf(keys, count);
+        Arrays.sort(keys);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output), 1 << 16))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(OpeningBook.VERSION);
+            out.writeInt(geometry.getSize());
+            out.writeInt(count);
+            for (long key : keys) {
+                out.writeLong(key);
+            }
+            for (long key : keys) {
+                int slot = table.find(key);
+                out.writeInt(table.games(slot));
+                out.writeInt(table.player1Wins(slot));
+                out.writeInt(table.player2Wins(slot));
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.ai.book;
+
+import java.util.Arrays;
+
+/**
+ * Tabela hash de endereçamento aberto: chave de posição (long) -> partidas, vitórias de cada jogador.
+ * Usada para agregar os resultados da autoplay sem um objeto por posição.
+ */
+class PositionStatsTable {
+    private static final long EMPTY = -1L; // Nenhuma chave canônica tem todos os bits ligados
+
+    private long[] keys;
+    private int[] stats; // 3 inteiros por slot: partidas, vitórias do jogador 1, vitórias do jogador 2
+    private int size;
+
+    PositionStatsTable() {
+        allocate(1 << 12);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Soma partidas e vitórias de cada jogador à posição
+     */
+    void add(long key, int games, int player1Wins, int player2Wins) {
+        if (size + 1 > keys.length * 3 / 4) {
+            rehash();
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        stats[slot * 3] += games;
+        stats[slot * 3 + 1] += player1Wins;
+        stats[slot * 3 + 2] += player2Wins;
+    }
+
+    /**
+     * Retorna o slot da chave ou -1 se ela não existir
+     */
+    int find(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Soma todas as entradas de outra tabela nesta
+     */
+    void merge(PositionStatsTable other) {
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            if (other.keys[slot] != EMPTY) {
+                add(other.keys[slot], other.stats[slot * 3], other.stats[slot * 3 + 1], other.stats[slot * 3 + 2]);
+            }
+        }
+    }
+
+    int capacity() { return keys.length; }
+    boolean occupied(int slot) { return keys[slot] != EMPTY; }
+    long key(int slot) { return keys[slot]; }
+    int games(int slot) { return stats[slot * 3]; }
+    int player1Wins(int slot) { return stats[slot * 3 + 1]; }
+    int player2Wins(int slot) { return stats[slot * 3 + 2]; }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        stats = new int[capacity * 3];
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldStats = stats;
+        allocate(oldKeys.length << 1);
+        size = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                add(oldKeys[slot], oldStats[slot * 3], oldStats[slot * 3 + 1], oldStats[slot * 3 + 2]);
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.ai.tablebase;
+
+import org.example.common.PieceType;
+import org.example.model.Board;
+import org.example.model.BoardGeometry;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Consulta a uma tablebase gerada pelo {@link TablebaseGenerator}.
+ *
+ * O arquivo é mapeado em memória (somente leitura), então abrir é instantâneo e várias
+ * threads ou processos compartilham as mesmas páginas. Pode ser usada por bots para jogar
+ * finais perfeitamente ou pelo servidor para adjudicar partidas.
+ */
+public class Tablebase {
+    static final int MAGIC = 0x53475442; // "SGTB"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 64;
+
+    private final BoardGeometry geometry;
+    private final TablebaseIndex index;
+    private final int bitsPerEntry;
+    private final long entryMask;
+    private final MappedByteBuffer data;
+
+    private Tablebase(BoardGeometry geometry, int maxPieces, int bitsPerEntry, MappedByteBuffer data) {
+        this.geometry = geometry;
+        this.index = new TablebaseIndex(geometry, maxPieces);
+        this.bitsPerEntry = bitsPerEntry;
+        this.entryMask = (1L << bitsPerEntry) - 1;
+        this.data = data;
+    }
+
+    /**
+     * Abre e mapeia o arquivo da tablebase
+     */
+    public static Tablebase open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Tablebase grande demais para um único mapeamento");
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+                throw new IOException("Arquivo não é uma tablebase Seega: " + file);
+            }
+            int size = data.getInt(8);
+            if (size != BoardGeometry.FIVE.getSize()) {
+                throw new IOException("Tamanho de tabuleiro não suportado: " + size);
+            }
+            return new Tablebase(BoardGeometry.FIVE, data.getInt(12), data.getInt(16), data);
+        }
+    }
+
+    public int getMaxPieces() {
+        return index.maxPieces;
+    }
+
+    /**
+     * Consulta a posição do Board (fase de movimento) para o lado que vai jogar
+     */
+    public TablebaseResult probe(Board board, PieceType sideToMove) {
+        if (board.isSetupPhase()) {
+            return TablebaseResult.UNKNOWN;
+        }
+        long p1 = geometry.maskOf(board, PieceType.PLAYER1);
+        long p2 = geometry.maskOf(board, PieceType.PLAYER2);
+        return probe(p1, p2, sideToMove == PieceType.PLAYER1);
+    }
+
+    /**
+     * Consulta a posição dada pelas máscaras das peças de cada jogador
+     */
+    public TablebaseResult probe(long player1, long player2, boolean player1ToMove) {
+        int a = Long.bitCount(player1);
+        int b = Long.bitCount(player2);
+        int moverCount = player1ToMove ? a : b;
+        int opponentCount = player1ToMove ? b : a;
+        if (moverCount == 0) {
+            return TablebaseResult.decode(TablebaseResult.encode(false, 0));
+        }
+        if (opponentCount == 0 || a > index.maxPieces || b > index.maxPieces) {
+            return TablebaseResult.UNKNOWN;
+        }
+        long entry = index.segmentOffset(index.segment(a, b, player1ToMove ? 0 : 1))
+                + index.index(player1, player2, a, b);
+        return TablebaseResult.decode(read(entry));
+    }
+
+    private int read(long entry) {
+        long bit = entry * bitsPerEntry;
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        long low = data.getLong(HEADER_BYTES + word * 8);
+        long value = low >>> shift;
+        if (shift + bitsPerEntry > 64) {
+            long high = data.getLong(HEADER_BYTES + (word + 1) * 8);
+            value |= high << (64 - shift);
+        }
+        return (int) (value & entryMask);
+    }
+}
@@ -0,0 +1,260 @@
+package org.example.ai.tablebase;
+
+import org.example.model.BoardGeometry;
+import org.example.model.TurnGenerator;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Gera a tablebase de finais da fase de movimento por análise retrógrada.
+ *
+ * Os grupos de material são resolvidos do menor para o maior total de peças, pois uma captura
+ * sempre leva a um grupo menor já resolvido. Dentro de um grupo, cada passada i marca como
+ * vitória em i as posições com algum lance para uma derrota em i-1, e como derrota em i as
+ * posições em que todos os lances levam a vitórias do oponente (a mais longa em i-1).
+ * O que sobra ao final é empate. Cada passada é processada em paralelo entre os núcleos.
+ *
+ * Os lances são turnos completos (com as capturas em sequência). Quem está bloqueado passa a
+ * vez, o que leva à mesma posição com o outro lado a jogar; se os dois estão bloqueados, vence
+ * quem tem mais peças e, com o mesmo número, é empate.
+ *
+ * Uso: TablebaseGenerator [maxPeçasPorLado] [arquivoSaída]
+ */
+public class TablebaseGenerator {
+    // Limite prático de memória: o grupo 4x4 já tem ~92 milhões de posições por lado
+    private static final int MAX_SUPPORTED_PIECES = 4;
+
+    private final BoardGeometry geometry;
+    private final TablebaseIndex index;
+    private final short[][] values; // Valor codificado de cada posição, por segmento
+    private final ThreadLocal<Evaluator> evaluators;
+
+    public TablebaseGenerator(BoardGeometry geometry, int maxPieces) {
+        if (maxPieces < 1 || maxPieces > MAX_SUPPORTED_PIECES) {
+            throw new IllegalArgumentException("Peças por lado devem estar entre 1 e " + MAX_SUPPORTED_PIECES);
+        }
+        this.geometry = geometry;
+        this.index = new TablebaseIndex(geometry, maxPieces);
+        this.values = new short[maxPieces * maxPieces * 2][];
+        this.evaluators = ThreadLocal.withInitial(Evaluator::new);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int maxPieces = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        Path output = Paths.get(args.length > 1 ? args[1] : "seega-5x5-k" + maxPieces + ".tb");
+
+        long start = System.nanoTime();
+        TablebaseGenerator generator = new TablebaseGenerator(BoardGeometry.FIVE, maxPieces);
+        generator.generate();
+        generator.write(output);
+        System.out.printf("Tablebase com %d posições gravada em %s (%.1fs)%n",
+                generator.index.totalEntries(), output, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Resolve todos os grupos de material, do menor total de peças para o maior
+     */
+    public void generate() {
+        int k = index.maxPieces;
+        for (int total = 2; total <= 2 * k; total++) {
+            for (int a = 1; a <= k; a++) {
+                int b = total - a;
+                if (b >= 1 && b <= k) {
+                    solveClass(a, b);
+                }
+            }
+        }
+    }
+
+    private void solveClass(int a, int b) {
+        int size = (int) index.classSize(a, b);
+        short[] p1ToMove = new short[size];
+        short[] p2ToMove = new short[size];
+        values[index.segment(a, b, 0)] = p1ToMove;
+        values[index.segment(a, b, 1)] = p2ToMove;
+
+        // Passada 0: bloqueio dos dois lados decide pelo número de peças (empate fica como 0)
+        int[][] unresolved = new int[2][];
+        for (int stm = 0; stm < 2; stm++) {
+            final int side = stm;
+            short[] target = side == 0 ? p1ToMove : p2ToMove;
+            unresolved[side] = IntStream.range(0, size).parallel().filter(i -> {
+                long[] pos = new long[2];
+                index.unindex(i, a, b, pos);
+                long mover = side == 0 ? pos[0] : pos[1];
+                long opponent = side == 0 ? pos[1] : pos[0];
+                if (geometry.hasMoves(mover, opponent) || geometry.hasMoves(opponent, mover)) {
+                    return true;
+                }
+                int diff = Long.bitCount(mover) - Long.bitCount(opponent);
+                if (diff != 0) {
+                    target[i] = (short) TablebaseResult.encode(diff > 0, 0);
+                }
+                return false;
+            }).toArray();
+        }
+
+        // Maior distância nos grupos menores: até lá pode haver resultados ainda por propagar
+        int maxLowerDistance = maxKnownDistance();
+        int maxDistance = 0;
+
+        for (int pass = 1; ; pass++) {
+            AtomicInteger changes = new AtomicInteger();
+            for (int stm = 0; stm < 2; stm++) {
+                final int side = stm;
+                final int currentPass = pass;
+                short[] target = side == 0 ? p1ToMove : p2ToMove;
+                int[] pending = unresolved[side];
+                IntStream.range(0, pending.length).parallel().forEach(n -> {
+                    int i = pending[n];
+                    long[] pos = new long[2];
+                    index.unindex(i, a, b, pos);
+                    int value = evaluators.get().evaluate(pos[0], pos[1], side, currentPass);
+                    if (value != 0) {
+                        target[i] = (short) value;
+                        changes.incrementAndGet();
+                    }
+                });
+                unresolved[side] = Arrays.stream(pending).parallel().filter(i -> target[i] == 0).toArray();
+            }
+            if (changes.get() > 0) {
+                maxDistance = pass;
+            } else if (pass > maxLowerDistance + 1) {
+                break;
+            }
+        }
+        System.out.printf("Material %dx%d: %d posições por lado, %d empates, maior distância %d%n",
+                a, b, size, unresolved[0].length + unresolved[1].length, maxDistance);
+    }
+
+    /**
+     * Avalia posições a partir dos turnos completos. Cada thread tem o seu, pois o gerador
+     * reaproveita o buffer do caminho.
+     */
+    private final class Evaluator implements TurnGenerator.TurnVisitor {
+        private final TurnGenerator turns = new TurnGenerator(geometry);
+        private int side;
+        private int minLoss;
+        private int maxWin;
+        private boolean allChildrenWin;
+
+        /**
+         * Calcula o valor da posição na passada atual, ou 0 se ainda não dá para decidir
+         */
+        int evaluate(long p1, long p2, int stm, int pass) {
+            long mover = stm == 0 ? p1 : p2;
+            long opponent = stm == 0 ? p2 : p1;
+            side = stm;
+            minLoss = Integer.MAX_VALUE;
+            maxWin = -1;
+            allChildrenWin = true;
+
+            if (turns.generate(mover, opponent, -1, this) == 0) {
+                // Bloqueado: o único "lance" é passar a vez
+                accept(values[index.segment(Long.bitCount(p1), Long.bitCount(p2), 1 - stm)]
+                        [(int) index.index(p1, p2, Long.bitCount(p1), Long.bitCount(p2))]);
+            }
+
+            if (minLoss == pass - 1) {
+                return TablebaseResult.encode(true, pass);
+            }
+            if (minLoss == Integer.MAX_VALUE && allChildrenWin && maxWin == pass - 1) {
+                return TablebaseResult.encode(false, pass);
+            }
+            return 0;
+        }
+
+        @Override
+        public void visit(int[] path, int length, long newMover, long newOpponent) {
+            accept(childValue(newMover, newOpponent, side));
+        }
+
+        private void accept(int child) {
+            if (child == 0) {
+                allChildrenWin = false;
+            } else if ((child & 1) == 0) {
+                minLoss = Math.min(minLoss, (child >>> 1) - 1);
+            } else {
+                maxWin = Math.max(maxWin, (child >>> 1) - 1);
+            }
+        }
+    }
+
+    /**
+     * Valor da posição resultante para o oponente (que passa a jogar)
+     */
+    private int childValue(long newMover, long newOpponent, int stm) {
+        if (newOpponent == 0) {
+            // O oponente ficou sem peças: derrota imediata para ele
+            return TablebaseResult.encode(false, 0);
+        }
+        long p1 = stm == 0 ? newMover : newOpponent;
+        long p2 = stm == 0 ? newOpponent : newMover;
+        int a = Long.bitCount(p1);
+        int b = Long.bitCount(p2);
+        return values[index.segment(a, b, 1 - stm)][(int) index.index(p1, p2, a, b)];
+    }
+
+    private int maxKnownDistance() {
+        int max = 0;
+        for (short[] segment : values) {
+            if (segment == null) continue;
+            for (short value : segment) {
+                if (value != 0) {
+                    max = Math.max(max, (value >>> 1) - 1);
+                }
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Grava a tablebase: cabeçalho fixo seguido das entradas empacotadas em bits
+     */
+    public void write(Path output) throws IOException {
+        int maxValue = 1;
+        for (short[] segment : values) {
+            for (short value : segment) {
+                maxValue = Math.max(maxValue, value);
+            }
+        }
+        int bitsPerEntry = 32 - Integer.numberOfLeadingZeros(maxValue);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output), 1 << 16))) {
+            out.writeInt(Tablebase.MAGIC);
+            out.writeInt(Tablebase.VERSION);
+            out.writeInt(geometry.getSize());
+            out.writeInt(index.maxPieces);
+            out.writeInt(bitsPerEntry);
+            out.writeLong(index.totalEntries());
+            out.write(new byte[Tablebase.HEADER_BYTES - 28]);
+
+            // Os segmentos estão na mesma ordem dos offsets do índice
+            long word = 0;
+            int used = 0;
+            for (short[] segment : values) {
+                for (short value : segment) {
+                    long v = value & 0xFFFFL;
+                    word |= v << used;
+                    used += bitsPerEntry;
+                    if (used >= 64) {
+                        out.writeLong(word);
+                        used -= 64;
+                        word = used > 0 ? v >>> (bitsPerEntry - used) : 0;
+                    }
+                }
+            }
+            if (used > 0) {
+                out.writeLong(word);
+            }
+            // Palavra extra para que a leitura de uma entrada na fronteira nunca passe do fim
+            out.writeLong(0);
+        }
+    }
+}
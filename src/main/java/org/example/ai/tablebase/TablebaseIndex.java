@@ -0,0 +1,142 @@
+package org.example.ai.tablebase;
+
+import org.example.model.BoardGeometry;
+
+/**
+ * Indexação perfeita das posições da tablebase.
+ *
+ * As posições são agrupadas por material (a peças do jogador 1, b do jogador 2) e lado a mover.
+ * Dentro de um grupo, o índice combina o rank combinatório das casas do jogador 1 com o rank
+ * das casas do jogador 2 entre as casas que sobraram, sem buracos nem posições duplicadas.
+ */
+final class TablebaseIndex {
+    final BoardGeometry geometry;
+    final int maxPieces;
+    final int squares;
+
+    private final long[][] binomial;
+    private final long[] segmentOffsets;
+    private final long totalEntries;
+
+    TablebaseIndex(BoardGeometry geometry, int maxPieces) {
+        this.geometry = geometry;
+        this.maxPieces = maxPieces;
+        this.squares = geometry.getSquareCount();
+
+        binomial = new long[squares + 1][maxPieces + 2];
+        for (int n = 0; n <= squares; n++) {
+            binomial[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, maxPieces + 1); k++) {
+                binomial[n][k] = binomial[n - 1][k - 1] + (k <= n - 1 ? binomial[n - 1][k] : 0);
+            }
+        }
+
+        segmentOffsets = new long[maxPieces * maxPieces * 2 + 1];
+        long offset = 0;
+        for (int a = 1; a <= maxPieces; a++) {
+            for (int b = 1; b <= maxPieces; b++) {
+                for (int stm = 0; stm < 2; stm++) {
+                    segmentOffsets[segment(a, b, stm)] = offset;
+                    offset += classSize(a, b);
+                }
+            }
+        }
+        segmentOffsets[segmentOffsets.length - 1] = offset;
+        totalEntries = offset;
+    }
+
+    /**
+     * Número do segmento do material (a, b) com o lado a mover (0 = jogador 1)
+     */
+    int segment(int a, int b, int stm) {
+        return ((a - 1) * maxPieces + (b - 1)) * 2 + stm;
+    }
+
+    long segmentOffset(int segment) {
+        return segmentOffsets[segment];
+    }
+
+    long totalEntries() {
+        return totalEntries;
+    }
+
+    /**
+     * Quantidade de posições com a peças do jogador 1 e b do jogador 2
+     */
+    long classSize(int a, int b) {
+        return binomial[squares][a] * binomial[squares - a][b];
+    }
+
+    /**
+     * Índice da posição dentro do seu grupo de material
+     */
+    long index(long p1, long p2, int a, int b) {
+        return rank(p1) * binomial[squares - a][b] + rank(compress(p2, p1));
+    }
+
+    /**
+     * Reconstrói a posição a partir do índice; out[0] = jogador 1, out[1] = jogador 2
+     */
+    void unindex(long index, int a, int b, long[] out) {
+        long perP1 = binomial[squares - a][b];
+        long p1 = unrank(index / perP1, a);
+        out[0] = p1;
+        out[1] = expand(unrank(index % perP1, b), p1);
+    }
+
+    /**
+     * Rank colexicográfico da combinação (soma de C(posição, j) para o j-ésimo bit)
+     */
+    private long rank(long mask) {
+        long r = 0;
+        int j = 1;
+        while (mask != 0) {
+            int pos = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            r += binomial[pos][j++];
+        }
+        return r;
+    }
+
+    private long unrank(long r, int k) {
+        long mask = 0;
+        int c = squares - 1;
+        for (int j = k; j >= 1; j--) {
+            while (binomial[c][j] > r) {
+                c--;
+            }
+            mask |= 1L << c;
+            r -= binomial[c][j];
+            c--;
+        }
+        return mask;
+    }
+
+    /**
+     * Remove das coordenadas de p2 as casas ocupadas por p1
+     */
+    private static long compress(long p2, long p1) {
+        long result = 0;
+        while (p2 != 0) {
+            int sq = Long.numberOfTrailingZeros(p2);
+            p2 &= p2 - 1;
+            result |= 1L << (sq - Long.bitCount(p1 & ((1L << sq) - 1)));
+        }
+        return result;
+    }
+
+    /**
+     * Inverso de compress: distribui os bits pelas casas livres de p1
+     */
+    private long expand(long compressed, long p1) {
+        long result = 0;
+        for (int sq = 0; sq < squares && compressed != 0; sq++) {
+            if ((p1 >>> sq & 1) != 0) continue;
+            if ((compressed & 1) != 0) {
+                result |= 1L << sq;
+            }
+            compressed >>>= 1;
+        }
+        return result;
+    }
+}
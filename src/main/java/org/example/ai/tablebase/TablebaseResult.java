@@ -0,0 +1,50 @@
+package org.example.ai.tablebase;
+
+/**
+ * Resultado de uma consulta à tablebase, do ponto de vista de quem vai jogar.
+ */
+public final class TablebaseResult {
+    public enum Outcome {
+        WIN,     // Quem joga vence com jogo perfeito
+        LOSS,    // Quem joga perde com jogo perfeito
+        DRAW,    // Nenhum lado consegue forçar a vitória
+        UNKNOWN  // Posição fora da tablebase
+    }
+
+    static final TablebaseResult DRAW = new TablebaseResult(Outcome.DRAW, -1);
+    static final TablebaseResult UNKNOWN = new TablebaseResult(Outcome.UNKNOWN, -1);
+
+    private final Outcome outcome;
+    private final int distance;
+
+    private TablebaseResult(Outcome outcome, int distance) {
+        this.outcome = outcome;
+        this.distance = distance;
+    }
+
+    /**
+     * Converte o valor armazenado: 0 = empate; caso contrário ((distância + 1) << 1) | vitória
+     */
+    static TablebaseResult decode(int value) {
+        if (value == 0) {
+            return DRAW;
+        }
+        return new TablebaseResult((value & 1) != 0 ? Outcome.WIN : Outcome.LOSS, (value >>> 1) - 1);
+    }
+
+    static int encode(boolean win, int distance) {
+        return ((distance + 1) << 1) | (win ? 1 : 0);
+    }
+
+    public Outcome getOutcome() { return outcome; }
+
+    /**
+     * Número de lances (meios-turnos) até o fim com jogo perfeito, ou -1 para empate/desconhecido
+     */
+    public int getDistance() { return distance; }
+
+    @Override
+    public String toString() {
+        return distance >= 0 ? outcome + " em " + distance : outcome.toString();
+    }
+}
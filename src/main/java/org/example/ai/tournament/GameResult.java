@@ -0,0 +1,48 @@
+package org.example.ai.tournament;
+
+/**
+ * Resultado de uma partida do torneio.
+ */
+public class GameResult {
+    public enum Reason {
+        CAPTURED_ALL,  // O perdedor ficou sem peças
+        BLOCKADE,      // Os dois jogadores bloqueados: vence quem tem mais peças
+        TIMEOUT,       // O relógio do perdedor acabou
+        ILLEGAL_MOVE,  // O perdedor tentou um lance inválido
+        MAX_PLIES      // Limite de lances atingido (empate)
+    }
+
+    private final int gameNumber;
+    private final String player1;   // Bot com as peças do jogador 1 (começa)
+    private final String player2;
+    private final int winner;       // 1, 2 ou 0 para empate
+    private final Reason reason;
+    private final int plies;        // Lances jogados (colocações + movimentos)
+    private final long durationNanos;
+
+    public GameResult(int gameNumber, String player1, String player2, int winner,
+                      Reason reason, int plies, long durationNanos) {
+        this.gameNumber = gameNumber;
+        this.player1 = player1;
+        this.player2 = player2;
+        this.winner = winner;
+        this.reason = reason;
+        this.plies = plies;
+        this.durationNanos = durationNanos;
+    }
+
+    public int getGameNumber() { return gameNumber; }
+    public String getPlayer1() { return player1; }
+    public String getPlayer2() { return player2; }
+    public int getWinner() { return winner; }
+    public Reason getReason() { return reason; }
+    public int getPlies() { return plies; }
+    public long getDurationNanos() { return durationNanos; }
+
+    /**
+     * Nome do bot vencedor ou null em caso de empate
+     */
+    public String getWinnerName() {
+        return winner == 1 ? player1 : winner == 2 ? player2 : null;
+    }
+}
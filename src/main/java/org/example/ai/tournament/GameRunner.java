@@ -0,0 +1,70 @@
+package org.example.ai.tournament;
+
+import org.example.ai.Bot;
+import org.example.common.PieceType;
+import org.example.game.EndReason;
+import org.example.game.GameSession;
+import org.example.model.Board;
+import org.example.model.Move;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Joga uma partida completa entre dois bots sobre uma {@link GameSession}, a mesma
+ * máquina de estados usada pelo GameController, controlando relógio e limite de lances.
+ */
+public class GameRunner {
+    private final TimeControl timeControl;
+    private final int maxPlies;
+    private final int boardSize;
+
+    public GameRunner(TimeControl timeControl, int maxPlies) {
+        this(timeControl, maxPlies, Board.DEFAULT_SIZE);
+    }
+
+    public GameRunner(TimeControl timeControl, int maxPlies, int boardSize) {
+        this.timeControl = timeControl;
+        this.maxPlies = maxPlies;
+        this.boardSize = boardSize;
+    }
+
+    public GameResult play(int gameNumber, Bot player1, Bot player2) {
+        long start = System.nanoTime();
+        GameSession session = new GameSession(new Board(boardSize));
+        long[] clockNanos = {
+                TimeUnit.MILLISECONDS.toNanos(timeControl.getBaseMillis()),
+                TimeUnit.MILLISECONDS.toNanos(timeControl.getBaseMillis())
+        };
+        long incrementNanos = TimeUnit.MILLISECONDS.toNanos(timeControl.getIncrementMillis());
+
+        while (!session.isOver()) {
+            PieceType toMove = session.getToMove();
+            int side = toMove == PieceType.PLAYER1 ? 0 : 1;
+
+            if (session.getPlies() >= maxPlies) {
+                session.end(null, EndReason.MAX_PLIES);
+                break;
+            }
+
+            Bot bot = side == 0 ? player1 : player2;
+            long moveStart = System.nanoTime();
+            Move move = bot.chooseMove(new Board(session.getBoard()), toMove, moveStart + clockNanos[side]);
+            clockNanos[side] -= System.nanoTime() - moveStart;
+            if (clockNanos[side] < 0) {
+                session.end(GameSession.opponentOf(toMove), EndReason.TIMEOUT);
+                break;
+            }
+            clockNanos[side] += incrementNanos;
+
+            if (!session.play(move)) {
+                session.end(GameSession.opponentOf(toMove), EndReason.ILLEGAL_MOVE);
+            }
+        }
+
+        PieceType winner = session.getWinner();
+        return new GameResult(gameNumber, player1.getName(), player2.getName(),
+                winner == null ? 0 : winner == PieceType.PLAYER1 ? 1 : 2,
+                GameResult.Reason.valueOf(session.getEndReason().name()),
+                session.getPlies(), System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.ai.tournament;
+
+/**
+ * Controle de tempo Fischer por partida: tempo inicial mais acréscimo a cada lance.
+ */
+public class TimeControl {
+    private final long baseMillis;
+    private final long incrementMillis;
+
+    public TimeControl(long baseMillis, long incrementMillis) {
+        this.baseMillis = baseMillis;
+        this.incrementMillis = incrementMillis;
+    }
+
+    public long getBaseMillis() { return baseMillis; }
+    public long getIncrementMillis() { return incrementMillis; }
+
+    @Override
+    public String toString() {
+        return baseMillis + "+" + incrementMillis + "ms";
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.ai.tournament;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agrega os resultados do torneio por confronto e gera os relatórios (texto, CSV e JSON).
+ */
+public class TournamentReport {
+    private final List<GameResult> results;
+    private final Map<String, PairingStats> pairings = new LinkedHashMap<>();
+
+    /**
+     * Estatísticas de um confronto, do ponto de vista do bot A
+     */
+    public static class PairingStats {
+        final String botA;
+        final String botB;
+        int games;
+        int winsA;
+        int winsB;
+        int draws;
+        int timeouts;
+        int illegalMoves;
+        long totalPlies;
+        long totalNanos;
+        // Preenchidos em finish()
+        double scoreA;
+        double scoreLow;
+        double scoreHigh;
+        double averagePlies;
+        double averageGameMillis;
+
+        PairingStats(String botA, String botB) {
+            this.botA = botA;
+            this.botB = botB;
+        }
+
+        void add(GameResult result) {
+            games++;
+            String winner = result.getWinnerName();
+            if (winner == null) {
+                draws++;
+            } else if (winner.equals(botA)) {
+                winsA++;
+            } else {
+                winsB++;
+            }
+            if (result.getReason() == GameResult.Reason.TIMEOUT) timeouts++;
+            if (result.getReason() == GameResult.Reason.ILLEGAL_MOVE) illegalMoves++;
+            totalPlies += result.getPlies();
+            totalNanos += result.getDurationNanos();
+        }
+
+        /**
+         * Calcula a pontuação de A (vitória 1, empate 0.5) e o intervalo de confiança de 95%
+         */
+        void finish() {
+            scoreA = (winsA + 0.5 * draws) / games;
+            double variance = (winsA * Math.pow(1 - scoreA, 2)
+                    + draws * Math.pow(0.5 - scoreA, 2)
+                    + winsB * Math.pow(scoreA, 2)) / games;
+            double margin = 1.96 * Math.sqrt(variance / games);
+            scoreLow = Math.max(0, scoreA - margin);
+            scoreHigh = Math.min(1, scoreA + margin);
+            averagePlies = (double) totalPlies / games;
+            averageGameMillis = totalNanos / 1e6 / games;
+        }
+    }
+
+    public TournamentReport(List<GameResult> results) {
+        this.results = results;
+        for (GameResult result : results) {
+            String a = result.getPlayer1().compareTo(result.getPlayer2()) <= 0 ? result.getPlayer1() : result.getPlayer2();
+            String b = a.equals(result.getPlayer1()) ? result.getPlayer2() : result.getPlayer1();
+            pairings.computeIfAbsent(a + " x " + b, k -> new PairingStats(a, b)).add(result);
+        }
+        for (PairingStats stats : pairings.values()) {
+            stats.finish();
+        }
+    }
+
+    public List<PairingStats> getPairings() {
+        return new ArrayList<>(pairings.values());
+    }
+
+    /**
+     * Imprime o resumo dos confrontos
+     */
+    public void print(PrintWriter out) {
+        out.printf("%-24s %6s %6s %6s %6s %8s %17s %8s %8s%n",
+                "Confronto", "Jogos", "V(A)", "V(B)", "E", "Pont(A)", "IC 95%", "Lances", "ms/jogo");
+        for (PairingStats s : pairings.values()) {
+            out.printf("%-24s %6d %6d %6d %6d %8.3f   [%.3f, %.3f] %8.1f %8.2f%n",
+                    s.botA + " x " + s.botB, s.games, s.winsA, s.winsB, s.draws,
+                    s.scoreA, s.scoreLow, s.scoreHigh, s.averagePlies, s.averageGameMillis);
+            if (s.timeouts > 0 || s.illegalMoves > 0) {
+                out.printf("    tempo esgotado: %d, lances inválidos: %d%n", s.timeouts, s.illegalMoves);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Grava uma linha por partida em CSV
+     */
+    public void writeCsv(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("game,player1,player2,winner,reason,plies,duration_ms");
+            for (GameResult r : results) {
+                out.printf("%d,%s,%s,%s,%s,%d,%.3f%n", r.getGameNumber(), r.getPlayer1(), r.getPlayer2(),
+                        r.getWinnerName() == null ? "draw" : r.getWinnerName(), r.getReason(),
+                        r.getPlies(), r.getDurationNanos() / 1e6);
+            }
+        }
+    }
+
+    /**
+     * Grava o resumo dos confrontos em JSON
+     */
+    public void writeJson(Path file) throws IOException {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer out = Files.newBufferedWriter(file)) {
+            gson.toJson(getPairings(), out);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.ai.tournament;
+
+import org.example.ai.BookBot;
+import org.example.ai.Bot;
+import org.example.ai.GreedyBot;
+import org.example.ai.RandomBot;
+import org.example.ai.book.OpeningBook;
+import org.example.ai.tablebase.Tablebase;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Torneio automático entre bots, sem interface gráfica.
+ *
+ * Cada par de bots joga o número de partidas pedido, alternando quem começa. As partidas
+ * rodam em paralelo num ForkJoinPool (roubo de trabalho) e os resultados são agregados
+ * no {@link TournamentReport}.
+ *
+ * Uso: TournamentRunner --bots random,greedy,book [--games 1000] [--threads N]
+ *      [--base-ms 60000] [--inc-ms 0] [--max-plies 400] [--size 5] [--book arquivo] [--tablebase arquivo]
+ *      [--csv partidas.csv] [--json resumo.json]
+ */
+public class TournamentRunner {
+    private final List<Bot> bots;
+    private final int gamesPerPairing;
+    private final GameRunner gameRunner;
+    private final int threads;
+
+    public TournamentRunner(List<Bot> bots, int gamesPerPairing, GameRunner gameRunner, int threads) {
+        this.bots = bots;
+        this.gamesPerPairing = gamesPerPairing;
+        this.gameRunner = gameRunner;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int games = Integer.parseInt(options.getOrDefault("games", "1000"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        TimeControl timeControl = new TimeControl(
+                Long.parseLong(options.getOrDefault("base-ms", "60000")),
+                Long.parseLong(options.getOrDefault("inc-ms", "0")));
+        int maxPlies = Integer.parseInt(options.getOrDefault("max-plies", "400"));
+        int boardSize = Integer.parseInt(options.getOrDefault("size", "5"));
+
+        List<Bot> bots = new ArrayList<>();
+        for (String name : options.getOrDefault("bots", "random,greedy").split(",")) {
+            bots.add(createBot(name.trim(), options));
+        }
+
+        TournamentRunner runner = new TournamentRunner(bots, games, new GameRunner(timeControl, maxPlies, boardSize), threads);
+        long start = System.nanoTime();
+        List<GameResult> results = runner.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        TournamentReport report = new TournamentReport(results);
+        PrintWriter out = new PrintWriter(System.out);
+        out.printf("%d partidas em %.2fs (%.0f partidas/s, %d threads, relógio %s)%n",
+                results.size(), seconds, results.size() / seconds, threads, timeControl);
+        report.print(out);
+
+        if (options.containsKey("csv")) {
+            report.writeCsv(Paths.get(options.get("csv")));
+        }
+        if (options.containsKey("json")) {
+            report.writeJson(Paths.get(options.get("json")));
+        }
+    }
+
+    /**
+     * Joga todos os confrontos e retorna os resultados na ordem das partidas
+     */
+    public List<GameResult> run() throws InterruptedException {
+        List<Callable<GameResult>> tasks = new ArrayList<>();
+        int gameNumber = 0;
+        for (int i = 0; i < bots.size(); i++) {
+            for (int j = i + 1; j < bots.size(); j++) {
+                Bot a = bots.get(i);
+                Bot b = bots.get(j);
+                for (int g = 0; g < gamesPerPairing; g++) {
+                    // Alterna quem começa para não favorecer nenhum dos dois
+                    Bot first = g % 2 == 0 ? a : b;
+                    Bot second = g % 2 == 0 ? b : a;
+                    int number = ++gameNumber;
+                    tasks.add(() -> gameRunner.play(number, first, second));
+                }
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<GameResult> results = new ArrayList<>(tasks.size());
+            for (Future<GameResult> future : pool.invokeAll(tasks)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    System.err.println("Erro em uma partida: " + e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Bot createBot(String name, Map<String, String> options) throws IOException {
+        switch (name) {
+            case "random":
+                return new RandomBot();
+            case "greedy":
+                return new GreedyBot();
+            case "book": {
+                OpeningBook book = options.containsKey("book") ? OpeningBook.load(Paths.get(options.get("book"))) : null;
+                Tablebase tablebase = options.containsKey("tablebase") ? Tablebase.open(Paths.get(options.get("tablebase"))) : null;
+                return new BookBot(book, tablebase, new GreedyBot());
+            }
+            default:
+                throw new IllegalArgumentException("Bot desconhecido: " + name);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Opção inválida: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -1,6 +1,8 @@
 package org.example.communication;
 
 public class CommunicationException extends Exception {
+    private static final long serialVersionUID = 1L;
+
     public CommunicationException(String message) {
         super(message);
     }
@@ -1,6 +1,7 @@
 package org.example.communication;
 
 import org.example.common.CommunicationType;
+import org.example.communication.loopback.LoopbackCommunication;
 import org.example.communication.rpc.RPCCommunication;
 import org.example.communication.socket.SocketCommunication;
 
@@ -24,6 +25,9 @@ public class CommunicationFactory {
                 // Futuro: implementação para RPC
                 return new RPCCommunication();
 //                throw new UnsupportedOperationException("RPC ainda não implementado");
+            case LOOPBACK:
+                // Em memória, com um servidor do mesmo processo
+                return new LoopbackCommunication();
             default:
                 throw new IllegalArgumentException("Tipo de comunicação não suportado");
         }
@@ -1,5 +1,9 @@
 package org.example.communication;
 
+import org.example.model.Move;
+
+import java.util.List;
+
 /**
  * Interface que define o contrato para qualquer tecnologia de comunicação cliente-servidor.
  * Permite trocar facilmente a implementação (Socket, RPC, etc) sem alterar o restante do código.
@@ -18,6 +22,13 @@ public interface GameCommunication {
      */
     void disconnect();
 
+    /**
+     * Identifica o jogador no servidor (usado para o rating) e entra na fila do tamanho de tabuleiro.
+     * @param playerName Nome do jogador
+     * @param boardSize Tamanho do tabuleiro desejado (5, 7 ou 9)
+     */
+    void sendConnect(String playerName, int boardSize);
+
     /**
      * Envia um movimento para o servidor.
      * @param fromRow Linha de origem
@@ -27,12 +38,24 @@ public interface GameCommunication {
      */
     void sendMove(int fromRow, int fromCol, int toRow, int toCol);
 
+    /**
+     * Envia um turno completo numa única mensagem, aplicada pelo oponente como unidade.
+     * @param steps Lances do turno, na ordem em que foram jogados
+     */
+    void sendTurn(List<Move> steps);
+
     /**
      * Envia uma mensagem de chat para o servidor.
      * @param message Mensagem a ser enviada
      */
     void sendChat(String message);
 
+    /**
+     * Envia um pedido ou resposta de voltar lance ao oponente.
+     * @param data NetworkProtocol.TAKEBACK_REQUEST, TAKEBACK_ACCEPT ou TAKEBACK_REJECT
+     */
+    void sendTakeback(String data);
+
     /**
      * Envia uma mensagem de desistência para o servidor.
      */
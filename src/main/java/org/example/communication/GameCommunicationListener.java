@@ -17,12 +17,30 @@ public interface GameCommunicationListener {
      */
     void onMoveReceived(String moveData);
 
+    /**
+     * Notificado quando um turno completo do oponente é recebido.
+     * @param turnData Lances do turno separados por ';' (ex: "-1,-1,0,1;-1,-1,0,2")
+     */
+    void onTurnReceived(String turnData);
+
+    /**
+     * Notificado quando o servidor informa o relógio da partida (início de cada turno).
+     * @param clockData "vez,período,principal1,períodos1,principal2,períodos2" (ver NetworkProtocol.CLOCK)
+     */
+    void onClockReceived(String clockData);
+
     /**
      * Notificado quando uma mensagem de chat é recebida.
      * @param message Mensagem recebida
      */
     void onChatReceived(String message);
 
+    /**
+     * Notificado quando o oponente pede ou responde um pedido de voltar lance.
+     * @param data NetworkProtocol.TAKEBACK_REQUEST, TAKEBACK_ACCEPT ou TAKEBACK_REJECT
+     */
+    void onTakebackReceived(String data);
+
     /**
      * Notificado quando o jogo termina.
      * @param reason Motivo do fim do jogo (ex: vitória, desistência)
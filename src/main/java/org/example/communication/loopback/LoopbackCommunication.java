@@ -0,0 +1,124 @@
+package org.example.communication.loopback;
+
+import org.example.communication.*;
+import org.example.model.Move;
+import org.example.network.NetworkProtocol;
+import org.example.network.loopback.LoopbackGameServer;
+import org.example.network.loopback.LoopbackMailbox;
+
+import java.util.List;
+
+/**
+ * Comunicação em memória com um {@link LoopbackGameServer} do mesmo processo.
+ * Usada pelo host e, nos benchmarks, como referência sem transporte; o "host" do connect é ignorado.
+ */
+public class LoopbackCommunication implements GameCommunication {
+    private LoopbackMailbox inbox;   // Mensagens do servidor para este cliente
+    private LoopbackMailbox outbox;  // Mensagens deste cliente para o servidor
+    private volatile GameCommunicationListener listener;
+
+    @Override
+    public void connect(String host, int port) throws CommunicationException {
+        LoopbackGameServer server = LoopbackGameServer.find(port);
+        if (server == null) {
+            throw new CommunicationException("Erro ao conectar: nenhum servidor loopback na porta " + port);
+        }
+        inbox = new LoopbackMailbox("loopback-client", this::dispatch, null);
+        outbox = server.accept(inbox);
+    }
+
+    @Override
+    public void disconnect() {
+        if (outbox != null) {
+            // Igual ao socket: avisa a desistência antes de fechar
+            outbox.post(NetworkProtocol.SURRENDER, "");
+            outbox.close();
+        }
+        if (inbox != null) {
+            inbox.close();
+        }
+    }
+
+    @Override
+    public void sendConnect(String playerName, int boardSize) {
+        send(NetworkProtocol.CONNECT, NetworkProtocol.createConnectData(playerName, boardSize));
+    }
+
+    @Override
+    public void sendMove(int fromRow, int fromCol, int toRow, int toCol) {
+        send(NetworkProtocol.MOVE, fromRow + "," + fromCol + "," + toRow + "," + toCol);
+    }
+
+    @Override
+    public void sendTurn(List<Move> steps) {
+        send(NetworkProtocol.TURN, Move.toTurnString(steps));
+    }
+
+    @Override
+    public void sendChat(String message) {
+        send(NetworkProtocol.CHAT, message);
+    }
+
+    @Override
+    public void sendTakeback(String data) {
+        send(NetworkProtocol.TAKEBACK, data);
+    }
+
+    @Override
+    public void surrender() {
+        send(NetworkProtocol.SURRENDER, "");
+        disconnect();
+    }
+
+    @Override
+    public void sendEndGame(String reason) {
+        send(NetworkProtocol.GAME_END, reason);
+    }
+
+    @Override
+    public void setGameCommunicationListener(GameCommunicationListener listener) {
+        this.listener = listener;
+    }
+
+    private void send(String command, String data) {
+        if (outbox != null) {
+            outbox.post(command, data);
+        }
+    }
+
+    /**
+     * Entrega as mensagens do servidor ao listener, na thread da caixa de entrada
+     */
+    private void dispatch(String command, String data) {
+        GameCommunicationListener l = listener;
+        if (l == null) {
+            return;
+        }
+        switch (command) {
+            case NetworkProtocol.GAME_START:
+                l.onGameStart("FIRST".equals(data));
+                break;
+            case NetworkProtocol.MOVE:
+                l.onMoveReceived(data);
+                break;
+            case NetworkProtocol.TURN:
+                l.onTurnReceived(data);
+                break;
+            case NetworkProtocol.CLOCK:
+                l.onClockReceived(data);
+                break;
+            case NetworkProtocol.CHAT:
+                l.onChatReceived(data);
+                break;
+            case NetworkProtocol.TAKEBACK:
+                l.onTakebackReceived(data);
+                break;
+            case NetworkProtocol.GAME_END:
+                l.onGameEnd(data);
+                break;
+            case "ERROR":
+                l.onError(data);
+                break;
+        }
+    }
+}
@@ -4,8 +4,10 @@ import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.stub.StreamObserver;
 import org.example.communication.*;
+import org.example.model.Move;
 import org.example.network.NetworkProtocol;
 
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 public class RPCCommunication implements GameCommunication {
@@ -14,6 +16,9 @@ public class RPCCommunication implements GameCommunication {
     private StreamObserver<SeegaProto.GameMessage> requestObserver;
     private GameCommunicationListener listener;
     private String playerId;
+    // Builder reaproveitado por thread: build() copia os campos, então limpar e reusar é seguro
+    private static final ThreadLocal<SeegaProto.GameMessage.Builder> BUILDER =
+            ThreadLocal.withInitial(SeegaProto.GameMessage::newBuilder);
 
     @Override
     public void connect(String host, int port) throws CommunicationException {
@@ -61,17 +66,32 @@ public class RPCCommunication implements GameCommunication {
         }
     }
 
+    @Override
+    public void sendConnect(String playerName, int boardSize) {
+        sendMessage(NetworkProtocol.CONNECT, NetworkProtocol.createConnectData(playerName, boardSize));
+    }
+
     @Override
     public void sendMove(int fromRow, int fromCol, int toRow, int toCol) {
         String moveData = fromRow + "," + fromCol + "," + toRow + "," + toCol;
         sendMessage(NetworkProtocol.MOVE, moveData);
     }
 
+    @Override
+    public void sendTurn(List<Move> steps) {
+        sendMessage(NetworkProtocol.TURN, Move.toTurnString(steps));
+    }
+
     @Override
     public void sendChat(String message) {
         sendMessage(NetworkProtocol.CHAT, message);
     }
 
+    @Override
+    public void sendTakeback(String data) {
+        sendMessage(NetworkProtocol.TAKEBACK, data);
+    }
+
     @Override
     public void surrender() {
         sendMessage(NetworkProtocol.SURRENDER, "");
@@ -88,8 +108,9 @@ public class RPCCommunication implements GameCommunication {
         this.listener = listener;
     }
 
-    private void sendMessage(String command, String data) {
-        SeegaProto.GameMessage msg = SeegaProto.GameMessage.newBuilder()
+    // Sincronizado: o stream do gRPC não aceita envios concorrentes (o PONG sai da thread de recebimento)
+    private synchronized void sendMessage(String command, String data) {
+        SeegaProto.GameMessage msg = BUILDER.get().clear()
                 .setCommand(command)
                 .setData(data)
                 .setPlayerId(playerId == null ? "" : playerId)
@@ -98,9 +119,13 @@ public class RPCCommunication implements GameCommunication {
     }
 
     private void handleIncomingMessage(SeegaProto.GameMessage msg) {
-        if (listener == null) return;
         String command = msg.getCommand();
         String data = msg.getData();
+        if (NetworkProtocol.PING.equals(command)) {
+            sendMessage(NetworkProtocol.PONG, data);
+            return;
+        }
+        if (listener == null) return;
 
         switch (command) {
             case NetworkProtocol.GAME_START:
@@ -109,9 +134,18 @@ public class RPCCommunication implements GameCommunication {
             case NetworkProtocol.MOVE:
                 listener.onMoveReceived(data);
                 break;
+            case NetworkProtocol.TURN:
+                listener.onTurnReceived(data);
+                break;
+            case NetworkProtocol.CLOCK:
+                listener.onClockReceived(data);
+                break;
             case NetworkProtocol.CHAT:
                 listener.onChatReceived(data);
                 break;
+            case NetworkProtocol.TAKEBACK:
+                listener.onTakebackReceived(data);
+                break;
             case NetworkProtocol.GAME_END:
                 listener.onGameEnd(data);
                 break;
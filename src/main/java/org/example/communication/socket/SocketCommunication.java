@@ -1,29 +1,61 @@
 package org.example.communication.socket;
 
 import org.example.communication.*;
+import org.example.model.Move;
+import org.example.network.MessageFrame;
 import org.example.network.NetworkProtocol;
+import org.example.network.session.ReplayBuffer;
 
 import java.io.*;
-import java.net.Socket;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Cliente de socket. As mensagens enviadas são codificadas num buffer do pool de rede e escritas
+ * direto no canal ({@link MessageFrame}), sem a String intermediária do PrintWriter.
+ *
+ * Pede ao servidor uma sessão retomável (SESSION): se a conexão cair, reconecta com espera
+ * crescente e manda RESUME com o token e quantas mensagens já recebeu. As mensagens enviadas ficam
+ * guardadas até o servidor confirmá-las (ACK) e as que ele não recebeu são reenviadas depois do
+ * RESUMED. Enquanto a retomada não é confirmada, novos envios só vão para o buffer, para manter a ordem.
+ *
+ * Responde aos PINGs do servidor com PONG. Se nada chegar por READ_TIMEOUT_MILLIS
+ * (vários intervalos de heartbeat), o servidor é dado como morto e a sessão é retomada numa nova conexão.
+ */
 public class SocketCommunication implements GameCommunication {
-    private Socket socket;
-    private PrintWriter out;
-    private BufferedReader in;
-    private BlockingQueue<String> messageQueue;
+    // Tempo máximo tentando reconectar (menor que a tolerância do servidor)
+    private static final long RESUME_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(20);
+    private static final long MAX_BACKOFF_MILLIS = 2000;
+    private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+    // Silêncio máximo do servidor (ele manda PING a cada poucos segundos)
+    private static final int READ_TIMEOUT_MILLIS = 20000;
+    // Mensagens enviadas guardadas à espera de confirmação
+    private static final int REPLAY_CAPACITY = 256;
+
+    private volatile SocketChannel socket;
+    private volatile BufferedReader in;
     private volatile boolean running;
     private GameCommunicationListener listener;
+    private String host;
+    private int port;
+
+    // Sessão retomável (o token e a contagem de recebidas só são usados pela thread de recebimento)
+    private String sessionToken;
+    private long received;
+    private final ReplayBuffer<MessageFrame> unacked = new ReplayBuffer<>(REPLAY_CAPACITY, MessageFrame::release);
+    private boolean resuming;     // Reconectado, aguardando RESUMED (protegido por this)
+    private boolean closed;       // Desconectado de propósito: nada mais é enviado (protegido por this)
 
     @Override
     public void connect(String host, int port) throws CommunicationException {
         try {
-            socket = new Socket(host, port);
-            out = new PrintWriter(socket.getOutputStream(), true);
-            in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            messageQueue = new LinkedBlockingQueue<>();
+            this.host = host;
+            this.port = port;
+            attach(openChannel());
             running = true;
+            sendControl(NetworkProtocol.SESSION, "");
 
             // Inicia thread de recebimento
             new Thread(this::receiveMessages).start();
@@ -32,45 +64,82 @@ public class SocketCommunication implements GameCommunication {
         }
     }
 
+    private SocketChannel openChannel() throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.socket().connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+            channel.socket().setTcpNoDelay(true);
+            channel.socket().setSoTimeout(READ_TIMEOUT_MILLIS);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    private void attach(SocketChannel channel) throws IOException {
+        in = new BufferedReader(new InputStreamReader(channel.socket().getInputStream()));
+        socket = channel;
+    }
+
     @Override
     public void disconnect() {
         running = false;
         try {
-            if (out != null) {
-                out.println(NetworkProtocol.createMessage(NetworkProtocol.SURRENDER, ""));
-                out.close();
+            // Fecha o canal antes do leitor: isso desbloqueia o readLine da thread de recebimento
+            synchronized (this) {
+                if (socket != null && socket.isOpen()) {
+                    send(NetworkProtocol.SURRENDER, "");
+                    sendControl(NetworkProtocol.LEAVE, "");
+                    socket.close();
+                }
+                closed = true;
+                unacked.clear();
             }
             if (in != null) {
                 in.close();
             }
-            if (socket != null && !socket.isClosed()) {
-                socket.close();
-            }
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    @Override
+    public void sendConnect(String playerName, int boardSize) {
+        send(NetworkProtocol.CONNECT,
+                NetworkProtocol.createConnectData(playerName, boardSize));
+    }
+
     @Override
     public void sendMove(int fromRow, int fromCol, int toRow, int toCol) {
         String moveData = fromRow + "," + fromCol + "," + toRow + "," + toCol;
-        out.println(NetworkProtocol.createMessage(NetworkProtocol.MOVE, moveData));
+        send(NetworkProtocol.MOVE, moveData);
+    }
+
+    @Override
+    public void sendTurn(List<Move> steps) {
+        send(NetworkProtocol.TURN, Move.toTurnString(steps));
     }
 
     @Override
     public void sendChat(String message) {
-        out.println(NetworkProtocol.createMessage(NetworkProtocol.CHAT, message));
+        send(NetworkProtocol.CHAT, message);
+    }
+
+    @Override
+    public void sendTakeback(String data) {
+        send(NetworkProtocol.TAKEBACK, data);
     }
 
     @Override
     public void surrender() {
-        out.println(NetworkProtocol.createMessage(NetworkProtocol.SURRENDER, ""));
+        send(NetworkProtocol.SURRENDER, "");
         disconnect();
     }
 
     @Override
     public void sendEndGame(String reason) {
-        out.println(NetworkProtocol.createMessage(NetworkProtocol.GAME_END, reason));
+        send(NetworkProtocol.GAME_END, reason);
     }
 
     @Override
@@ -78,40 +147,177 @@ public class SocketCommunication implements GameCommunication {
         this.listener = listener;
     }
 
-    private void receiveMessages() {
+    /**
+     * Envia uma mensagem do jogo: guardada até o servidor confirmar, escrita se a conexão estiver ativa
+     */
+    private synchronized void send(String command, String data) {
+        if (closed) return;
+        MessageFrame frame = MessageFrame.encode(command, data);
+        unacked.add(frame);
+        if (!resuming) {
+            write(frame);
+        }
+    }
+
+    /**
+     * Envia uma mensagem de controle da sessão (fora da contagem e sem reenvio)
+     */
+    private synchronized void sendControl(String command, String data) {
+        MessageFrame frame = MessageFrame.encode(command, data);
         try {
-            String message;
-            while (running && (message = in.readLine()) != null) {
-                String[] parts = NetworkProtocol.parseMessage(message);
-                String command = parts[0];
-                String data = parts[1];
+            write(frame);
+        } finally {
+            frame.release();
+        }
+    }
 
-                if (listener != null) {
-                    switch (command) {
-                        case NetworkProtocol.GAME_START:
-                            listener.onGameStart("FIRST".equals(data));
-                            break;
-                        case NetworkProtocol.MOVE:
-                            listener.onMoveReceived(data);
-                            break;
-                        case NetworkProtocol.CHAT:
-                            listener.onChatReceived(data);
-                            break;
-                        case NetworkProtocol.GAME_END:
-                            listener.onGameEnd(data);
-                            break;
-                        case "ERROR":
-                            listener.onError(data);
-                            break;
+    /**
+     * Escreve no canal; erros de escrita aparecem na thread de recebimento
+     */
+    private void write(MessageFrame frame) {
+        try {
+            frame.writeTo(socket);
+        } catch (IOException e) {
+            // Conexão caiu: receiveMessages reconecta ou avisa o listener
+        }
+    }
+
+    private void receiveMessages() {
+        while (running) {
+            try {
+                String message;
+                while (running && (message = in.readLine()) != null) {
+                    if (!handleMessage(message)) {
+                        return;
                     }
                 }
+            } catch (IOException e) {
+                // Conexão caiu ou servidor em silêncio (timeout de leitura): tenta retomar a sessão abaixo
             }
-        } catch (IOException e) {
-            if (running && listener != null) {
-                listener.onError("Conexão perdida: " + e.getMessage());
+            if (running && !reconnect()) {
+                if (listener != null) {
+                    listener.onError("Conexão perdida");
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reconecta com espera crescente e pede a retomada da sessão
+     * @return false se não há sessão para retomar ou o prazo acabou
+     */
+    private boolean reconnect() {
+        if (sessionToken == null) {
+            return false;
+        }
+        long deadline = System.nanoTime() + RESUME_TIMEOUT_NANOS;
+        long backoff = 100;
+        while (running && System.nanoTime() < deadline) {
+            try {
+                socket.close();
+                SocketChannel channel = openChannel();
+                synchronized (this) {
+                    if (closed) {
+                        channel.close();
+                        return false;
+                    }
+                    attach(channel);
+                    resuming = true;
+                    sendControl(NetworkProtocol.RESUME, sessionToken + "," + received);
+                }
+                return true;
+            } catch (IOException e) {
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
             }
         }
+        return false;
     }
 
+    /**
+     * Trata uma linha recebida
+     * @return false se a sessão não pôde ser retomada (a recepção termina)
+     */
+    private boolean handleMessage(String message) {
+        String[] parts = NetworkProtocol.parseMessage(message);
+        String command = parts[0];
+        String data = parts[1];
+
+        switch (command) {
+            case NetworkProtocol.SESSION:
+                sessionToken = data;
+                return true;
+            case NetworkProtocol.PING:
+                sendControl(NetworkProtocol.PONG, data);
+                return true;
+            case NetworkProtocol.ACK:
+                synchronized (this) {
+                    unacked.acknowledge(parseCount(data));
+                }
+                return true;
+            case NetworkProtocol.RESUMED:
+                // O servidor recebeu até aqui: reenvia o resto, na ordem, antes dos novos envios
+                synchronized (this) {
+                    long serverReceived = parseCount(data);
+                    unacked.acknowledge(serverReceived);
+                    unacked.forEachAfter(serverReceived, this::write);
+                    resuming = false;
+                }
+                return true;
+            case NetworkProtocol.RESUME_FAILED:
+                running = false;
+                if (listener != null) {
+                    listener.onError("Não foi possível retomar a partida: " + data);
+                }
+                return false;
+        }
 
+        received++;
+        if (received % NetworkProtocol.ACK_INTERVAL == 0) {
+            sendControl(NetworkProtocol.ACK, Long.toString(received));
+        }
+        if (listener != null) {
+            switch (command) {
+                case NetworkProtocol.GAME_START:
+                    listener.onGameStart("FIRST".equals(data));
+                    break;
+                case NetworkProtocol.MOVE:
+                    listener.onMoveReceived(data);
+                    break;
+                case NetworkProtocol.TURN:
+                    listener.onTurnReceived(data);
+                    break;
+                case NetworkProtocol.CLOCK:
+                    listener.onClockReceived(data);
+                    break;
+                case NetworkProtocol.CHAT:
+                    listener.onChatReceived(data);
+                    break;
+                case NetworkProtocol.TAKEBACK:
+                    listener.onTakebackReceived(data);
+                    break;
+                case NetworkProtocol.GAME_END:
+                    listener.onGameEnd(data);
+                    break;
+                case "ERROR":
+                    listener.onError(data);
+                    break;
+            }
+        }
+        return true;
+    }
+
+    private static long parseCount(String text) {
+        try {
+            return Long.parseLong(text.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
 }
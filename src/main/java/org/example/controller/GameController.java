@@ -5,32 +5,63 @@ import org.example.common.PieceType;
 import org.example.communication.*;
 import org.example.gui.BoardPanel;
 import org.example.gui.ChatPanel;
+import org.example.game.EndReason;
+import org.example.game.GameSession;
+import org.example.game.GameSessionListener;
 import org.example.gui.GameWindow;
 import org.example.model.Board;
+import org.example.model.BoardSnapshot;
+import org.example.model.Move;
 import org.example.model.Piece;
+import org.example.network.NetworkProtocol;
 
 import javax.swing.*;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Controlador principal do jogo Seega.
- * Gerencia a lógica do jogo, interação com a interface gráfica e comunicação em rede.
+ * Liga a interface gráfica e a comunicação em rede a uma {@link GameSession},
+ * que concentra as regras; o controlador é apenas um dos assinantes dos eventos da sessão.
  * Implementa os listeners para eventos de comunicação e chat.
+ *
+ * A sessão é alterada tanto pela EDT (cliques) quanto pela thread de recepção da rede, então
+ * os pontos de entrada que a alteram são sincronizados. O tabuleiro segue para a interface como
+ * {@link BoardSnapshot} imutável, copiado ainda dentro dessa sincronização.
+ *
+ * Os lances locais de um turno são acumulados e enviados juntos, numa única mensagem TURN, quando
+ * o turno termina; o oponente nunca vê um turno pela metade.
  */
-public class GameController implements GameCommunicationListener, ChatPanel.ChatListener {
+public class GameController implements GameCommunicationListener, ChatPanel.ChatListener, GameSessionListener {
     private GameWindow gameWindow;         // Janela principal do jogo
-    private Board board;                   // Modelo do tabuleiro
+    private GameSession session;           // Regras, tabuleiro e turnos
     private GameCommunication communication; // Comunicação (socket, RPC, etc)
-    private boolean isMyTurn;              // Indica se é a vez do jogador local
     private PieceType myPieceType;         // Tipo da peça do jogador local
     private boolean gameStarted;           // Indica se o jogo já começou
+    private boolean takebackPending;       // Aguardando resposta do oponente a um pedido de voltar lance
+    private boolean takebackAsked;         // Pedido do oponente aguardando a decisão do jogador local
+    private boolean clocked;               // Partida com relógio (não aceita voltar lance)
+    private final List<Move> pendingTurn = new ArrayList<>(); // Lances do turno local ainda não enviados
+    private boolean playingLocal;          // Aplicando um lance local (o turno ainda não foi enviado)
+    private String pendingEndGame;         // Fim de jogo anunciado só depois do turno que o causou
+    private Runnable onShutdown;           // Executado após encerrar (ex.: sair da aplicação)
 
     /**
-     * Construtor: inicializa o controlador, a interface e a comunicação.
+     * Construtor: inicializa o controlador com o tabuleiro padrão 5x5.
      */
     public GameController(CommunicationType communicationType) {
-        this.board = new Board();
+        this(communicationType, Board.DEFAULT_SIZE);
+    }
+
+    /**
+     * Construtor: inicializa o controlador, a interface e a comunicação.
+     * @param boardSize tamanho do tabuleiro (5, 7 ou 9)
+     */
+    public GameController(CommunicationType communicationType, int boardSize) {
+        this.session = new GameSession(new Board(boardSize));
+        this.session.addListener(this);
         this.gameWindow = new GameWindow();
+        this.gameWindow.getBoardPanel().updateBoard(session.getBoard());
         this.communication = CommunicationFactory.createCommunication(communicationType);
         this.communication.setGameCommunicationListener(this);
         setupGameWindow();
@@ -44,16 +75,12 @@ public class GameController implements GameCommunicationListener, ChatPanel.Chat
         gameWindow.getBoardPanel().setBoardClickListener(new BoardPanel.BoardClickListener() {
             @Override
             public void onMove(int fromRow, int fromCol, int toRow, int toCol) {
-                if (isMyTurn) {
-                    makeMove(fromRow, fromCol, toRow, toCol);
-                }
+                makeMove(fromRow, fromCol, toRow, toCol);
             }
 
             @Override
             public void onPiecePlacement(int row, int col) {
-                if (isMyTurn && board.isSetupPhase()) {
-                    placePiece(row, col);
-                }
+                placePiece(row, col);
             }
         });
 
@@ -63,6 +90,9 @@ public class GameController implements GameCommunicationListener, ChatPanel.Chat
         // Listener do botão de desistir
         gameWindow.setSurrenderListener(this::handleSurrender);
 
+        // Listener do botão de voltar lance
+        gameWindow.setTakebackListener(this::requestTakeback);
+
         // Handler para fechamento da janela
         gameWindow.setOnCloseHandler(() -> {
             int confirm = JOptionPane.showConfirmDialog(
@@ -80,11 +110,13 @@ public class GameController implements GameCommunicationListener, ChatPanel.Chat
     }
 
     /**
-     * Conecta ao servidor usando o tipo de comunicação escolhido.
+     * Conecta ao servidor usando o tipo de comunicação escolhido,
+     * se identifica com o nome do jogador e entra na fila do tamanho do tabuleiro.
      */
-    public void connectToServer(String host, int port) {
+    public void connectToServer(String host, int port, String playerName) {
         try {
             communication.connect(host, port);
+            communication.sendConnect(playerName, session.getBoard().getBoardSize());
         } catch (CommunicationException e) {
             showError("Erro ao conectar: " + e.getMessage());
         }
@@ -99,106 +131,275 @@ public class GameController implements GameCommunicationListener, ChatPanel.Chat
 
     /**
      * Realiza um movimento no tabuleiro e envia para o oponente.
+     * A vez é conferida já sob o lock: um pedido do oponente recebido depois do clique descarta o lance.
      */
-    private void makeMove(int fromRow, int fromCol, int toRow, int toCol) {
-        if (board.isValidMove(fromRow, fromCol, toRow, toCol, myPieceType)) {
-            board.movePiece(fromRow, fromCol, toRow, toCol);
-            communication.sendMove(fromRow, fromCol, toRow, toCol);
+    private synchronized void makeMove(int fromRow, int fromCol, int toRow, int toCol) {
+        if (isMyTurn()) {
+            playLocal(new Move(fromRow, fromCol, toRow, toCol));
+        }
+    }
 
-            logEvent(String.format("Movimento enviado: (%d,%d) -> (%d,%d)",
-                    fromRow, fromCol, toRow, toCol));
+    /**
+     * Coloca uma peça no tabuleiro durante a fase de preparação.
+     */
+    private synchronized void placePiece(int row, int col) {
+        if (isMyTurn() && session.isSetupPhase()) {
+            playLocal(Move.placement(row, col));
+        }
+    }
 
-            // Verifica e remove peças capturadas
-            List<Piece> capturedPieces = board.checkCaptures(toRow, toCol, myPieceType);
-            for (Piece piece : capturedPieces) {
-                board.removePiece(piece.getRow(), piece.getCol());
-                logEvent(String.format("Peça capturada em (%d,%d)",
-                        piece.getRow(), piece.getCol()));
-            }
+    /**
+     * Aplica um lance do jogador local e, se ele fechou o turno, envia o turno inteiro.
+     * Se o lance encerrou a partida, o fim de jogo só é enviado depois do turno: o servidor
+     * confere o resultado contra a posição e precisa ter recebido o último lance.
+     */
+    private void playLocal(Move move) {
+        boolean played;
+        playingLocal = true;
+        try {
+            played = session.play(move);
+        } finally {
+            playingLocal = false;
+        }
+        if (!played) {
+            return;
+        }
+        pendingTurn.add(move);
+        if (!session.isTurnInProgress()) {
+            communication.sendTurn(new ArrayList<>(pendingTurn));
+            pendingTurn.clear();
+        }
+        if (pendingEndGame != null) {
+            communication.sendEndGame(pendingEndGame);
+            pendingEndGame = null;
+        }
+    }
 
-            isMyTurn = false;
-            updateGameState();
-            checkWinCondition();
+    /**
+     * Envia o fim de jogo, ou o adia até o envio do turno se ele veio de um lance local
+     */
+    private void sendEndGame(String reason) {
+        if (playingLocal) {
+            pendingEndGame = reason;
+        } else {
+            communication.sendEndGame(reason);
         }
     }
 
     /**
-     * Coloca uma peça no tabuleiro durante a fase de preparação.
+     * Recebe e processa um movimento do oponente.
+     */
+    @Override
+    public synchronized void onMoveReceived(String moveData) {
+        cancelTakebackRequest();
+        if (!session.play(Move.parse(moveData))) {
+            logEvent("Lance inválido recebido do oponente: " + moveData);
+        }
+    }
+
+    /**
+     * Recebe e aplica um turno completo do oponente, como unidade.
      */
-    private void placePiece(int row, int col) {
-        if (board.placePiece(row, col, myPieceType)) {
-            communication.sendMove(-1, -1, row, col);
-            logEvent(String.format("Peça colocada em (%d,%d) - Restam %d peças neste turno",
-                    row, col, board.getPiecesRemainingThisTurn()));
+    @Override
+    public synchronized void onTurnReceived(String turnData) {
+        cancelTakebackRequest();
+        if (!session.playTurn(Move.parseTurn(turnData))) {
+            logEvent("Turno inválido recebido do oponente: " + turnData);
+        }
+    }
 
-            gameWindow.getBoardPanel().updateBoard(board);
+    /**
+     * O oponente jogou antes de responder ao pedido de voltar lance: o pedido deixou de valer
+     * (o servidor descarta a resposta) e o tabuleiro é liberado.
+     */
+    private void cancelTakebackRequest() {
+        if (takebackPending) {
+            takebackPending = false;
+            logEvent("Pedido para voltar lance cancelado: o oponente já jogou");
+        }
+    }
 
-            if (board.shouldChangeTurn()) {
-                isMyTurn = false;
-                board.resetTurnCounter();
-                logEvent("Turno finalizado - colocou 2 peças");
+    /**
+     * Evento da sessão: um lance foi aplicado.
+     */
+    @Override
+    public void onMovePlayed(PieceType player, Move move) {
+        boolean mine = player == myPieceType;
+        if (move.isPlacement()) {
+            if (mine) {
+                logEvent(String.format("Peça colocada em (%d,%d) - Restam %d peças neste turno",
+                        move.getToRow(), move.getToCol(), session.getBoard().getPiecesRemainingThisTurn()));
+            } else {
+                logEvent(String.format("Oponente colocou peça em (%d,%d)", move.getToRow(), move.getToCol()));
             }
+        } else {
+            logEvent(String.format(mine ? "Movimento enviado: (%d,%d) -> (%d,%d)"
+                            : "Movimento do oponente: (%d,%d) -> (%d,%d)",
+                    move.getFromRow(), move.getFromCol(), move.getToRow(), move.getToCol()));
+        }
+        updateGameState();
+    }
 
-            updateGameState();
+    /**
+     * Evento da sessão: lance desfeito.
+     */
+    @Override
+    public void onMoveUndone(PieceType player, Move move) {
+        logEvent(String.format("Lance desfeito: %s (%s)", move.toProtocolString(),
+                player == myPieceType ? "seu" : "do oponente"));
+        updateGameState();
+    }
+
+    /**
+     * Pede ao oponente para voltar o último turno do jogador local (só com o turno já enviado).
+     * Enquanto a resposta não chega, o tabuleiro fica bloqueado para não dessincronizar.
+     */
+    private synchronized void requestTakeback() {
+        if (!gameStarted || session.isOver() || takebackPending || session.isTurnInProgress()
+                || session.getLastMovePlayer() != myPieceType) {
+            logEvent("Não há lance seu para voltar");
+            return;
         }
+        takebackPending = true;
+        communication.sendTakeback(NetworkProtocol.TAKEBACK_REQUEST);
+        logEvent("Pedido para voltar lance enviado");
+        updateGameState();
     }
 
     /**
-     * Recebe e processa um movimento do oponente.
+     * Recebe um pedido ou resposta de voltar lance.
+     * O pedido é recusado em partidas com relógio (o servidor já recusa as que valem rating);
+     * nas demais o jogador local decide. Enquanto ele não responde, o tabuleiro fica bloqueado.
      */
     @Override
-    public void onMoveReceived(String moveData) {
-        String[] parts = moveData.split(",");
-        int fromRow = Integer.parseInt(parts[0]);
-        int fromCol = Integer.parseInt(parts[1]);
-        int toRow = Integer.parseInt(parts[2]);
-        int toCol = Integer.parseInt(parts[3]);
-
-        if (fromRow == -1 && fromCol == -1) {
-            // Fase de preparação: oponente colocou peça
-            board.placePiece(toRow, toCol, getOpponentPieceType());
-            logEvent(String.format("Oponente colocou peça em (%d,%d)", toRow, toCol));
-
-            gameWindow.getBoardPanel().updateBoard(board);
-
-            if (board.shouldChangeTurn()) {
-                isMyTurn = true;
-                board.resetTurnCounter();
-                logEvent("Sua vez - coloque 2 peças");
+    public synchronized void onTakebackReceived(String data) {
+        if (NetworkProtocol.TAKEBACK_REQUEST.equals(data)) {
+            if (clocked || takebackAsked || !canUndoOpponentTurn()) {
+                communication.sendTakeback(NetworkProtocol.TAKEBACK_REJECT);
+                return;
             }
-        } else {
-            // Fase de movimento: oponente moveu peça
-            board.movePiece(fromRow, fromCol, toRow, toCol);
-            gameWindow.getBoardPanel().updateBoard(board);
-
-            logEvent(String.format("Movimento do oponente: (%d,%d) -> (%d,%d)",
-                    fromRow, fromCol, toRow, toCol));
-
-            // Verifica e remove peças capturadas pelo oponente
-            List<Piece> capturedPieces = board.checkCaptures(toRow, toCol, getOpponentPieceType());
-            for (Piece piece : capturedPieces) {
-                board.removePiece(piece.getRow(), piece.getCol());
-                logEvent(String.format("Peça capturada em (%d,%d)",
-                        piece.getRow(), piece.getCol()));
+            takebackAsked = true;
+            updateGameState();
+            SwingUtilities.invokeLater(() -> {
+                int confirm = JOptionPane.showConfirmDialog(
+                        gameWindow,
+                        "O oponente pediu para voltar o último lance. Aceitar?",
+                        "Voltar Lance",
+                        JOptionPane.YES_NO_OPTION
+                );
+                answerTakeback(confirm == JOptionPane.YES_OPTION);
+            });
+        } else if (takebackPending) {
+            takebackPending = false;
+            if (NetworkProtocol.TAKEBACK_ACCEPT.equals(data)) {
+                session.undoTurn();
+            } else {
+                logEvent("Pedido para voltar lance recusado");
+                updateGameState();
             }
-            isMyTurn = true;
         }
+    }
+
+    /**
+     * Responde ao pedido do oponente; o turno inteiro dele é desfeito se aceito.
+     */
+    private synchronized void answerTakeback(boolean accepted) {
+        if (!takebackAsked) {
+            return;
+        }
+        takebackAsked = false;
+        if (accepted && canUndoOpponentTurn() && session.undoTurn()) {
+            communication.sendTakeback(NetworkProtocol.TAKEBACK_ACCEPT);
+            logEvent("Oponente voltou o último lance");
+        } else {
+            communication.sendTakeback(NetworkProtocol.TAKEBACK_REJECT);
+            updateGameState();
+        }
+    }
+
+    private boolean canUndoOpponentTurn() {
+        return !session.isOver() && session.getLastMovePlayer() == getOpponentPieceType();
+    }
+
+    /**
+     * Evento da sessão: peças capturadas.
+     */
+    @Override
+    public void onPiecesCaptured(PieceType capturer, List<Piece> captured) {
+        for (Piece piece : captured) {
+            logEvent(String.format("Peça capturada em (%d,%d)", piece.getRow(), piece.getCol()));
+        }
+        gameWindow.getBoardPanel().publish(BoardSnapshot.of(session.getBoard()));
+    }
 
+    /**
+     * Evento da sessão: troca de turno.
+     */
+    @Override
+    public void onTurnChanged(PieceType toMove) {
+        if (session.isSetupPhase()) {
+            logEvent(toMove == myPieceType ? "Sua vez - coloque 2 peças" : "Turno finalizado - colocou 2 peças");
+        }
         updateGameState();
     }
 
+    /**
+     * Evento da sessão: jogador bloqueado passa a vez.
+     */
+    @Override
+    public void onTurnPassed(PieceType blocked) {
+        logEvent(blocked == myPieceType ? "Você está bloqueado - a vez volta para o oponente"
+                : "Oponente bloqueado - jogue novamente");
+    }
+
+    /**
+     * Evento da sessão: fim de partida pelas regras.
+     * Quem vence avisa o servidor, que repassa o resultado ao oponente; no empate
+     * avisa quem fez o último lance.
+     */
+    @Override
+    public void onGameOver(PieceType winner, EndReason reason) {
+        updateGameState();
+        if (reason == EndReason.BLOCKADE && winner == null) {
+            if (session.getLastMovePlayer() == myPieceType) {
+                sendEndGame("DRAW_BLOCKADE");
+                announceGameOver("Empate! Os dois jogadores estão bloqueados com o mesmo número de peças.");
+            }
+            return;
+        }
+        if (winner != myPieceType) {
+            return;
+        }
+        if (reason == EndReason.CAPTURED_ALL) {
+            sendEndGame("VICTORY_CAPTURED_ALL");
+            announceGameOver("Você venceu! Capturou todas as peças do oponente!");
+        } else if (reason == EndReason.BLOCKADE) {
+            sendEndGame("VICTORY_BLOCKADE");
+            announceGameOver("Você venceu! Os dois estão bloqueados e você tem mais peças!");
+        }
+    }
+
     /**
      * Evento disparado quando o jogo começa.
      */
     @Override
-    public void onGameStart(boolean isFirstPlayer) {
+    public synchronized void onGameStart(boolean isFirstPlayer) {
         gameStarted = true;
         myPieceType = isFirstPlayer ? PieceType.PLAYER1 : PieceType.PLAYER2;
-        isMyTurn = isFirstPlayer;
         logEvent("Jogo iniciado - " + (isFirstPlayer ? "Primeiro" : "Segundo") + " jogador");
         updateGameState();
     }
 
+    /**
+     * Evento disparado quando o servidor informa o relógio da partida.
+     */
+    @Override
+    public synchronized void onClockReceived(String clockData) {
+        clocked = true;
+        PieceType me = myPieceType;
+        SwingUtilities.invokeLater(() -> gameWindow.getClockLabel().update(clockData, me));
+    }
+
     /**
      * Evento disparado ao receber mensagem de chat.
      */
@@ -211,27 +412,36 @@ public class GameController implements GameCommunicationListener, ChatPanel.Chat
     /**
      * Handler para o botão de desistir.
      */
-    private void handleSurrender() {
+    private synchronized void handleSurrender() {
         if (communication != null) {
-            gameWindow.showGameOver("Você desistiu, o seu oponente é o vencedor!");
+            announceGameOver("Você desistiu, o seu oponente é o vencedor!");
             logEvent("Você desistiu da partida");
+            session.surrender(myPieceType);
             communication.surrender();
-            new Timer(2000, e -> shutdown()).start();
         }
     }
 
     /**
-     * Evento disparado quando o jogo termina.
+     * Mostra o fim de jogo na EDT e encerra depois de 2 segundos
      */
-    @Override
-    public void onGameEnd(String reason) {
-        logEvent("Fim de jogo: " + reason);
+    private void announceGameOver(String message) {
         SwingUtilities.invokeLater(() -> {
-            gameWindow.showGameOver(reason);
+            gameWindow.getClockLabel().stop();
+            gameWindow.showGameOver(message);
             new Timer(2000, e -> shutdown()).start();
         });
     }
 
+    /**
+     * Evento disparado quando o jogo termina.
+     */
+    @Override
+    public synchronized void onGameEnd(String reason) {
+        logEvent("Fim de jogo: " + reason);
+        session.end(null, EndReason.EXTERNAL);
+        announceGameOver(reason);
+    }
+
     /**
      * Evento disparado em caso de erro de comunicação.
      */
@@ -256,69 +466,55 @@ public class GameController implements GameCommunicationListener, ChatPanel.Chat
         }
     }
 
-    /**
-     * Verifica condições de vitória após cada jogada.
-     */
-    private void checkWinCondition() {
-        PieceType opponent = getOpponentPieceType();
-        boolean opponentHasPieces = false;
-        boolean opponentHasMoves = false;
-
-        for (int row = 0; row < Board.getBoardSize(); row++) {
-            for (int col = 0; col < Board.getBoardSize(); col++) {
-                if (board.getPiece(row, col).getType() == opponent) {
-                    opponentHasPieces = true;
-                    if (board.hasValidMoves(opponent)) {
-                        opponentHasMoves = true;
-                        break;
-                    }
-                }
-            }
-        }
-
-        if (!opponentHasPieces) {
-            if (communication != null) {
-                communication.sendEndGame("VICTORY_CAPTURED_ALL");
-            }
-            gameWindow.showGameOver("Você venceu! Capturou todas as peças do oponente!");
-            new Timer(2000, e -> shutdown()).start();
-        } else if (!opponentHasMoves) {
-            if (communication != null) {
-                communication.sendEndGame("VICTORY_NO_MOVES");
-            }
-            gameWindow.showGameOver("Você venceu! Oponente sem movimentos válidos!");
-            new Timer(2000, e -> shutdown()).start();
-        }
-    }
-
     /**
      * Atualiza o estado visual do jogo (tabuleiro, status, etc).
      */
     private void updateGameState() {
+        boolean isMyTurn = isMyTurn();
         gameWindow.getBoardPanel().setMyTurn(isMyTurn);
         gameWindow.getBoardPanel().setCurrentPlayer(myPieceType);
-        gameWindow.getBoardPanel().repaint();
+        gameWindow.getBoardPanel().publish(BoardSnapshot.of(session.getBoard()));
 
         String status;
-        if (board.isSetupPhase()) {
+        if (session.isOver()) {
+            status = "Fim de jogo";
+        } else if (session.isSetupPhase()) {
             if (isMyTurn) {
                 status = String.format("Fase de preparação - Coloque %d peça(s)",
-                        board.getPiecesRemainingThisTurn());
+                        session.getBoard().getPiecesRemainingThisTurn());
             } else {
                 status = "Fase de preparação - Aguardando oponente";
             }
         } else {
-            status = isMyTurn ? "Sua vez" : "Aguardando oponente...";
+            if (isMyTurn && session.getBoard().getChainSquare() >= 0) {
+                status = "Sua vez - continue capturando com a mesma peça";
+            } else {
+                status = isMyTurn ? "Sua vez" : "Aguardando oponente...";
+            }
         }
-        gameWindow.updateStatus(status);
+        String text = status;
+        SwingUtilities.invokeLater(() -> gameWindow.updateStatus(text));
+    }
+
+    /**
+     * Indica se é a vez do jogador local.
+     */
+    private boolean isMyTurn() {
+        return gameStarted && !takebackPending && !takebackAsked && !session.isOver() && session.getToMove() == myPieceType;
     }
 
     /**
      * Retorna o tipo de peça do oponente.
      */
     private PieceType getOpponentPieceType() {
-        return (myPieceType == PieceType.PLAYER1) ?
-                PieceType.PLAYER2 : PieceType.PLAYER1;
+        return GameSession.opponentOf(myPieceType);
+    }
+
+    /**
+     * Define o que fazer após o encerramento (ex.: System.exit na aplicação gráfica).
+     */
+    public void setOnShutdown(Runnable onShutdown) {
+        this.onShutdown = onShutdown;
     }
 
     /**
@@ -331,7 +527,9 @@ public class GameController implements GameCommunicationListener, ChatPanel.Chat
         if (gameWindow != null) {
             gameWindow.dispose();
         }
-        System.exit(0);
+        if (onShutdown != null) {
+            onShutdown.run();
+        }
     }
 
     /**
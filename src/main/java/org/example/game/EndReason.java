@@ -0,0 +1,14 @@
+package org.example.game;
+
+/**
+ * Motivos de fim de partida de uma {@link GameSession}.
+ */
+public enum EndReason {
+    CAPTURED_ALL,  // O perdedor ficou sem peças
+    BLOCKADE,      // Os dois jogadores bloqueados: vence quem tem mais peças
+    SURRENDER,     // O perdedor desistiu
+    TIMEOUT,       // O relógio do perdedor acabou
+    ILLEGAL_MOVE,  // O perdedor tentou um lance inválido
+    MAX_PLIES,     // Limite de lances atingido (empate)
+    EXTERNAL       // Encerrada de fora (servidor, desconexão)
+}
@@ -0,0 +1,308 @@
+package org.example.game;
+
+import org.example.common.PieceType;
+import org.example.model.Board;
+import org.example.model.GameState;
+import org.example.model.Move;
+import org.example.model.Piece;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Máquina de estados de uma partida de Seega, sem dependência de interface gráfica ou rede.
+ *
+ * Dona do tabuleiro, da vez e da detecção de vitória: 2 colocações por turno na fase inicial,
+ * um movimento por turno depois. Se o movimento captura e a mesma peça pode capturar de novo,
+ * o turno continua com ela. Quem fica sem peças perde; quem está bloqueado passa a vez, e se
+ * os dois estiverem bloqueados vence quem tiver mais peças (ou empata).
+ * Um turno pode ter vários lances (as 2 colocações, ou os passos de uma sequência de capturas):
+ * {@link #playTurn} aplica o turno inteiro ou nada, e {@link #undoTurn} o desfaz como unidade.
+ * Cada mudança é avisada aos {@link GameSessionListener} inscritos, de forma síncrona.
+ * Não é thread-safe: deve ser usada por uma thread de cada vez.
+ */
+public class GameSession {
+    private final Board board;
+    private final List<GameSessionListener> listeners = new CopyOnWriteArrayList<>();
+
+    private PieceType toMove = PieceType.PLAYER1; // Jogador 1 começa a colocação
+    private int plies;                            // Lances aplicados (colocações + movimentos)
+    private boolean over;
+    private PieceType winner;                     // null enquanto não acabar ou em empate
+    private EndReason endReason;
+    private final ArrayDeque<Integer> turnStarts = new ArrayDeque<>(); // plies no início de cada turno jogado
+    private boolean turnInProgress;               // O jogador da vez já fez parte do turno
+
+    public GameSession() {
+        this(new Board());
+    }
+
+    public GameSession(Board board) {
+        this.board = board;
+    }
+
+    /**
+     * Cópia sem listeners nem histórico, usada para validar um turno antes de aplicá-lo
+     */
+    private GameSession(GameSession other) {
+        this.board = new Board(other.board);
+        this.toMove = other.toMove;
+        this.plies = other.plies;
+        this.turnInProgress = other.turnInProgress;
+    }
+
+    public void addListener(GameSessionListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameSessionListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Valida e aplica o lance do jogador da vez, com capturas, troca de turno e detecção de vitória.
+     * @return false se a partida acabou ou o lance for inválido (nada muda nesse caso)
+     */
+    public boolean play(Move move) {
+        if (over || move == null || !inside(move.getToRow(), move.getToCol())) {
+            return false;
+        }
+        PieceType player = toMove;
+        PieceType opponent = opponentOf(player);
+
+        if (move.isPlacement()) {
+            if (board.makeMove(move, player) < 0) {
+                return false;
+            }
+            startTurnIfNeeded();
+            plies++;
+            notifyMovePlayed(player, move);
+            if (board.shouldChangeTurn()) {
+                board.resetTurnCounter();
+                changeTurn(opponent);
+            }
+            return true;
+        }
+
+        if (!inside(move.getFromRow(), move.getFromCol())) {
+            return false;
+        }
+        int capturedCount = board.makeMove(move, player);
+        if (capturedCount < 0) {
+            return false;
+        }
+        startTurnIfNeeded();
+        plies++;
+        notifyMovePlayed(player, move);
+
+        if (capturedCount > 0) {
+            List<Piece> captured = board.getLastCaptures();
+            for (GameSessionListener listener : listeners) {
+                listener.onPiecesCaptured(player, captured);
+            }
+        }
+
+        // Sequência de capturas em andamento: o turno continua com a mesma peça
+        if (board.getChainSquare() < 0) {
+            changeTurn(opponent);
+        }
+        return true;
+    }
+
+    /**
+     * Aplica um turno completo do jogador da vez: todos os lances ou nenhum. O turno precisa
+     * terminar exatamente no último lance (nem antes, nem com a vez ainda pendente).
+     * @return false se algum lance for inválido ou o turno estiver incompleto (nada muda nesse caso)
+     */
+    public boolean playTurn(List<Move> steps) {
+        if (over || turnInProgress || steps.isEmpty() || !isCompleteTurn(steps)) {
+            return false;
+        }
+        for (Move step : steps) {
+            play(step);
+        }
+        return true;
+    }
+
+    /**
+     * Confere o turno numa cópia da sessão, sem avisar os listeners
+     */
+    private boolean isCompleteTurn(List<Move> steps) {
+        GameSession scratch = new GameSession(this);
+        for (int i = 0; i < steps.size(); i++) {
+            if (!scratch.play(steps.get(i))) {
+                return false;
+            }
+            boolean last = i == steps.size() - 1;
+            if (scratch.turnInProgress == last) {
+                return false; // Turno acabou antes do último lance, ou não acabou nele
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indica se o jogador da vez já jogou parte do turno (uma colocação, ou capturas em sequência)
+     */
+    public boolean isTurnInProgress() {
+        return turnInProgress;
+    }
+
+    /**
+     * Desfaz o último turno inteiro, inclusive o turno em andamento, e devolve a vez a quem o jogou.
+     * @return false se não houver turno para desfazer
+     */
+    public boolean undoTurn() {
+        if (over || turnStarts.isEmpty()) {
+            return false;
+        }
+        int start = turnStarts.peek();
+        while (plies > start) {
+            undo();
+        }
+        return true;
+    }
+
+    /**
+     * Desfaz o último lance (com as capturas) e devolve a vez a quem o fez.
+     * Só vale enquanto a partida não terminou.
+     * @return false se não houver lance para desfazer
+     */
+    public boolean undo() {
+        if (over || board.getUndoDepth() == 0) {
+            return false;
+        }
+        Move move = board.getLastMove();
+        PieceType player = board.unmakeMove();
+        toMove = player;
+        plies--;
+        // Voltou ao início do turno: ele deixa de existir; senão o turno continua em andamento
+        if (!turnStarts.isEmpty() && turnStarts.peek() == plies) {
+            turnStarts.pop();
+            turnInProgress = false;
+        } else {
+            turnInProgress = true;
+        }
+        for (GameSessionListener listener : listeners) {
+            listener.onMoveUndone(player, move);
+        }
+        return true;
+    }
+
+    /**
+     * Jogador que fez o último lance, ou null se nenhum lance foi feito
+     */
+    public PieceType getLastMovePlayer() {
+        return board.getLastMovePlayer();
+    }
+
+    /**
+     * Encerra a partida por um motivo externo às regras (desistência, relógio, servidor).
+     * Ignorado se a partida já tiver terminado.
+     * @param winner vencedor, ou null para empate
+     */
+    public void end(PieceType winner, EndReason reason) {
+        if (over) return;
+        over = true;
+        this.winner = winner;
+        this.endReason = reason;
+        for (GameSessionListener listener : listeners) {
+            listener.onGameOver(winner, reason);
+        }
+    }
+
+    /**
+     * O jogador desiste e o oponente vence
+     */
+    public void surrender(PieceType player) {
+        end(opponentOf(player), EndReason.SURRENDER);
+    }
+
+    private void startTurnIfNeeded() {
+        if (!turnInProgress) {
+            turnStarts.push(plies);
+            turnInProgress = true;
+        }
+    }
+
+    private void changeTurn(PieceType next) {
+        PieceType current = opponentOf(next);
+        toMove = next;
+        turnInProgress = false;
+        if (!board.isSetupPhase()) {
+            // Quem fica sem peças perde
+            if (board.countPieces(next) == 0) {
+                end(current, EndReason.CAPTURED_ALL);
+                return;
+            }
+            if (!board.hasValidMoves(next)) {
+                if (!board.hasValidMoves(current)) {
+                    // Bloqueio mútuo: vence quem tem mais peças
+                    int diff = board.countPieces(current) - board.countPieces(next);
+                    end(diff > 0 ? current : diff < 0 ? next : null, EndReason.BLOCKADE);
+                    return;
+                }
+                // Jogador bloqueado passa a vez
+                for (GameSessionListener listener : listeners) {
+                    listener.onTurnPassed(next);
+                }
+                toMove = current;
+                next = current;
+            }
+        }
+        for (GameSessionListener listener : listeners) {
+            listener.onTurnChanged(next);
+        }
+    }
+
+    private void notifyMovePlayed(PieceType player, Move move) {
+        for (GameSessionListener listener : listeners) {
+            listener.onMovePlayed(player, move);
+        }
+    }
+
+    private boolean inside(int row, int col) {
+        int size = board.getBoardSize();
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+
+    public static PieceType opponentOf(PieceType player) {
+        return player == PieceType.PLAYER1 ? PieceType.PLAYER2 : PieceType.PLAYER1;
+    }
+
+    /**
+     * Cópia imutável do estado atual, segura para publicar a outras threads (até 7x7)
+     */
+    public GameState snapshot() {
+        return GameState.of(board, toMove);
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public PieceType getToMove() {
+        return toMove;
+    }
+
+    public boolean isSetupPhase() {
+        return board.isSetupPhase();
+    }
+
+    public int getPlies() {
+        return plies;
+    }
+
+    public boolean isOver() {
+        return over;
+    }
+
+    public PieceType getWinner() {
+        return winner;
+    }
+
+    public EndReason getEndReason() {
+        return endReason;
+    }
+}
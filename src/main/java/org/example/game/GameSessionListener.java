@@ -0,0 +1,44 @@
+package org.example.game;
+
+import org.example.common.PieceType;
+import org.example.model.Move;
+import org.example.model.Piece;
+
+import java.util.List;
+
+/**
+ * Eventos emitidos por uma {@link GameSession}.
+ * Todos os métodos têm implementação vazia para que cada assinante trate só o que precisa.
+ */
+public interface GameSessionListener {
+    /**
+     * Chamado após um lance válido (colocação ou movimento) ser aplicado
+     */
+    default void onMovePlayed(PieceType player, Move move) {}
+
+    /**
+     * Chamado quando um movimento captura peças do oponente
+     */
+    default void onPiecesCaptured(PieceType capturer, List<Piece> captured) {}
+
+    /**
+     * Chamado quando um lance é desfeito; a vez volta para quem o fez
+     */
+    default void onMoveUndone(PieceType player, Move move) {}
+
+    /**
+     * Chamado quando a vez passa para o outro jogador
+     */
+    default void onTurnChanged(PieceType toMove) {}
+
+    /**
+     * Chamado quando o jogador está bloqueado e a vez volta para o oponente
+     */
+    default void onTurnPassed(PieceType blocked) {}
+
+    /**
+     * Chamado uma única vez quando a partida termina
+     * @param winner vencedor, ou null em caso de empate
+     */
+    default void onGameOver(PieceType winner, EndReason reason) {}
+}
@@ -2,22 +2,58 @@ package org.example.gui;
 
 import org.example.common.PieceType;
 import org.example.model.Board;
-import org.example.model.Piece;
+import org.example.model.BoardSnapshot;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Painel gráfico responsável por desenhar o tabuleiro do Seega e gerenciar interações do usuário.
+ *
+ * A grade (fundo, células e linhas) é desenhada uma vez numa imagem, refeita só quando o painel
+ * ou o tabuleiro mudam de tamanho. Cores e traços são constantes. As atualizações comparam o
+ * tabuleiro com o último estado desenhado e repintam apenas as células que mudaram, a seleção
+ * e a borda de vez, com repaint(Rectangle).
+ *
+ * O tabuleiro chega como {@link BoardSnapshot} imutável, publicado por qualquer thread numa
+ * referência atômica; o painel nunca lê o Board que a rede está alterando. Publicações em
+ * sequência disparam uma única atualização na EDT, que aplica só o snapshot mais recente.
  */
 public class BoardPanel extends JPanel {
-    private Board board; // Estado atual do tabuleiro
+    private static final long serialVersionUID = 1L;
+
+    private static final Color BACKGROUND_COLOR = new Color(240, 240, 240);
+    private static final Color CELL_COLOR = Color.WHITE;
+    private static final Color GRID_COLOR = Color.BLACK;
+    private static final Color PLAYER1_COLOR = Color.BLACK;
+    private static final Color PLAYER2_COLOR = Color.RED;
+    private static final Color SELECTION_COLOR = Color.YELLOW;
+    private static final Color TURN_COLOR = Color.GREEN;
+    private static final BasicStroke THIN_STROKE = new BasicStroke(1);
+    private static final BasicStroke PIECE_STROKE = new BasicStroke(2);
+    private static final BasicStroke SELECTION_STROKE = new BasicStroke(2);
+    private static final BasicStroke TURN_STROKE = new BasicStroke(3);
+    private static final int TURN_BORDER = 4; // Folga da borda de vez em volta da grade
+
+    private final AtomicReference<BoardSnapshot> latest; // Último tabuleiro publicado (qualquer thread)
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean(); // Já há atualização pendente na EDT
+    private volatile boolean requestedMyTurn; // Último valor de setMyTurn (qualquer thread)
+
+    private BoardSnapshot shown; // Tabuleiro desenhado (só a EDT lê e escreve)
     private int selectedRow = -1; // Linha da peça selecionada para mover
     private int selectedCol = -1; // Coluna da peça selecionada para mover
     private BoardClickListener clickListener; // Listener para eventos de clique
-    private PieceType currentPlayer; // Jogador atual (para destacar peças)
-    private boolean isMyTurn; // Indica se é a vez do usuário
+    private volatile PieceType currentPlayer; // Jogador atual (para destacar peças)
+    private boolean isMyTurn; // Indica se é a vez do usuário (valor já aplicado na EDT)
+
+    private BufferedImage gridImage; // Grade pré-desenhada para o tamanho atual
+    private int cellSize;
+    private int xOffset;
+    private int yOffset;
 
     /**
      * Interface para notificar o controlador sobre cliques no tabuleiro.
@@ -31,13 +67,15 @@ public class BoardPanel extends JPanel {
      * Construtor: inicializa o painel e configura o mouse listener.
      */
     public BoardPanel() {
-        board = new Board();
+        shown = BoardSnapshot.of(new Board());
+        latest = new AtomicReference<>(shown);
         currentPlayer = PieceType.EMPTY;
         isMyTurn = false;
 
         // Define tamanho mínimo e preferido do painel
         setMinimumSize(new Dimension(400, 400));
         setPreferredSize(new Dimension(400, 400));
+        setOpaque(true);
 
         // Listener de clique do mouse
         addMouseListener(new MouseAdapter() {
@@ -45,19 +83,16 @@ public class BoardPanel extends JPanel {
             public void mouseClicked(MouseEvent e) {
                 if (!isMyTurn) return; // Ignora cliques se não for a vez do usuário
 
-                // Calcula tamanho das células e offsets para centralizar o tabuleiro
-                int size = Math.min(getWidth(), getHeight());
-                int cellSize = size / Board.getBoardSize();
-                int xOffset = (getWidth() - (cellSize * Board.getBoardSize())) / 2;
-                int yOffset = (getHeight() - (cellSize * Board.getBoardSize())) / 2;
+                layoutGrid();
+                if (cellSize == 0) return;
 
                 // Determina a célula clicada
-                int row = (e.getY() - yOffset) / cellSize;
-                int col = (e.getX() - xOffset) / cellSize;
+                int row = Math.floorDiv(e.getY() - yOffset, cellSize);
+                int col = Math.floorDiv(e.getX() - xOffset, cellSize);
 
                 // Verifica se o clique foi dentro do tabuleiro
-                if (row >= 0 && row < Board.getBoardSize() &&
-                        col >= 0 && col < Board.getBoardSize()) {
+                if (row >= 0 && row < shown.getBoardSize() &&
+                        col >= 0 && col < shown.getBoardSize()) {
                     handleClick(row, col);
                 }
             }
@@ -65,51 +100,45 @@ public class BoardPanel extends JPanel {
     }
 
     /**
-     * Desenha o tabuleiro, peças e destaques.
+     * Desenha a grade em cache e, por cima, só as peças e destaques dentro da área a repintar.
      */
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
+        layoutGrid();
+
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g2d.setColor(getBackground());
+        g2d.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (cellSize == 0) return;
+        g2d.drawImage(gridImage, xOffset, yOffset, null);
 
         // Melhora a qualidade visual
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
                 RenderingHints.VALUE_ANTIALIAS_ON);
 
-        int size = Math.min(getWidth(), getHeight());
-        int cellSize = size / Board.getBoardSize();
-        int xOffset = (getWidth() - (cellSize * Board.getBoardSize())) / 2;
-        int yOffset = (getHeight() - (cellSize * Board.getBoardSize())) / 2;
-
-        // Fundo do tabuleiro
-        g2d.setColor(new Color(240, 240, 240));
-        g2d.fillRect(xOffset, yOffset, cellSize * Board.getBoardSize(),
-                cellSize * Board.getBoardSize());
-
-        // Grade e peças
-        for (int row = 0; row < Board.getBoardSize(); row++) {
-            for (int col = 0; col < Board.getBoardSize(); col++) {
-                int x = xOffset + (col * cellSize);
-                int y = yOffset + (row * cellSize);
-
-                // Célula
-                g2d.setColor(Color.WHITE);
-                g2d.fillRect(x, y, cellSize, cellSize);
-                g2d.setColor(Color.BLACK);
-                g2d.drawRect(x, y, cellSize, cellSize);
-
-                // Peça
-                Piece piece = board.getPiece(row, col);
-                if (piece.getType() != PieceType.EMPTY) {
-                    drawPiece(g2d, x, y, piece.getType(), cellSize);
+        // Peças, apenas nas células que cruzam a área a repintar
+        int n = shown.getBoardSize();
+        int firstRow = Math.max(0, Math.floorDiv(clip.y - yOffset, cellSize));
+        int lastRow = Math.min(n - 1, Math.floorDiv(clip.y + clip.height - yOffset, cellSize));
+        int firstCol = Math.max(0, Math.floorDiv(clip.x - xOffset, cellSize));
+        int lastCol = Math.min(n - 1, Math.floorDiv(clip.x + clip.width - xOffset, cellSize));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                PieceType type = shown.getPieceAt(row, col);
+                if (type != PieceType.EMPTY) {
+                    drawPiece(g2d, xOffset + col * cellSize, yOffset + row * cellSize, type, cellSize);
                 }
             }
         }
 
         // Destaca célula selecionada
         if (selectedRow != -1) {
-            g2d.setColor(Color.YELLOW);
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setColor(SELECTION_COLOR);
+            g2d.setStroke(SELECTION_STROKE);
             g2d.drawRect(xOffset + selectedCol * cellSize,
                     yOffset + selectedRow * cellSize,
                     cellSize, cellSize);
@@ -117,12 +146,46 @@ public class BoardPanel extends JPanel {
 
         // Destaca borda do tabuleiro se for a vez do usuário
         if (isMyTurn) {
-            g2d.setColor(Color.GREEN);
-            g2d.setStroke(new BasicStroke(3));
-            g2d.drawRect(xOffset - 2, yOffset - 2,
-                    cellSize * Board.getBoardSize() + 4,
-                    cellSize * Board.getBoardSize() + 4);
+            g2d.setColor(TURN_COLOR);
+            g2d.setStroke(TURN_STROKE);
+            g2d.drawRect(xOffset - 2, yOffset - 2, cellSize * n + 4, cellSize * n + 4);
+        }
+    }
+
+    /**
+     * Recalcula células e offsets; refaz a imagem da grade se o tamanho mudou.
+     */
+    private void layoutGrid() {
+        int n = shown.getBoardSize();
+        int newCellSize = Math.min(getWidth(), getHeight()) / n;
+        int newXOffset = (getWidth() - newCellSize * n) / 2;
+        int newYOffset = (getHeight() - newCellSize * n) / 2;
+        xOffset = newXOffset;
+        yOffset = newYOffset;
+        if (gridImage != null && newCellSize == cellSize && gridImage.getWidth() == newCellSize * n + 1) {
+            return;
+        }
+        cellSize = newCellSize;
+        if (cellSize == 0) {
+            gridImage = null;
+            return;
+        }
+
+        int side = cellSize * n + 1; // +1 para a última linha da grade
+        gridImage = new BufferedImage(side, side, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = gridImage.createGraphics();
+        g2d.setColor(BACKGROUND_COLOR);
+        g2d.fillRect(0, 0, side, side);
+        g2d.setStroke(THIN_STROKE);
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                g2d.setColor(CELL_COLOR);
+                g2d.fillRect(col * cellSize, row * cellSize, cellSize, cellSize);
+                g2d.setColor(GRID_COLOR);
+                g2d.drawRect(col * cellSize, row * cellSize, cellSize, cellSize);
+            }
         }
+        g2d.dispose();
     }
 
     /**
@@ -133,68 +196,151 @@ public class BoardPanel extends JPanel {
         int pieceSize = cellSize - (2 * padding);
 
         if (type == PieceType.PLAYER1) {
-            g2d.setColor(Color.BLACK);
+            g2d.setColor(PLAYER1_COLOR);
             g2d.fillOval(x + padding, y + padding, pieceSize, pieceSize);
         } else if (type == PieceType.PLAYER2) {
-            g2d.setColor(Color.RED);
+            g2d.setColor(PLAYER2_COLOR);
             g2d.fillOval(x + padding, y + padding, pieceSize, pieceSize);
-            g2d.setColor(Color.BLACK);
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setColor(GRID_COLOR);
+            g2d.setStroke(PIECE_STROKE);
             g2d.drawOval(x + padding, y + padding, pieceSize, pieceSize);
         }
     }
 
     /**
-     * Atualiza o tabuleiro e repinta o painel.
+     * Publica o tabuleiro para exibição. Pode ser chamado de qualquer thread; publicações
+     * seguidas antes da EDT processar a anterior viram uma só atualização.
+     */
+    public void publish(BoardSnapshot snapshot) {
+        latest.set(snapshot);
+        scheduleRefresh();
+    }
+
+    /**
+     * Copia e publica o tabuleiro; deve ser chamado pela thread que altera o Board.
      */
     public void updateBoard(Board newBoard) {
-        this.board = newBoard;
-        repaint();
+        publish(BoardSnapshot.of(newBoard));
     }
 
-    public Board getBoard() {
-        return board;
+    /**
+     * Tabuleiro atualmente exibido
+     */
+    public BoardSnapshot getBoard() {
+        return shown;
     }
 
+    /**
+     * Define a peça do usuário; só afeta a seleção, então não repinta.
+     */
     public void setCurrentPlayer(PieceType player) {
         this.currentPlayer = player;
-        repaint();
     }
 
+    /**
+     * Indica se é a vez do usuário. Pode ser chamado de qualquer thread.
+     */
     public void setMyTurn(boolean isMyTurn) {
-        this.isMyTurn = isMyTurn;
-        repaint();
+        this.requestedMyTurn = isMyTurn;
+        scheduleRefresh();
     }
 
     public void setBoardClickListener(BoardClickListener listener) {
         this.clickListener = listener;
     }
 
+    private void scheduleRefresh() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::refresh);
+        }
+    }
+
+    /**
+     * Na EDT: aplica o snapshot e a vez mais recentes, repintando só o que mudou
+     * (o tabuleiro inteiro se ele mudou de tamanho).
+     */
+    private void refresh() {
+        // Libera antes de ler: uma publicação durante a atualização agenda outra
+        refreshScheduled.set(false);
+        BoardSnapshot next = latest.get();
+        if (next != shown) {
+            BoardSnapshot previous = shown;
+            shown = next;
+            if (next.getBoardSize() != previous.getBoardSize()) {
+                gridImage = null;
+                selectedRow = -1;
+                selectedCol = -1;
+                repaint();
+            } else {
+                layoutGrid();
+                int n = next.getBoardSize();
+                for (int row = 0; row < n; row++) {
+                    for (int col = 0; col < n; col++) {
+                        if (next.getPieceAt(row, col) != previous.getPieceAt(row, col)) {
+                            repaintCell(row, col);
+                        }
+                    }
+                }
+            }
+        }
+        boolean myTurn = requestedMyTurn;
+        if (myTurn != isMyTurn) {
+            isMyTurn = myTurn;
+            repaintTurnBorder();
+        }
+    }
+
+    /**
+     * Repinta uma célula, com margem para o traço da seleção que passa da borda
+     */
+    private void repaintCell(int row, int col) {
+        if (cellSize == 0) {
+            repaint();
+            return;
+        }
+        repaint(xOffset + col * cellSize - 2, yOffset + row * cellSize - 2, cellSize + 5, cellSize + 5);
+    }
+
+    /**
+     * Repinta apenas as quatro faixas da borda que indica a vez
+     */
+    private void repaintTurnBorder() {
+        layoutGrid();
+        int side = cellSize * shown.getBoardSize();
+        int x = xOffset - TURN_BORDER;
+        int y = yOffset - TURN_BORDER;
+        int outer = side + 2 * TURN_BORDER;
+        repaint(x, y, outer, 2 * TURN_BORDER);
+        repaint(x, yOffset + side - TURN_BORDER, outer, 2 * TURN_BORDER);
+        repaint(x, y, 2 * TURN_BORDER, outer);
+        repaint(xOffset + side - TURN_BORDER, y, 2 * TURN_BORDER, outer);
+    }
+
     /**
      * Lógica de clique: seleção e movimentação de peças ou colocação na fase inicial.
      */
     private void handleClick(int row, int col) {
-        if (board.isSetupPhase()) {
+        if (shown.isSetupPhase()) {
             if (clickListener != null) {
                 clickListener.onPiecePlacement(row, col);
-                repaint();
             }
         } else {
             if (selectedRow == -1) {
                 // Seleciona peça do jogador atual
-                if (board.getPiece(row, col).getType() == currentPlayer) {
+                if (shown.getPieceAt(row, col) == currentPlayer) {
                     selectedRow = row;
                     selectedCol = col;
+                    repaintCell(row, col);
                 }
             } else {
                 // Tenta mover para célula destino
                 if (clickListener != null) {
                     clickListener.onMove(selectedRow, selectedCol, row, col);
                 }
+                repaintCell(selectedRow, selectedCol);
                 selectedRow = -1;
                 selectedCol = -1;
             }
-            repaint();
         }
     }
 }
\ No newline at end of file
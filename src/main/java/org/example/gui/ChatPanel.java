@@ -6,9 +6,16 @@ import java.awt.event.*;
 
 /**
  * Painel de chat para troca de mensagens entre os jogadores.
+ * Mantém só as últimas mensagens (ver {@link MessageHistoryModel}) e desenha apenas as visíveis.
  */
 public class ChatPanel extends JPanel {
-    private JTextArea chatArea;         // Área de exibição das mensagens
+    private static final long serialVersionUID = 1L;
+
+    // Mensagens mantidas por padrão; pode ser alterado com -Dseega.chat.retention=N
+    public static final int DEFAULT_RETENTION = Integer.getInteger("seega.chat.retention", 500);
+
+    private MessageHistoryModel history; // Últimas mensagens
+    private JList<String> chatList;     // Lista virtualizada das mensagens
     private JTextField messageField;    // Campo de digitação
     private JButton sendButton;         // Botão de envio
     private ChatListener chatListener;  // Listener para envio de mensagens
@@ -21,16 +28,25 @@ public class ChatPanel extends JPanel {
     }
 
     /**
-     * Construtor: inicializa componentes e layout.
+     * Construtor: inicializa componentes e layout com a retenção padrão.
      */
     public ChatPanel() {
+        this(DEFAULT_RETENTION);
+    }
+
+    /**
+     * Construtor: inicializa componentes e layout.
+     * @param retention quantidade máxima de mensagens mantidas
+     */
+    public ChatPanel(int retention) {
         setPreferredSize(new Dimension(200, 400));
         setLayout(new BorderLayout());
 
-        chatArea = new JTextArea();
-        chatArea.setEditable(false);
-        chatArea.setLineWrap(true);
-        JScrollPane scrollPane = new JScrollPane(chatArea);
+        history = new MessageHistoryModel(retention);
+        chatList = new JList<>(history);
+        LogPanel.configureList(chatList, "Oponente: mensagem de exemplo");
+        history.setAfterFlush(() -> LogPanel.scrollToEnd(chatList, history));
+        JScrollPane scrollPane = new JScrollPane(chatList);
 
         messageField = new JTextField();
         sendButton = new JButton("Enviar");
@@ -65,11 +81,10 @@ public class ChatPanel extends JPanel {
     }
 
     /**
-     * Adiciona uma mensagem ao chat (exibição para o usuário).
+     * Adiciona uma mensagem ao chat (exibição para o usuário). Pode ser chamado de qualquer thread.
      */
     public void addMessage(String message) {
-        chatArea.append(message + "\n");
-        chatArea.setCaretPosition(chatArea.getDocument().getLength());
+        history.add(message);
     }
 
     /**
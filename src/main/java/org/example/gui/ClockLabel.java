@@ -0,0 +1,113 @@
+package org.example.gui;
+
+import org.example.common.PieceType;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Mostra o relógio da partida informado pelo servidor (mensagem CLOCK).
+ * O servidor manda os tempos no início de cada turno; entre uma mensagem e outra o tempo de quem
+ * está na vez é descontado localmente, só para exibição (quem decide a queda é o servidor).
+ * Usado apenas na EDT.
+ */
+public class ClockLabel extends JLabel {
+    private static final long serialVersionUID = 1L;
+
+    private final Timer ticker = new Timer(200, e -> refresh());
+    private PieceType me;
+    private PieceType running;          // Quem está com o relógio; null parado
+    private long periodMillis;
+    private final long[] mainMillis = new long[2];
+    private final int[] periods = new int[2];
+    private long receivedAt;            // System.nanoTime() do último CLOCK
+
+    public ClockLabel() {
+        super(" ", SwingConstants.RIGHT);
+        setFont(new Font("Monospaced", Font.BOLD, 14));
+        setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 10));
+    }
+
+    /**
+     * Atualiza com os dados do CLOCK ("vez,período,principal1,períodos1,principal2,períodos2")
+     * @param me peça do jogador local
+     */
+    public void update(String clockData, PieceType me) {
+        String[] parts = clockData.split(",");
+        if (parts.length < 6) {
+            return;
+        }
+        try {
+            running = "NONE".equals(parts[0]) ? null : PieceType.valueOf(parts[0]);
+            periodMillis = Long.parseLong(parts[1]);
+            mainMillis[0] = Long.parseLong(parts[2]);
+            periods[0] = Integer.parseInt(parts[3]);
+            mainMillis[1] = Long.parseLong(parts[4]);
+            periods[1] = Integer.parseInt(parts[5]);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        this.me = me;
+        receivedAt = System.nanoTime();
+        if (running != null) {
+            ticker.start();
+        } else {
+            ticker.stop();
+        }
+        refresh();
+    }
+
+    /**
+     * Congela o relógio (fim de partida)
+     */
+    public void stop() {
+        ticker.stop();
+        running = null;
+    }
+
+    @Override
+    public void removeNotify() {
+        ticker.stop();
+        super.removeNotify();
+    }
+
+    private void refresh() {
+        if (me == null) {
+            return;
+        }
+        PieceType opponent = me == PieceType.PLAYER1 ? PieceType.PLAYER2 : PieceType.PLAYER1;
+        setText("Você " + format(me) + "   Oponente " + format(opponent));
+    }
+
+    private String format(PieceType side) {
+        int i = side == PieceType.PLAYER1 ? 0 : 1;
+        long main = mainMillis[i];
+        int left = periods[i];
+        long period = periodMillis;
+        if (side == running) {
+            long elapsed = (System.nanoTime() - receivedAt) / 1_000_000;
+            if (elapsed <= main) {
+                main -= elapsed;
+            } else if (period > 0) {
+                long over = elapsed - main;
+                main = 0;
+                left = (int) Math.max(0, left - over / period);
+                period -= over % period;
+            } else {
+                main = 0;
+            }
+        }
+        String text = (side == running ? "▶ " : "  ") + mmss(main);
+        if (main == 0 && left > 0) {
+            text = (side == running ? "▶ " : "  ") + mmss(period) + " (" + left + "×)";
+        } else if (left > 0) {
+            text += " + " + left + "×" + periodMillis / 1000 + "s";
+        }
+        return text;
+    }
+
+    private static String mmss(long millis) {
+        long seconds = (millis + 999) / 1000;
+        return String.format("%d:%02d", seconds / 60, seconds % 60);
+    }
+}
@@ -8,12 +8,16 @@ import java.awt.*;
  * Contém o tabuleiro, chat, log de eventos, botões de controle e status.
  */
 public class GameWindow extends JFrame {
+    private static final long serialVersionUID = 1L;
+
     private BoardPanel boardPanel;     // Painel do tabuleiro
     private ChatPanel chatPanel;       // Painel de chat
     private LogPanel logPanel;         // Painel de log de eventos
     private JButton surrenderButton;   // Botão para desistir
+    private JButton takebackButton;    // Botão para voltar o último lance
     private JButton closeButton;       // Botão para fechar o jogo
     private JLabel statusLabel;        // Label de status (ex: "Aguardando conexão...")
+    private ClockLabel clockLabel;     // Relógio da partida
     private Runnable onCloseHandler;   // Handler para fechamento customizado
 
     /**
@@ -29,8 +33,10 @@ public class GameWindow extends JFrame {
         chatPanel = new ChatPanel();
         logPanel = new LogPanel();
         surrenderButton = new JButton("Desistir");
+        takebackButton = new JButton("Voltar lance");
         closeButton = new JButton("Fechar Jogo");
         statusLabel = new JLabel("Aguardando conexão...", SwingConstants.CENTER);
+        clockLabel = new ClockLabel();
 
         // Painel central com o tabuleiro
         JPanel gamePanel = new JPanel(new BorderLayout(10, 10));
@@ -44,11 +50,17 @@ public class GameWindow extends JFrame {
 
         // Painel inferior com botões
         JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        bottomPanel.add(takebackButton);
         bottomPanel.add(surrenderButton);
         bottomPanel.add(closeButton);
 
+        // Painel superior com status e relógio
+        JPanel topPanel = new JPanel(new BorderLayout(10, 10));
+        topPanel.add(statusLabel, BorderLayout.CENTER);
+        topPanel.add(clockLabel, BorderLayout.EAST);
+
         // Adiciona componentes à janela
-        add(statusLabel, BorderLayout.NORTH);
+        add(topPanel, BorderLayout.NORTH);
         add(gamePanel, BorderLayout.CENTER);
         add(bottomPanel, BorderLayout.SOUTH);
 
@@ -69,6 +81,7 @@ public class GameWindow extends JFrame {
     public LogPanel getLogPanel() { return logPanel; }
     public BoardPanel getBoardPanel() { return boardPanel; }
     public ChatPanel getChatPanel() { return chatPanel; }
+    public ClockLabel getClockLabel() { return clockLabel; }
 
     // Exibe mensagem de erro em popup
     public void showError(String message) {
@@ -98,6 +111,11 @@ public class GameWindow extends JFrame {
         surrenderButton.addActionListener(e -> listener.run());
     }
 
+    // Define listener para o botão de voltar lance
+    public void setTakebackListener(Runnable listener) {
+        takebackButton.addActionListener(e -> listener.run());
+    }
+
     // Atualiza o texto do status
     public void updateStatus(String status) {
         statusLabel.setText(status);
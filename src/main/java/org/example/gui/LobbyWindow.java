@@ -10,12 +10,16 @@ import java.net.InetAddress;
  * Janela de lobby para escolha de modo (hospedar/conectar) e tipo de comunicação.
  */
 public class LobbyWindow extends JFrame {
+    private static final long serialVersionUID = 1L;
+
     private Runnable onHostSelected;                // Handler para ação de hospedar
     private Runnable onJoinSelected;                // Handler para ação de conectar
     private String selectedIP;                      // IP selecionado
     private int selectedPort;                       // Porta selecionada
     private CommunicationType selectedCommunicationType; // Tipo de comunicação selecionado
     private JComboBox<String> communicationTypeCombo;    // ComboBox para seleção do tipo
+    private JTextField playerNameField;                  // Nome do jogador (identidade no ranking)
+    private JComboBox<String> boardSizeCombo;            // Tamanho do tabuleiro (5x5, 7x7, 9x9)
 
     /**
      * Construtor: inicializa e organiza os componentes do lobby.
@@ -51,17 +55,35 @@ public class LobbyWindow extends JFrame {
         gbc.gridwidth = 2;
         mainPanel.add(communicationPanel, gbc);
 
+        // Painel do nome do jogador
+        JPanel namePanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        namePanel.add(new JLabel("Seu nome:"));
+        playerNameField = new JTextField(System.getProperty("user.name", ""), 15);
+        namePanel.add(playerNameField);
+
+        gbc.gridy = 2;
+        mainPanel.add(namePanel, gbc);
+
+        // Painel do tamanho do tabuleiro
+        JPanel sizePanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        sizePanel.add(new JLabel("Tabuleiro:"));
+        boardSizeCombo = new JComboBox<>(new String[]{"5x5", "7x7", "9x9"});
+        sizePanel.add(boardSizeCombo);
+
+        gbc.gridy = 3;
+        mainPanel.add(sizePanel, gbc);
+
         // Botão Hospedar
         JButton hostButton = new JButton("Hospedar Partida");
         hostButton.setPreferredSize(new Dimension(200, 40));
-        gbc.gridy = 2;
+        gbc.gridy = 4;
         gbc.gridwidth = 2;
         mainPanel.add(hostButton, gbc);
 
         // Botão Conectar
         JButton joinButton = new JButton("Conectar a uma Partida");
         joinButton.setPreferredSize(new Dimension(200, 40));
-        gbc.gridy = 3;
+        gbc.gridy = 5;
         mainPanel.add(joinButton, gbc);
 
         add(mainPanel, BorderLayout.CENTER);
@@ -181,4 +203,6 @@ public class LobbyWindow extends JFrame {
     public String getSelectedIP() { return selectedIP; }
     public int getSelectedPort() { return selectedPort; }
     public CommunicationType getSelectedCommunicationType() { return selectedCommunicationType; }
+    public String getPlayerName() { return playerNameField.getText().trim(); }
+    public int getSelectedBoardSize() { return 5 + 2 * boardSizeCombo.getSelectedIndex(); }
 }
\ No newline at end of file
@@ -2,50 +2,92 @@ package org.example.gui;
 
 import javax.swing.*;
 import java.awt.*;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * Painel de log para exibir eventos do jogo com timestamp.
+ * Mantém só as últimas linhas (ver {@link MessageHistoryModel}) e desenha apenas as visíveis.
  */
 public class LogPanel extends JPanel {
-    private JTextArea logArea;           // Área de texto para exibir logs
-    private SimpleDateFormat timeFormat; // Formato de hora para timestamp
+    private static final long serialVersionUID = 1L;
+
+    // Linhas mantidas por padrão; pode ser alterado com -Dseega.log.retention=N
+    public static final int DEFAULT_RETENTION = Integer.getInteger("seega.log.retention", 1000);
+
+    private final MessageHistoryModel history;    // Últimas linhas do log
+    private final JList<String> logList;          // Lista virtualizada (desenha só as linhas visíveis)
+    private final DateTimeFormatter timeFormat;   // Formato de hora para timestamp (seguro entre threads)
 
     /**
-     * Construtor: inicializa componentes e layout.
+     * Construtor: inicializa componentes e layout com a retenção padrão.
      */
     public LogPanel() {
+        this(DEFAULT_RETENTION);
+    }
+
+    /**
+     * Construtor: inicializa componentes e layout.
+     * @param retention quantidade máxima de linhas mantidas
+     */
+    public LogPanel(int retention) {
         setLayout(new BorderLayout());
         setBorder(BorderFactory.createTitledBorder("Log de Eventos"));
 
-        timeFormat = new SimpleDateFormat("HH:mm:ss");
+        timeFormat = DateTimeFormatter.ofPattern("HH:mm:ss");
+        history = new MessageHistoryModel(retention);
 
-        logArea = new JTextArea();
-        logArea.setEditable(false);
-        logArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        logList = new JList<>(history);
+        logList.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        configureList(logList, "[00:00:00] Mensagem de exemplo");
 
-        JScrollPane scrollPane = new JScrollPane(logArea);
+        JScrollPane scrollPane = new JScrollPane(logList);
         scrollPane.setPreferredSize(new Dimension(200, 150));
+        history.setAfterFlush(() -> scrollToEnd(logList, history));
 
         add(scrollPane, BorderLayout.CENTER);
     }
 
     /**
-     * Adiciona uma mensagem ao log com timestamp.
+     * Adiciona uma mensagem ao log com timestamp. Pode ser chamado de qualquer thread.
      */
     public void addLog(String message) {
-        String timestamp = timeFormat.format(new Date());
-        SwingUtilities.invokeLater(() -> {
-            logArea.append(String.format("[%s] %s%n", timestamp, message));
-            logArea.setCaretPosition(logArea.getDocument().getLength());
-        });
+        history.add(String.format("[%s] %s", timeFormat.format(LocalTime.now()), message));
     }
 
     /**
      * Limpa o log.
      */
     public void clear() {
-        logArea.setText("");
+        SwingUtilities.invokeLater(history::clear);
+    }
+
+    /**
+     * Configura a lista de histórico: tamanho de célula fixo pelo protótipo (o JList não mede
+     * todas as linhas) e tooltip com o texto inteiro das linhas cortadas.
+     */
+    static void configureList(JList<String> list, String prototype) {
+        list.setPrototypeCellValue(prototype);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                setToolTipText(String.valueOf(value));
+                return this;
+            }
+        });
+        ToolTipManager.sharedInstance().registerComponent(list);
+    }
+
+    /**
+     * Mostra a última linha depois de cada lote
+     */
+    static void scrollToEnd(JList<String> list, MessageHistoryModel model) {
+        int last = model.getSize() - 1;
+        if (last >= 0) {
+            list.ensureIndexIsVisible(last);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package org.example.gui;
+
+import javax.swing.*;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Modelo de lista com histórico limitado para os painéis de log e chat.
+ *
+ * As linhas ficam num buffer circular de capacidade fixa: ao encher, as mais antigas são
+ * descartadas. {@link #add(String)} pode ser chamado de qualquer thread; as linhas entram numa
+ * fila e são aplicadas em lote por uma única tarefa na EDT, que dispara um evento por lote.
+ * Exibido num JList com altura de linha fixa, só as linhas visíveis são desenhadas.
+ */
+public class MessageHistoryModel extends AbstractListModel<String> {
+    private static final long serialVersionUID = 1L;
+
+    private final String[] lines;   // Buffer circular (só a EDT acessa)
+    private int head;               // Posição da linha mais antiga
+    private int size;               // Linhas armazenadas
+
+    private final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private Runnable afterFlush;    // Executado na EDT depois de cada lote (ex: rolar até o fim)
+
+    /**
+     * @param capacity quantidade máxima de linhas mantidas
+     */
+    public MessageHistoryModel(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva");
+        }
+        this.lines = new String[capacity];
+    }
+
+    /**
+     * Enfileira uma linha; pode ser chamado de qualquer thread
+     */
+    public void add(String line) {
+        pending.add(line);
+        if (flushScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::flush);
+        }
+    }
+
+    /**
+     * Remove todas as linhas (na EDT)
+     */
+    public void clear() {
+        pending.clear();
+        int removed = size;
+        head = 0;
+        size = 0;
+        Arrays.fill(lines, null);
+        if (removed > 0) {
+            fireIntervalRemoved(this, 0, removed - 1);
+        }
+    }
+
+    public int getCapacity() {
+        return lines.length;
+    }
+
+    public void setAfterFlush(Runnable afterFlush) {
+        this.afterFlush = afterFlush;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        return lines[(head + index) % lines.length];
+    }
+
+    /**
+     * Na EDT: aplica as linhas pendentes, descartando as mais antigas que não cabem
+     */
+    private void flush() {
+        flushScheduled.set(false);
+        int initialSize = size;
+        int added = 0;
+        int evicted = 0;
+        String line;
+        while ((line = pending.poll()) != null) {
+            if (size == lines.length) {
+                lines[head] = line;
+                head = (head + 1) % lines.length;
+                evicted++;
+            } else {
+                lines[(head + size) % lines.length] = line;
+                size++;
+            }
+            added++;
+        }
+        if (added == 0) {
+            return;
+        }
+        // Linhas antigas saíram do início (no máximo as que já existiam); as novas ocupam o fim
+        int removedOld = Math.min(evicted, initialSize);
+        if (removedOld > 0) {
+            fireIntervalRemoved(this, 0, removedOld - 1);
+        }
+        fireIntervalAdded(this, initialSize - removedOld, size - 1);
+        if (afterFlush != null) {
+            afterFlush.run();
+        }
+    }
+}
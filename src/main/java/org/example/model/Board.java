@@ -3,10 +3,7 @@ package org.example.model;
 import org.example.common.PieceType;
 
 import java.util.ArrayList;
-import java.util.List;
-
-
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -14,34 +11,110 @@ import java.util.List;
  * Gerencia o estado das peças, regras de movimentação, capturas e fases do jogo.
  */
 public class Board {
-    // Tamanho fixo do tabuleiro (5x5)
-    private static final int BOARD_SIZE = 5;
+    // Tamanho padrão do tabuleiro (5x5); também são suportados 7x7 e 9x9
+    public static final int DEFAULT_SIZE = 5;
+    // Tamanho deste tabuleiro e suas tabelas de vizinhança pré-calculadas
+    private final int size;
+    private final BoardGeometry geometry;
     // Matriz de peças do tabuleiro
     private Piece[][] pieces;
     // Indica se está na fase inicial de colocação de peças
     private boolean isSetupPhase = true;
     // Quantidade de peças restantes para cada jogador colocar na fase inicial
-    private int player1PiecesToPlace = 12;
-    private int player2PiecesToPlace = 12;
+    // (metade das casas menos o centro: 12 no 5x5, 24 no 7x7, 40 no 9x9)
+    private int player1PiecesToPlace;
+    private int player2PiecesToPlace;
     // Contador de peças colocadas no turno atual
     private int piecesPlacedThisTurn = 0;
+    // Casa da peça que capturou e ainda pode capturar de novo: o turno continua com ela (-1 se não houver)
+    private int chainSquare = -1;
     // Quantidade de peças que cada jogador pode colocar por turno na fase inicial
     private static final int PIECES_PER_TURN = 2;
 
+    // Direções ortogonais (cima, baixo, esquerda, direita), na mesma ordem do BoardGeometry
+    private static final int[] DIR_ROW = {-1, 1, 0, 0};
+    private static final int[] DIR_COL = {0, 0, -1, 1};
+
+    // Layout de cada registro da pilha de desfazer (um int por lance):
+    // origem (7 bits, NO_SQUARE na colocação), destino (7 bits), direções capturadas (4 bits),
+    // peças colocadas no turno antes do lance (2 bits), fase de setup antes do lance (1 bit), jogador (1 bit)
+    // e se havia sequência de capturas em andamento (1 bit; nesse caso ela estava na origem)
+    private static final int SQUARE_BITS = 7;
+    private static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+    private static final int NO_SQUARE = SQUARE_MASK;
+    private static final int TO_SHIFT = SQUARE_BITS;
+    private static final int CAPTURE_SHIFT = 2 * SQUARE_BITS;
+    private static final int PLACED_SHIFT = CAPTURE_SHIFT + 4;
+    private static final int SETUP_SHIFT = PLACED_SHIFT + 2;
+    private static final int PLAYER_SHIFT = SETUP_SHIFT + 1;
+    private static final int CHAIN_SHIFT = PLAYER_SHIFT + 1;
+    // Pilha de desfazer pré-alocada; cresce só se a partida passar da capacidade
+    private int[] undoStack = new int[256];
+    private int undoSize;
+
     /**
-     * Construtor: inicializa o tabuleiro vazio
+     * Construtor: inicializa o tabuleiro 5x5 vazio
      */
     public Board() {
-        pieces = new Piece[BOARD_SIZE][BOARD_SIZE];
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Construtor: inicializa um tabuleiro vazio do tamanho informado (ímpar, de 3 a 9)
+     */
+    public Board(int size) {
+        this.geometry = BoardGeometry.of(size);
+        this.size = size;
+        pieces = new Piece[size][size];
+        player1PiecesToPlace = (size * size - 1) / 2;
+        player2PiecesToPlace = player1PiecesToPlace;
         initializeBoard();
     }
 
+    /**
+     * Construtor de cópia: cria um tabuleiro independente com o mesmo estado
+     */
+    public Board(Board other) {
+        size = other.size;
+        geometry = other.geometry;
+        pieces = new Piece[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                pieces[row][col] = new Piece(other.pieces[row][col].getType(), row, col);
+            }
+        }
+        isSetupPhase = other.isSetupPhase;
+        player1PiecesToPlace = other.player1PiecesToPlace;
+        player2PiecesToPlace = other.player2PiecesToPlace;
+        piecesPlacedThisTurn = other.piecesPlacedThisTurn;
+        chainSquare = other.chainSquare;
+    }
+
+    /**
+     * Cria um tabuleiro a partir de um estado compacto (usado por GameState.toBoard)
+     */
+    Board(GameState state) {
+        geometry = state.getGeometry();
+        size = geometry.getSize();
+        pieces = new Piece[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                pieces[row][col] = new Piece(state.getPieceAt(row, col), row, col);
+            }
+        }
+        isSetupPhase = state.isSetupPhase();
+        player1PiecesToPlace = state.getPiecesToPlace(PieceType.PLAYER1);
+        player2PiecesToPlace = state.getPiecesToPlace(PieceType.PLAYER2);
+        piecesPlacedThisTurn = state.getPiecesPlacedThisTurn();
+        chainSquare = state.getChainSquare();
+    }
+
     /**
      * Preenche o tabuleiro com peças vazias
      */
     private void initializeBoard() {
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            for (int col = 0; col < BOARD_SIZE; col++) {
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
                 pieces[row][col] = new Piece(PieceType.EMPTY, row, col);
             }
         }
@@ -65,6 +138,13 @@ public class Board {
         }
     }
 
+    /**
+     * Retorna quantas peças o jogador ainda tem para colocar na fase inicial
+     */
+    public int getPiecesToPlace(PieceType playerType) {
+        return playerType == PieceType.PLAYER1 ? player1PiecesToPlace : player2PiecesToPlace;
+    }
+
     /**
      * Tenta colocar uma peça no tabuleiro durante a fase inicial
      * @return true se conseguiu colocar, false caso contrário
@@ -79,7 +159,7 @@ public class Board {
             return false;
         }
         // Não pode colocar no centro do tabuleiro na fase inicial
-        if (row == BOARD_SIZE/2 && col == BOARD_SIZE/2) {
+        if (row == size/2 && col == size/2) {
             return false;
         }
 
@@ -128,9 +208,54 @@ public class Board {
         if (rowDiff + colDiff != 1) {
             return false;
         }
+        // No meio de uma sequência de capturas só a mesma peça move, e capturando de novo
+        if (chainSquare >= 0) {
+            return fromRow * size + fromCol == chainSquare
+                    && wouldCapture(fromRow * size + fromCol, toRow * size + toCol, playerType);
+        }
         return true;
     }
 
+    /**
+     * Indica se mover a peça de "from" para a casa vazia "to" captura alguma peça do oponente
+     */
+    private boolean wouldCapture(int from, int to, PieceType playerType) {
+        int center = geometry.getCenter();
+        for (int dir = 0; dir < BoardGeometry.DIRECTIONS; dir++) {
+            int end = geometry.jump(to, dir);
+            if (end < 0 || end == from) continue;
+            int middle = geometry.step(to, dir);
+            PieceType middleType = pieces[middle / size][middle % size].getType();
+            if (middle != center && middleType != PieceType.EMPTY && middleType != playerType
+                    && pieces[end / size][end % size].getType() == playerType) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indica se a peça na casa "square" tem algum movimento que captura
+     */
+    private boolean hasCaptureStep(int square, PieceType playerType) {
+        for (int dir = 0; dir < BoardGeometry.DIRECTIONS; dir++) {
+            int to = geometry.step(square, dir);
+            if (to >= 0 && pieces[to / size][to % size].getType() == PieceType.EMPTY
+                    && wouldCapture(square, to, playerType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Casa (linha * tamanho + coluna) da peça que precisa continuar capturando, ou -1.
+     * Enquanto houver sequência em andamento o turno não passa.
+     */
+    public int getChainSquare() {
+        return chainSquare;
+    }
+
     /**
      * Move uma peça de uma posição para outra
      */
@@ -142,6 +267,7 @@ public class Board {
 
     /**
      * Verifica e retorna as peças capturadas após um movimento
+     * (a peça na casa central não pode ser capturada)
      * @return lista de peças capturadas
      */
     public List<Piece> checkCaptures(int row, int col, PieceType playerType) {
@@ -156,7 +282,8 @@ public class Board {
             int c2 = col + dir[1] * 2;
 
             // Verifica se as posições são válidas
-            if (isValidPosition(r1, c1) && isValidPosition(r2, c2)) {
+            boolean isCenter = r1 == size / 2 && c1 == size / 2;
+            if (!isCenter && isValidPosition(r1, c1) && isValidPosition(r2, c2)) {
                 Piece middle = pieces[r1][c1];
                 Piece end = pieces[r2][c2];
 
@@ -181,30 +308,249 @@ public class Board {
     }
 
     /**
-     * Verifica se o jogador ainda tem movimentos válidos
+     * Verifica se o jogador ainda tem movimentos válidos no início de um turno
+     * (false durante a fase de colocação)
      */
     public boolean hasValidMoves(PieceType playerType) {
-        for (int fromRow = 0; fromRow < BOARD_SIZE; fromRow++) {
-            for (int fromCol = 0; fromCol < BOARD_SIZE; fromCol++) {
-                if (pieces[fromRow][fromCol].getType() == playerType) {
-                    for (int toRow = 0; toRow < BOARD_SIZE; toRow++) {
-                        for (int toCol = 0; toCol < BOARD_SIZE; toCol++) {
-                            if (isValidMove(fromRow, fromCol, toRow, toCol, playerType)) {
-                                return true;
-                            }
+        if (isSetupPhase) {
+            return false;
+        }
+        // Basta uma peça do jogador com uma casa vizinha vazia
+        for (int sq = 0; sq < size * size; sq++) {
+            if (pieces[sq / size][sq % size].getType() != playerType) continue;
+            for (int dir = 0; dir < BoardGeometry.DIRECTIONS; dir++) {
+                int to = geometry.step(sq, dir);
+                if (to >= 0 && pieces[to / size][to % size].getType() == PieceType.EMPTY) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lista os lances válidos do jogador: colocações na fase inicial ou movimentos depois dela
+     * (só os passos com captura da mesma peça se houver sequência em andamento)
+     */
+    public List<Move> getValidMoves(PieceType playerType) {
+        List<Move> moves = new ArrayList<>();
+        if (isSetupPhase) {
+            if (canPlacePiece(playerType)) {
+                for (int row = 0; row < size; row++) {
+                    for (int col = 0; col < size; col++) {
+                        boolean isCenter = row == size / 2 && col == size / 2;
+                        if (!isCenter && pieces[row][col].getType() == PieceType.EMPTY) {
+                            moves.add(Move.placement(row, col));
                         }
                     }
                 }
             }
+            return moves;
         }
-        return false;
+
+        for (int sq = 0; sq < size * size; sq++) {
+            int row = sq / size;
+            int col = sq % size;
+            if (pieces[row][col].getType() != playerType) continue;
+            if (chainSquare >= 0 && sq != chainSquare) continue;
+            for (int dir = 0; dir < BoardGeometry.DIRECTIONS; dir++) {
+                int to = geometry.step(sq, dir);
+                if (to >= 0 && pieces[to / size][to % size].getType() == PieceType.EMPTY
+                        && (chainSquare < 0 || wouldCapture(sq, to, playerType))) {
+                    moves.add(new Move(row, col, to / size, to % size));
+                }
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Conta as peças do jogador no tabuleiro
+     */
+    public int countPieces(PieceType playerType) {
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (pieces[row][col].getType() == playerType) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Aplica um lance (colocação se fromRow == -1) com capturas, guardando o necessário para desfazê-lo.
+     * Não aloca objetos, então pode ser usado por buscas que exploram milhões de posições no mesmo Board.
+     * @return quantidade de peças capturadas, ou -1 se o lance for inválido (nada muda nesse caso)
+     */
+    public int makeMove(int fromRow, int fromCol, int toRow, int toCol, PieceType playerType) {
+        if (!isValidPosition(toRow, toCol)) {
+            return -1;
+        }
+        int placedBefore = piecesPlacedThisTurn;
+        boolean setupBefore = isSetupPhase;
+        boolean chainBefore = chainSquare >= 0;
+        int record;
+
+        if (fromRow == -1) {
+            if (!placePiece(toRow, toCol, playerType)) {
+                return -1;
+            }
+            record = NO_SQUARE;
+        } else {
+            if (!isValidPosition(fromRow, fromCol) || !isValidMove(fromRow, fromCol, toRow, toCol, playerType)) {
+                return -1;
+            }
+            movePiece(fromRow, fromCol, toRow, toCol);
+            record = fromRow * size + fromCol;
+        }
+
+        int capturedDirections = 0;
+        int captured = 0;
+        if (fromRow != -1) {
+            int to = toRow * size + toCol;
+            int center = geometry.getCenter();
+            for (int dir = 0; dir < BoardGeometry.DIRECTIONS; dir++) {
+                int end = geometry.jump(to, dir);
+                if (end >= 0 && geometry.step(to, dir) != center) {
+                    int middle = geometry.step(to, dir);
+                    Piece middlePiece = pieces[middle / size][middle % size];
+                    PieceType middleType = middlePiece.getType();
+                    if (middleType != PieceType.EMPTY && middleType != playerType
+                            && pieces[end / size][end % size].getType() == playerType) {
+                        middlePiece.setType(PieceType.EMPTY);
+                        capturedDirections |= 1 << dir;
+                        captured++;
+                    }
+                }
+            }
+            // Se capturou e ainda pode capturar, o turno continua com a mesma peça
+            chainSquare = captured > 0 && hasCaptureStep(to, playerType) ? to : -1;
+        }
+
+        record |= (toRow * size + toCol) << TO_SHIFT
+                | capturedDirections << CAPTURE_SHIFT
+                | placedBefore << PLACED_SHIFT
+                | (setupBefore ? 1 : 0) << SETUP_SHIFT
+                | (playerType == PieceType.PLAYER2 ? 1 : 0) << PLAYER_SHIFT
+                | (chainBefore ? 1 : 0) << CHAIN_SHIFT;
+        if (undoSize == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoSize * 2);
+        }
+        undoStack[undoSize++] = record;
+        return captured;
+    }
+
+    /**
+     * Aplica um lance com capturas e registro para desfazer
+     * @return quantidade de peças capturadas, ou -1 se o lance for inválido
+     */
+    public int makeMove(Move move, PieceType playerType) {
+        return makeMove(move.getFromRow(), move.getFromCol(), move.getToRow(), move.getToCol(), playerType);
+    }
+
+    /**
+     * Desfaz o último lance feito com makeMove, devolvendo as peças capturadas e os contadores da fase inicial
+     * @return jogador que tinha feito o lance, ou null se não houver o que desfazer
+     */
+    public PieceType unmakeMove() {
+        if (undoSize == 0) {
+            return null;
+        }
+        int record = undoStack[--undoSize];
+        int from = record & SQUARE_MASK;
+        int to = record >>> TO_SHIFT & SQUARE_MASK;
+        int capturedDirections = record >>> CAPTURE_SHIFT & 0xF;
+        PieceType player = (record >>> PLAYER_SHIFT & 1) == 0 ? PieceType.PLAYER1 : PieceType.PLAYER2;
+        PieceType opponent = player == PieceType.PLAYER1 ? PieceType.PLAYER2 : PieceType.PLAYER1;
+        int toRow = to / size;
+        int toCol = to % size;
+
+        if (from == NO_SQUARE) {
+            pieces[toRow][toCol].setType(PieceType.EMPTY);
+            if (player == PieceType.PLAYER1) {
+                player1PiecesToPlace++;
+            } else {
+                player2PiecesToPlace++;
+            }
+        } else {
+            pieces[toRow][toCol].setType(PieceType.EMPTY);
+            pieces[from / size][from % size].setType(player);
+            for (int dir = 0; dir < DIR_ROW.length; dir++) {
+                if ((capturedDirections >>> dir & 1) != 0) {
+                    pieces[toRow + DIR_ROW[dir]][toCol + DIR_COL[dir]].setType(opponent);
+                }
+            }
+        }
+        piecesPlacedThisTurn = record >>> PLACED_SHIFT & 3;
+        isSetupPhase = (record >>> SETUP_SHIFT & 1) != 0;
+        chainSquare = (record >>> CHAIN_SHIFT & 1) != 0 ? from : -1;
+        return player;
+    }
+
+    /**
+     * Último lance registrado por makeMove, ou null se a pilha estiver vazia
+     */
+    public Move getLastMove() {
+        if (undoSize == 0) {
+            return null;
+        }
+        int record = undoStack[undoSize - 1];
+        int from = record & SQUARE_MASK;
+        int to = record >>> TO_SHIFT & SQUARE_MASK;
+        if (from == NO_SQUARE) {
+            return Move.placement(to / size, to % size);
+        }
+        return new Move(from / size, from % size, to / size, to % size);
+    }
+
+    /**
+     * Peças capturadas pelo último lance registrado por makeMove
+     */
+    public List<Piece> getLastCaptures() {
+        List<Piece> captured = new ArrayList<>();
+        if (undoSize == 0) {
+            return captured;
+        }
+        int record = undoStack[undoSize - 1];
+        int from = record & SQUARE_MASK;
+        if (from == NO_SQUARE) {
+            return captured;
+        }
+        int to = record >>> TO_SHIFT & SQUARE_MASK;
+        int capturedDirections = record >>> CAPTURE_SHIFT & 0xF;
+        PieceType opponent = (record >>> PLAYER_SHIFT & 1) == 0 ? PieceType.PLAYER2 : PieceType.PLAYER1;
+        for (int dir = 0; dir < DIR_ROW.length; dir++) {
+            if ((capturedDirections >>> dir & 1) != 0) {
+                captured.add(new Piece(opponent, to / size + DIR_ROW[dir], to % size + DIR_COL[dir]));
+            }
+        }
+        return captured;
+    }
+
+    /**
+     * Jogador que fez o último lance registrado por makeMove, ou null se a pilha estiver vazia
+     */
+    public PieceType getLastMovePlayer() {
+        if (undoSize == 0) {
+            return null;
+        }
+        return (undoStack[undoSize - 1] >>> PLAYER_SHIFT & 1) == 0 ? PieceType.PLAYER1 : PieceType.PLAYER2;
+    }
+
+    /**
+     * Quantidade de lances que podem ser desfeitos
+     */
+    public int getUndoDepth() {
+        return undoSize;
     }
 
     /**
      * Verifica se uma posição está dentro dos limites do tabuleiro
      */
     private boolean isValidPosition(int row, int col) {
-        return row >= 0 && row < BOARD_SIZE && col >= 0 && col < BOARD_SIZE;
+        return row >= 0 && row < size && col >= 0 && col < size;
     }
 
     /**
@@ -217,8 +563,15 @@ public class Board {
     /**
      * Retorna o tamanho do tabuleiro
      */
-    public static int getBoardSize() {
-        return BOARD_SIZE;
+    public int getBoardSize() {
+        return size;
+    }
+
+    /**
+     * Tabelas de vizinhança pré-calculadas para o tamanho deste tabuleiro
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
     }
 
     /**
@@ -0,0 +1,197 @@
+package org.example.model;
+
+import org.example.common.PieceType;
+
+/**
+ * Tabelas pré-calculadas de vizinhança e captura para representar o tabuleiro em bits.
+ *
+ * Cada casa é um índice (linha * tamanho + coluna) e um conjunto de peças é uma máscara long,
+ * com um bit por casa. Usada pelas ferramentas que precisam avaliar milhões de posições
+ * (tablebase, livro de aberturas, busca), onde a matriz de {@link Piece} seria lenta demais.
+ *
+ * Há uma instância por tamanho ({@link #of(int)}). As tabelas de vizinhança (step/jump) existem
+ * para todos os tamanhos suportados; as operações com máscara só para tabuleiros de até 64 casas
+ * (5x5 e 7x7), ver {@link #isPackable()}. O 9x9 usa apenas as tabelas, pela matriz do Board.
+ */
+public final class BoardGeometry {
+    // Direções: cima, baixo, esquerda, direita (mesma ordem de Board.checkCaptures)
+    public static final int DIRECTIONS = 4;
+    private static final int[] DIR_ROW = {-1, 1, 0, 0};
+    private static final int[] DIR_COL = {0, 0, -1, 1};
+
+    /** Menor e maior tamanho de tabuleiro suportados */
+    public static final int MIN_SIZE = 3;
+    public static final int MAX_SIZE = 9;
+    private static final BoardGeometry[] BY_SIZE = new BoardGeometry[MAX_SIZE + 1];
+    static {
+        for (int size = MIN_SIZE; size <= MAX_SIZE; size += 2) {
+            BY_SIZE[size] = new BoardGeometry(size);
+        }
+    }
+
+    /** Geometria do tabuleiro padrão 5x5 */
+    public static final BoardGeometry FIVE = BY_SIZE[5];
+    /** Geometria do tabuleiro 7x7 */
+    public static final BoardGeometry SEVEN = BY_SIZE[7];
+    /** Geometria do tabuleiro 9x9 (sem máscaras) */
+    public static final BoardGeometry NINE = BY_SIZE[9];
+
+    private final int size;
+    private final int squares;
+    private final int center;
+    private final long allSquares;
+    // step[casa * 4 + direção] = casa vizinha, ou -1 fora do tabuleiro
+    private final int[] step;
+    // jump[casa * 4 + direção] = casa a duas posições (fecha a captura), ou -1
+    private final int[] jump;
+    private final long[] neighbors; // null quando o tabuleiro não cabe em 64 bits
+
+    private BoardGeometry(int size) {
+        this.size = size;
+        this.squares = size * size;
+        this.center = (size / 2) * size + size / 2;
+        boolean packable = squares <= 64;
+        this.allSquares = !packable ? 0L : squares == 64 ? -1L : (1L << squares) - 1;
+        this.step = new int[squares * DIRECTIONS];
+        this.jump = new int[squares * DIRECTIONS];
+        this.neighbors = packable ? new long[squares] : null;
+
+        for (int sq = 0; sq < squares; sq++) {
+            int row = sq / size;
+            int col = sq % size;
+            for (int dir = 0; dir < DIRECTIONS; dir++) {
+                int r1 = row + DIR_ROW[dir], c1 = col + DIR_COL[dir];
+                int r2 = row + 2 * DIR_ROW[dir], c2 = col + 2 * DIR_COL[dir];
+                step[sq * DIRECTIONS + dir] = inside(r1, c1) ? r1 * size + c1 : -1;
+                jump[sq * DIRECTIONS + dir] = inside(r2, c2) ? r2 * size + c2 : -1;
+                if (packable && inside(r1, c1)) {
+                    neighbors[sq] |= 1L << (r1 * size + c1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Geometria de um tamanho suportado (ímpar, de 3 a 9)
+     * @throws IllegalArgumentException se o tamanho não for suportado
+     */
+    public static BoardGeometry of(int size) {
+        if (!isSupportedSize(size)) {
+            throw new IllegalArgumentException("Tamanho de tabuleiro não suportado: " + size);
+        }
+        return BY_SIZE[size];
+    }
+
+    public static boolean isSupportedSize(int size) {
+        return size >= MIN_SIZE && size <= MAX_SIZE && size % 2 == 1;
+    }
+
+    /**
+     * Indica se as posições cabem em máscaras long (até 64 casas)
+     */
+    public boolean isPackable() {
+        return neighbors != null;
+    }
+
+    private boolean inside(int row, int col) {
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+
+    public int getSize() { return size; }
+    public int getSquareCount() { return squares; }
+    public int getCenter() { return center; }
+    public long getAllSquares() { return allSquares; }
+
+    public int square(int row, int col) { return row * size + col; }
+    public int row(int square) { return square / size; }
+    public int col(int square) { return square % size; }
+
+    /**
+     * Casa vizinha na direção informada, ou -1 se sair do tabuleiro
+     */
+    public int step(int square, int direction) {
+        return step[square * DIRECTIONS + direction];
+    }
+
+    /**
+     * Casa a duas posições na direção informada (a que fecha uma captura), ou -1
+     */
+    public int jump(int square, int direction) {
+        return jump[square * DIRECTIONS + direction];
+    }
+
+    /**
+     * Máscara das casas ortogonalmente adjacentes
+     */
+    public long neighbors(int square) {
+        return neighbors[square];
+    }
+
+    /**
+     * Peças do oponente capturadas quando o jogador chega na casa "to":
+     * cada peça adversária vizinha presa entre "to" e outra peça do jogador.
+     * A peça que está na casa central não pode ser capturada.
+     * @param mover máscara do jogador já com a peça em "to"
+     */
+    public long captures(int to, long mover, long opponent) {
+        long captured = 0;
+        int base = to * DIRECTIONS;
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            int middle = step[base + dir];
+            int end = jump[base + dir];
+            if (end >= 0 && middle != center && (opponent >>> middle & 1) != 0 && (mover >>> end & 1) != 0) {
+                captured |= 1L << middle;
+            }
+        }
+        return captured;
+    }
+
+    /**
+     * Destinos vizinhos de "from" para os quais a peça do jogador se move capturando algo.
+     * Usado para saber se uma sequência de capturas pode continuar.
+     */
+    public long captureSteps(int from, long mover, long opponent) {
+        long empty = ~(mover | opponent) & allSquares;
+        long targets = neighbors[from] & empty;
+        long result = 0;
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            if (captures(to, mover ^ (1L << from) ^ (1L << to), opponent) != 0) {
+                result |= 1L << to;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Indica se o jogador tem pelo menos um movimento (peça com vizinho vazio)
+     */
+    public boolean hasMoves(long mover, long opponent) {
+        long empty = ~(mover | opponent) & allSquares;
+        long pieces = mover;
+        while (pieces != 0) {
+            int sq = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            if ((neighbors[sq] & empty) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extrai a máscara de peças de um tipo a partir de um Board
+     */
+    public long maskOf(Board board, PieceType type) {
+        long mask = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (board.getPiece(row, col).getType() == type) {
+                    mask |= 1L << (row * size + col);
+                }
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.model;
+
+import org.example.common.PieceType;
+
+/**
+ * Cópia imutável do conteúdo de um {@link Board} para exibição.
+ *
+ * Diferente do {@link GameState}, cobre todos os tamanhos de tabuleiro (inclusive o 9x9) e guarda
+ * só o que a interface desenha. Depois de criada nunca muda, então pode ser publicada por uma
+ * thread (rede) e lida por outra (EDT) sem travas.
+ */
+public final class BoardSnapshot {
+    private final int size;
+    private final PieceType[] cells; // linha * tamanho + coluna
+    private final boolean setupPhase;
+
+    private BoardSnapshot(int size, PieceType[] cells, boolean setupPhase) {
+        this.size = size;
+        this.cells = cells;
+        this.setupPhase = setupPhase;
+    }
+
+    /**
+     * Copia o tabuleiro; deve ser chamada pela thread que o altera
+     */
+    public static BoardSnapshot of(Board board) {
+        int size = board.getBoardSize();
+        PieceType[] cells = new PieceType[size * size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                cells[row * size + col] = board.getPiece(row, col).getType();
+            }
+        }
+        return new BoardSnapshot(size, cells, board.isSetupPhase());
+    }
+
+    public int getBoardSize() {
+        return size;
+    }
+
+    public PieceType getPieceAt(int row, int col) {
+        return cells[row * size + col];
+    }
+
+    public boolean isSetupPhase() {
+        return setupPhase;
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.model;
+
+/**
+ * Simetrias do tabuleiro quadrado (grupo D4: 4 rotações e 4 reflexões).
+ *
+ * Posições equivalentes por simetria têm o mesmo valor de jogo, então estruturas indexadas por
+ * posição (livro de aberturas, tablebase, caches) podem guardar apenas a forma canônica de cada
+ * uma. As transformações usam tabelas pré-calculadas por byte da máscara: transformar uma máscara
+ * custa uma consulta por byte em vez de um laço por casa. A canonicalização também informa qual
+ * transformação foi usada, para que casas e lances possam ser levados de volta ao tabuleiro real.
+ */
+public final class BoardSymmetry {
+    public static final int TRANSFORMS = 8;
+    public static final int IDENTITY = 0;
+
+    // Bits do resultado de canonicalize() que guardam a transformação (acima da chave)
+    private static final int TRANSFORM_SHIFT = 61;
+    private static final long KEY_MASK = (1L << TRANSFORM_SHIFT) - 1;
+
+    /** Simetrias do tabuleiro padrão 5x5 */
+    public static final BoardSymmetry FIVE = new BoardSymmetry(BoardGeometry.FIVE);
+
+    private final BoardGeometry geometry;
+    // permutation[t][casa] = casa de destino sob a transformação t
+    private final int[][] permutation;
+    // inverse[t] = transformação que desfaz t
+    private final int[] inverse = new int[TRANSFORMS];
+    // byteTable[t][byte][valor] = máscara transformada dos 8 bits daquele byte
+    private final long[][][] byteTable;
+    private final int bytes;
+
+    private BoardSymmetry(BoardGeometry geometry) {
+        this.geometry = geometry;
+        int n = geometry.getSize();
+        int squares = geometry.getSquareCount();
+        permutation = new int[TRANSFORMS][squares];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                int sq = row * n + col;
+                permutation[0][sq] = row * n + col;                     // identidade
+                permutation[1][sq] = col * n + (n - 1 - row);           // rotação 90°
+                permutation[2][sq] = (n - 1 - row) * n + (n - 1 - col); // rotação 180°
+                permutation[3][sq] = (n - 1 - col) * n + row;           // rotação 270°
+                permutation[4][sq] = row * n + (n - 1 - col);           // reflexão horizontal
+                permutation[5][sq] = (n - 1 - row) * n + col;           // reflexão vertical
+                permutation[6][sq] = col * n + row;                     // diagonal principal
+                permutation[7][sq] = (n - 1 - col) * n + (n - 1 - row); // diagonal secundária
+            }
+        }
+
+        for (int t = 0; t < TRANSFORMS; t++) {
+            for (int u = 0; u < TRANSFORMS; u++) {
+                if (isInverse(t, u)) {
+                    inverse[t] = u;
+                }
+            }
+        }
+
+        bytes = (squares + 7) / 8;
+        byteTable = new long[TRANSFORMS][bytes][256];
+        for (int t = 0; t < TRANSFORMS; t++) {
+            for (int b = 0; b < bytes; b++) {
+                for (int value = 1; value < 256; value++) {
+                    long result = 0;
+                    for (int bit = 0; bit < 8; bit++) {
+                        int sq = b * 8 + bit;
+                        if ((value >>> bit & 1) != 0 && sq < squares) {
+                            result |= 1L << permutation[t][sq];
+                        }
+                    }
+                    byteTable[t][b][value] = result;
+                }
+            }
+        }
+    }
+
+    private boolean isInverse(int t, int u) {
+        for (int sq = 0; sq < permutation[t].length; sq++) {
+            if (permutation[u][permutation[t][sq]] != sq) return false;
+        }
+        return true;
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Aplica a transformação t a uma máscara de casas
+     */
+    public long transform(long mask, int t) {
+        long result = 0;
+        // Máscaras esparsas (início da colocação) saem mais baratas casa a casa
+        if (Long.bitCount(mask) <= bytes) {
+            int[] perm = permutation[t];
+            while (mask != 0) {
+                result |= 1L << perm[Long.numberOfTrailingZeros(mask)];
+                mask &= mask - 1;
+            }
+            return result;
+        }
+        long[][] table = byteTable[t];
+        for (int b = 0; b < bytes && mask != 0; b++) {
+            result |= table[b][(int) (mask & 0xFF)];
+            mask >>>= 8;
+        }
+        return result;
+    }
+
+    /**
+     * Casa correspondente sob a transformação t
+     */
+    public int transformSquare(int square, int t) {
+        return permutation[t][square];
+    }
+
+    /**
+     * Transformação que desfaz t
+     */
+    public int inverse(int t) {
+        return inverse[t];
+    }
+
+    /**
+     * Chave canônica da posição: o menor par (jogador 1, jogador 2) entre as 8 simetrias,
+     * empacotado em um long (requer tabuleiro de até 32 casas).
+     */
+    public long canonicalKey(long player1, long player2) {
+        return canonicalize(player1, player2) & KEY_MASK;
+    }
+
+    /**
+     * Canonicaliza a posição e devolve, num único long, a chave canônica e a transformação
+     * que leva a posição original até ela (use {@link #keyOf} e {@link #transformOf}).
+     */
+    public long canonicalize(long player1, long player2) {
+        long best = Long.MAX_VALUE;
+        int bestTransform = IDENTITY;
+        for (int t = 0; t < TRANSFORMS; t++) {
+            long key = transform(player1, t) | (transform(player2, t) << 32);
+            if (key < best) {
+                best = key;
+                bestTransform = t;
+            }
+        }
+        return best | ((long) bestTransform << TRANSFORM_SHIFT);
+    }
+
+    /**
+     * Chave canônica contida no resultado de {@link #canonicalize}
+     */
+    public static long keyOf(long canonical) {
+        return canonical & KEY_MASK;
+    }
+
+    /**
+     * Transformação contida no resultado de {@link #canonicalize}
+     */
+    public static int transformOf(long canonical) {
+        return (int) (canonical >>> TRANSFORM_SHIFT);
+    }
+
+    /**
+     * Leva uma casa da forma canônica de volta para o tabuleiro original
+     * @param canonical resultado de {@link #canonicalize} da posição original
+     */
+    public int toOriginal(int canonicalSquare, long canonical) {
+        return permutation[inverse[transformOf(canonical)]][canonicalSquare];
+    }
+
+    /**
+     * Leva uma casa do tabuleiro original para a forma canônica
+     * @param canonical resultado de {@link #canonicalize} da posição original
+     */
+    public int toCanonical(int square, long canonical) {
+        return permutation[transformOf(canonical)][square];
+    }
+}
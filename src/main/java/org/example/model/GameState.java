@@ -0,0 +1,348 @@
+package org.example.model;
+
+import org.example.common.PieceType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estado imutável e compacto de uma partida: duas máscaras de peças e um int com os contadores.
+ * Cobre os tabuleiros que cabem em 64 bits (5x5 e 7x7); o 9x9 fica só no {@link Board}.
+ *
+ * Ao contrário de {@link Board}, não precisa de cópia profunda: {@link #apply(Move)} devolve um
+ * novo estado e o original continua válido. Por ser imutável (campos final) pode ser compartilhado
+ * entre threads sem travas, servindo de base para busca, desfazer, replay e publicação no servidor.
+ * As regras são as mesmas da GameSession: sequência obrigatória de capturas com a mesma peça,
+ * passe de vez quando o oponente está bloqueado e fim de jogo quando os dois estão bloqueados.
+ */
+public final class GameState {
+    // Quantidade de peças que cada jogador pode colocar por turno na fase inicial
+    public static final int PIECES_PER_TURN = 2;
+
+    // Layout do campo meta: peças a colocar do jogador 1 e 2 (8 bits cada),
+    // peças colocadas no turno (8 bits), jogador da vez (1 bit) e casa da sequência de capturas + 1 (7 bits)
+    private static final int TO_PLACE_1_SHIFT = 0;
+    private static final int TO_PLACE_2_SHIFT = 8;
+    private static final int PLACED_SHIFT = 16;
+    private static final int SIDE_SHIFT = 24;
+    private static final int CHAIN_SHIFT = 25;
+    private static final int BYTE = 0xFF;
+
+    private final BoardGeometry geometry;
+    private final long player1;  // Máscara das peças do jogador 1
+    private final long player2;  // Máscara das peças do jogador 2
+    private final int meta;
+
+    private GameState(BoardGeometry geometry, long player1, long player2, int meta) {
+        this.geometry = geometry;
+        this.player1 = player1;
+        this.player2 = player2;
+        this.meta = meta;
+    }
+
+    /**
+     * Estado inicial do tabuleiro padrão 5x5
+     */
+    public static GameState initial() {
+        return initial(BoardGeometry.FIVE);
+    }
+
+    /**
+     * Estado inicial: tabuleiro vazio, cada jogador com metade das casas (menos o centro) para colocar
+     */
+    public static GameState initial(BoardGeometry geometry) {
+        requirePackable(geometry);
+        int perPlayer = (geometry.getSquareCount() - 1) / 2;
+        return new GameState(geometry, 0L, 0L, pack(perPlayer, perPlayer, 0, PieceType.PLAYER1, -1));
+    }
+
+    /**
+     * Captura o estado de um Board (5x5 ou 7x7)
+     * @param toMove jogador da vez
+     */
+    public static GameState of(Board board, PieceType toMove) {
+        BoardGeometry geometry = board.getGeometry();
+        requirePackable(geometry);
+        return new GameState(geometry,
+                geometry.maskOf(board, PieceType.PLAYER1),
+                geometry.maskOf(board, PieceType.PLAYER2),
+                pack(board.getPiecesToPlace(PieceType.PLAYER1), board.getPiecesToPlace(PieceType.PLAYER2),
+                        board.getPiecesPlacedThisTurn(), toMove, board.getChainSquare()));
+    }
+
+    private static void requirePackable(BoardGeometry geometry) {
+        if (!geometry.isPackable()) {
+            throw new IllegalArgumentException("GameState só representa tabuleiros de até 64 casas, não "
+                    + geometry.getSize() + "x" + geometry.getSize());
+        }
+    }
+
+    private static int pack(int toPlace1, int toPlace2, int placed, PieceType toMove, int chainSquare) {
+        return toPlace1 << TO_PLACE_1_SHIFT
+                | toPlace2 << TO_PLACE_2_SHIFT
+                | placed << PLACED_SHIFT
+                | (toMove == PieceType.PLAYER2 ? 1 : 0) << SIDE_SHIFT
+                | (chainSquare + 1) << CHAIN_SHIFT;
+    }
+
+    /**
+     * Indica se o lance é válido para o jogador da vez
+     */
+    public boolean isLegal(Move move) {
+        if (move == null || isGameOver()) {
+            return false;
+        }
+        int size = geometry.getSize();
+        if (!inside(move.getToRow(), move.getToCol(), size)) {
+            return false;
+        }
+        int to = geometry.square(move.getToRow(), move.getToCol());
+        long occupied = player1 | player2;
+        if ((occupied >>> to & 1) != 0) {
+            return false;
+        }
+        if (move.isPlacement()) {
+            return isSetupPhase() && to != geometry.getCenter() && getPiecesToPlace(getToMove()) > 0;
+        }
+        if (isSetupPhase() || !inside(move.getFromRow(), move.getFromCol(), size)) {
+            return false;
+        }
+        int from = geometry.square(move.getFromRow(), move.getFromCol());
+        int chain = getChainSquare();
+        if (chain >= 0) {
+            return from == chain && (geometry.captureSteps(from, own(), other()) >>> to & 1) != 0;
+        }
+        return (own() >>> from & 1) != 0 && (geometry.neighbors(from) >>> to & 1) != 0;
+    }
+
+    /**
+     * Aplica o lance do jogador da vez, com capturas e troca de turno
+     * @return novo estado; este permanece inalterado
+     * @throws IllegalArgumentException se o lance for inválido
+     */
+    public GameState apply(Move move) {
+        if (!isLegal(move)) {
+            throw new IllegalArgumentException("Lance inválido: " + move);
+        }
+        return applyValidated(move);
+    }
+
+    /**
+     * Aplica um lance que o chamador já validou (ex: pelo cache de validação do servidor),
+     * sem repetir a verificação. Um lance inválido aqui deixa o estado inconsistente.
+     */
+    public GameState applyValidated(Move move) {
+        PieceType side = getToMove();
+        PieceType opponent = side == PieceType.PLAYER1 ? PieceType.PLAYER2 : PieceType.PLAYER1;
+        int to = geometry.square(move.getToRow(), move.getToCol());
+        long mover = own();
+        long other = side == PieceType.PLAYER1 ? player2 : player1;
+
+        int toPlace1 = getPiecesToPlace(PieceType.PLAYER1);
+        int toPlace2 = getPiecesToPlace(PieceType.PLAYER2);
+        int placed = getPiecesPlacedThisTurn();
+        int chain = -1;
+        boolean turnEnds;
+
+        if (move.isPlacement()) {
+            mover |= 1L << to;
+            if (side == PieceType.PLAYER1) {
+                toPlace1--;
+            } else {
+                toPlace2--;
+            }
+            placed++;
+            turnEnds = placed >= PIECES_PER_TURN;
+            if (turnEnds) {
+                placed = 0;
+            }
+        } else {
+            int from = geometry.square(move.getFromRow(), move.getFromCol());
+            mover = mover & ~(1L << from) | 1L << to;
+            long captured = geometry.captures(to, mover, other);
+            other &= ~captured;
+            // Capturou e ainda pode capturar: a mesma peça continua
+            if (captured != 0 && other != 0 && geometry.captureSteps(to, mover, other) != 0) {
+                chain = to;
+            }
+            turnEnds = chain < 0;
+        }
+
+        PieceType next = side;
+        boolean setupOver = toPlace1 == 0 && toPlace2 == 0;
+        if (turnEnds) {
+            // Oponente bloqueado (e o jogador não): a vez volta para o jogador
+            boolean opponentBlocked = setupOver && other != 0 && !geometry.hasMoves(other, mover)
+                    && geometry.hasMoves(mover, other);
+            next = opponentBlocked ? side : opponent;
+        }
+
+        long newPlayer1 = side == PieceType.PLAYER1 ? mover : other;
+        long newPlayer2 = side == PieceType.PLAYER1 ? other : mover;
+        return new GameState(geometry, newPlayer1, newPlayer2, pack(toPlace1, toPlace2, placed, next, chain));
+    }
+
+    /**
+     * Destinos válidos do jogador da vez a partir de uma casa, como máscara de bits
+     * @param from casa de origem, ou -1 para colocação
+     */
+    public long legalTargets(int from) {
+        if (isGameOver()) {
+            return 0L;
+        }
+        long empty = ~(player1 | player2) & geometry.getAllSquares();
+        if (from < 0) {
+            return isSetupPhase() && getPiecesToPlace(getToMove()) > 0 ? empty & ~(1L << geometry.getCenter()) : 0L;
+        }
+        if (isSetupPhase() || (own() >>> from & 1) == 0) {
+            return 0L;
+        }
+        int chain = getChainSquare();
+        if (chain >= 0) {
+            return from == chain ? geometry.captureSteps(from, own(), other()) : 0L;
+        }
+        return geometry.neighbors(from) & empty;
+    }
+
+    /**
+     * Lances válidos do jogador da vez
+     */
+    public List<Move> legalMoves() {
+        List<Move> moves = new ArrayList<>();
+        if (isGameOver()) {
+            return moves;
+        }
+        long empty = ~(player1 | player2) & geometry.getAllSquares();
+        if (isSetupPhase()) {
+            long targets = empty & ~(1L << geometry.getCenter());
+            while (targets != 0) {
+                int sq = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                moves.add(Move.placement(geometry.row(sq), geometry.col(sq)));
+            }
+            return moves;
+        }
+        int chain = getChainSquare();
+        long pieces = chain >= 0 ? 1L << chain : own();
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            long targets = chain >= 0 ? geometry.captureSteps(from, own(), other()) : geometry.neighbors(from) & empty;
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                moves.add(new Move(geometry.row(from), geometry.col(from), geometry.row(to), geometry.col(to)));
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Fim de jogo: o jogador da vez ficou sem peças ou os dois jogadores estão bloqueados
+     */
+    public boolean isGameOver() {
+        if (isSetupPhase()) {
+            return false;
+        }
+        return own() == 0 || (!geometry.hasMoves(own(), other()) && !geometry.hasMoves(other(), own()));
+    }
+
+    /**
+     * Vencedor, ou null se a partida não acabou ou terminou empatada.
+     * No bloqueio mútuo vence quem tem mais peças.
+     */
+    public PieceType getWinner() {
+        if (!isGameOver()) {
+            return null;
+        }
+        PieceType opponent = getToMove() == PieceType.PLAYER1 ? PieceType.PLAYER2 : PieceType.PLAYER1;
+        if (own() == 0) {
+            return opponent;
+        }
+        int diff = Long.bitCount(own()) - Long.bitCount(other());
+        return diff > 0 ? getToMove() : diff < 0 ? opponent : null;
+    }
+
+    /**
+     * Converte para um Board mutável
+     */
+    public Board toBoard() {
+        return new Board(this);
+    }
+
+    private long own() {
+        return getToMove() == PieceType.PLAYER1 ? player1 : player2;
+    }
+
+    private long other() {
+        return getToMove() == PieceType.PLAYER1 ? player2 : player1;
+    }
+
+    private static boolean inside(int row, int col, int size) {
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    public long getMask(PieceType type) {
+        return type == PieceType.PLAYER1 ? player1 : type == PieceType.PLAYER2 ? player2 : 0L;
+    }
+
+    public PieceType getPieceAt(int row, int col) {
+        int sq = geometry.square(row, col);
+        if ((player1 >>> sq & 1) != 0) return PieceType.PLAYER1;
+        if ((player2 >>> sq & 1) != 0) return PieceType.PLAYER2;
+        return PieceType.EMPTY;
+    }
+
+    public int countPieces(PieceType type) {
+        return Long.bitCount(getMask(type));
+    }
+
+    public PieceType getToMove() {
+        return (meta >>> SIDE_SHIFT & 1) == 0 ? PieceType.PLAYER1 : PieceType.PLAYER2;
+    }
+
+    public int getPiecesToPlace(PieceType type) {
+        return type == PieceType.PLAYER1 ? meta >>> TO_PLACE_1_SHIFT & BYTE : meta >>> TO_PLACE_2_SHIFT & BYTE;
+    }
+
+    public int getPiecesPlacedThisTurn() {
+        return meta >>> PLACED_SHIFT & BYTE;
+    }
+
+    /**
+     * Casa da peça que precisa continuar capturando, ou -1
+     */
+    public int getChainSquare() {
+        return (meta >>> CHAIN_SHIFT) - 1;
+    }
+
+    /**
+     * Indica se o jogador da vez já jogou parte do turno (uma colocação, ou capturas em sequência)
+     */
+    public boolean isTurnInProgress() {
+        return getPiecesPlacedThisTurn() > 0 || getChainSquare() >= 0;
+    }
+
+    public boolean isSetupPhase() {
+        return getPiecesToPlace(PieceType.PLAYER1) > 0 || getPiecesToPlace(PieceType.PLAYER2) > 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameState)) return false;
+        GameState other = (GameState) o;
+        return player1 == other.player1 && player2 == other.player2 && meta == other.meta
+                && geometry.getSize() == other.geometry.getSize();
+    }
+
+    @Override
+    public int hashCode() {
+        long h = player1 * 0x9E3779B97F4A7C15L ^ player2 * 0xC2B2AE3D27D4EB4FL ^ meta;
+        return (int) (h ^ h >>> 32);
+    }
+}
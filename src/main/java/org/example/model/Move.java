@@ -0,0 +1,96 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lance do Seega: movimento de uma casa para outra ou, na fase de colocação,
+ * uma peça nova (origem -1,-1), no mesmo formato usado pelo protocolo de rede.
+ */
+public final class Move {
+    private final int fromRow;
+    private final int fromCol;
+    private final int toRow;
+    private final int toCol;
+
+    public Move(int fromRow, int fromCol, int toRow, int toCol) {
+        this.fromRow = fromRow;
+        this.fromCol = fromCol;
+        this.toRow = toRow;
+        this.toCol = toCol;
+    }
+
+    /**
+     * Cria um lance de colocação de peça
+     */
+    public static Move placement(int row, int col) {
+        return new Move(-1, -1, row, col);
+    }
+
+    /**
+     * Interpreta os dados de um MOVE do protocolo ("fromRow,fromCol,toRow,toCol")
+     */
+    public static Move parse(String data) {
+        String[] parts = data.split(",");
+        return new Move(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()),
+                Integer.parseInt(parts[2].trim()), Integer.parseInt(parts[3].trim()));
+    }
+
+    /**
+     * Interpreta os dados de um TURN do protocolo: os lances do turno separados por ';'
+     */
+    public static List<Move> parseTurn(String data) {
+        String[] parts = data.split(";");
+        List<Move> steps = new ArrayList<>(parts.length);
+        for (String part : parts) {
+            steps.add(parse(part));
+        }
+        return steps;
+    }
+
+    /**
+     * Formato usado nos dados do comando TURN ("r,c,r,c;r,c,r,c")
+     */
+    public static String toTurnString(List<Move> steps) {
+        StringBuilder sb = new StringBuilder();
+        for (Move step : steps) {
+            if (sb.length() > 0) sb.append(';');
+            sb.append(step.toProtocolString());
+        }
+        return sb.toString();
+    }
+
+    public boolean isPlacement() { return fromRow == -1 && fromCol == -1; }
+    public int getFromRow() { return fromRow; }
+    public int getFromCol() { return fromCol; }
+    public int getToRow() { return toRow; }
+    public int getToCol() { return toCol; }
+
+    /**
+     * Formato usado nos dados do comando MOVE
+     */
+    public String toProtocolString() {
+        return fromRow + "," + fromCol + "," + toRow + "," + toCol;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Move)) return false;
+        Move other = (Move) o;
+        return fromRow == other.fromRow && fromCol == other.fromCol
+                && toRow == other.toRow && toCol == other.toCol;
+    }
+
+    @Override
+    public int hashCode() {
+        return ((fromRow * 31 + fromCol) * 31 + toRow) * 31 + toCol;
+    }
+
+    @Override
+    public String toString() {
+        return isPlacement()
+                ? String.format("(%d,%d)", toRow, toCol)
+                : String.format("(%d,%d) -> (%d,%d)", fromRow, fromCol, toRow, toCol);
+    }
+}
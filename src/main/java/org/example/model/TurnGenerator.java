@@ -0,0 +1,101 @@
+package org.example.model;
+
+/**
+ * Gera os turnos completos da fase de movimento sobre máscaras de bits.
+ *
+ * Um turno é um movimento simples ou, quando ele captura e a mesma peça ainda pode capturar
+ * de novo, a sequência de capturas até não haver mais continuação (a continuação é obrigatória).
+ * As sequências são exploradas por busca em profundidade que só segue passos com captura; o
+ * caminho fica num buffer reaproveitado, então não há alocação por passo. Cada instância guarda
+ * seu buffer e não deve ser usada por duas threads ao mesmo tempo.
+ */
+public final class TurnGenerator {
+    /**
+     * Recebe cada turno gerado
+     */
+    public interface TurnVisitor {
+        /**
+         * @param path casas do turno: path[0] é a origem e os demais, os destinos de cada passo
+         * @param length quantidade de casas válidas em path (2 para um movimento simples)
+         * @param mover peças do jogador após o turno
+         * @param opponent peças do oponente após o turno
+         */
+        void visit(int[] path, int length, long mover, long opponent);
+    }
+
+    private final BoardGeometry geometry;
+    private final int[] path;
+
+    public TurnGenerator(BoardGeometry geometry) {
+        if (!geometry.isPackable()) {
+            throw new IllegalArgumentException("TurnGenerator só trabalha com tabuleiros de até 64 casas");
+        }
+        this.geometry = geometry;
+        // Cada passo depois do primeiro captura, então o caminho nunca passa do total de casas
+        this.path = new int[geometry.getSquareCount() + 1];
+    }
+
+    /**
+     * Gera os turnos do jogador
+     * @param chainSquare casa da peça que está no meio de uma sequência de capturas, ou -1 no início do turno
+     * @return quantidade de turnos gerados (0 se o jogador está bloqueado)
+     */
+    public int generate(long mover, long opponent, int chainSquare, TurnVisitor visitor) {
+        if (chainSquare >= 0) {
+            path[0] = chainSquare;
+            return extend(chainSquare, mover, opponent, 1, visitor);
+        }
+
+        int count = 0;
+        long empty = ~(mover | opponent) & geometry.getAllSquares();
+        long pieces = mover;
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            long targets = geometry.neighbors(from) & empty;
+            path[0] = from;
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                count += step(from, to, mover, opponent, 1, visitor);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Indica se o jogador tem algum turno (equivale a ter algum movimento simples)
+     */
+    public boolean hasTurn(long mover, long opponent) {
+        return geometry.hasMoves(mover, opponent);
+    }
+
+    /**
+     * Continua a sequência a partir de "square" apenas com passos que capturam
+     */
+    private int extend(int square, long mover, long opponent, int length, TurnVisitor visitor) {
+        long targets = geometry.captureSteps(square, mover, opponent);
+        int count = 0;
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            count += step(square, to, mover, opponent, length, visitor);
+        }
+        return count;
+    }
+
+    /**
+     * Aplica o passo from -> to na posição length do caminho e decide se o turno acaba aqui
+     */
+    private int step(int from, int to, long mover, long opponent, int length, TurnVisitor visitor) {
+        path[length] = to;
+        long newMover = mover ^ (1L << from) ^ (1L << to);
+        long captured = geometry.captures(to, newMover, opponent);
+        long newOpponent = opponent & ~captured;
+        if (captured != 0 && newOpponent != 0 && geometry.captureSteps(to, newMover, newOpponent) != 0) {
+            return extend(to, newMover, newOpponent, length + 1, visitor);
+        }
+        visitor.visit(path, length + 1, newMover, newOpponent);
+        return 1;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.network;
+
+import org.example.communication.CommunicationException;
+import org.example.network.loopback.LoopbackGameServer;
+
+/**
+ * Junta o servidor de rede (Socket/RPC) e o {@link LoopbackGameServer} na mesma porta, para que o
+ * host jogue em memória enquanto o oponente entra pela rede. As mensagens vão para o transporte
+ * dono do ID do jogador.
+ */
+public class CompositeGameServer implements GameServerCommunication {
+    private final GameServerCommunication network;
+    private final LoopbackGameServer loopback;
+
+    public CompositeGameServer(GameServerCommunication network, LoopbackGameServer loopback) {
+        this.network = network;
+        this.loopback = loopback;
+    }
+
+    @Override
+    public void start(int port) throws CommunicationException {
+        network.start(port);
+        try {
+            loopback.start(port);
+        } catch (CommunicationException e) {
+            network.stop();
+            throw e;
+        }
+    }
+
+    @Override
+    public void stop() {
+        loopback.stop();
+        network.stop();
+    }
+
+    @Override
+    public void setServerListener(GameServerListener listener) {
+        network.setServerListener(listener);
+        loopback.setServerListener(listener);
+    }
+
+    @Override
+    public void sendToPlayer(String playerId, String command, String data) {
+        if (LoopbackGameServer.isLoopbackPlayer(playerId)) {
+            loopback.sendToPlayer(playerId, command, data);
+        } else {
+            network.sendToPlayer(playerId, command, data);
+        }
+    }
+
+    @Override
+    public void sendFrame(String playerId, MessageFrame frame) {
+        if (LoopbackGameServer.isLoopbackPlayer(playerId)) {
+            loopback.sendFrame(playerId, frame);
+        } else {
+            network.sendFrame(playerId, frame);
+        }
+    }
+
+    @Override
+    public void disconnectPlayer(String playerId) {
+        if (LoopbackGameServer.isLoopbackPlayer(playerId)) {
+            loopback.disconnectPlayer(playerId);
+        } else {
+            network.disconnectPlayer(playerId);
+        }
+    }
+}
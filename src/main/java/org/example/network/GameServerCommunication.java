@@ -10,4 +10,19 @@ public interface GameServerCommunication {
     void setServerListener(GameServerListener listener);
 
     void sendToPlayer(String playerId, String command, String data);
+
+    /**
+     * Repassa uma mensagem recebida sem recodificá-la. Transportes que escrevem bytes (socket)
+     * copiam o frame direto para a conexão; os demais decodificam e usam sendToPlayer.
+     */
+    default void sendFrame(String playerId, MessageFrame frame) {
+        sendToPlayer(playerId, frame.getCommand(), frame.getData());
+    }
+
+    /**
+     * Derruba a conexão do jogador (ex: sem resposta ao heartbeat). O listener recebe
+     * onPlayerDisconnected como numa queda comum.
+     */
+    default void disconnectPlayer(String playerId) {
+    }
 }
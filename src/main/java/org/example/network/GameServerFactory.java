@@ -2,6 +2,7 @@ package org.example.network;
 
 
 import org.example.common.CommunicationType;
+import org.example.network.loopback.LoopbackGameServer;
 import org.example.network.rpc.RPCGameServer;
 import org.example.network.socket.SocketGameServer;
 
@@ -13,6 +14,8 @@ public class GameServerFactory {
             case RPC:
 //                throw new UnsupportedOperationException("RPC ainda não implementado");
                 return new RPCGameServer();
+            case LOOPBACK:
+                return new LoopbackGameServer();
             default:
                 throw new IllegalArgumentException("Tipo de servidor não suportado");
         }
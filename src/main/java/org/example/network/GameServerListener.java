@@ -4,4 +4,16 @@ public interface GameServerListener {
     void onPlayerConnected(String playerId);
     void onPlayerDisconnected(String playerId);
     void onMessageReceived(String playerId, String command, String data);
-}
\ No newline at end of file
+
+    /**
+     * Mensagem ainda em bytes, para transportes que não decodificam a linha inteira (ex: socket).
+     * O listener passa a ser dono do frame e deve liberá-lo ({@link MessageFrame#release()}).
+     * Por padrão decodifica, libera e cai em onMessageReceived.
+     */
+    default void onFrameReceived(String playerId, MessageFrame frame) {
+        String command = frame.getCommand();
+        String data = frame.getData();
+        frame.release();
+        onMessageReceived(playerId, command, data);
+    }
+}
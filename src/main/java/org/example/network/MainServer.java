@@ -1,39 +1,82 @@
 package org.example.network;
 
 import org.example.common.CommunicationType;
+import org.example.common.PieceType;
 import org.example.communication.*;
+import org.example.model.GameState;
+import org.example.model.Move;
 import org.example.network.NetworkProtocol;
+import org.example.network.buffer.BufferPool;
+import org.example.network.clock.GameClock;
+import org.example.network.clock.TimeControl;
+import org.example.network.gateway.GatewayRegistration;
+import org.example.network.match.Match;
+import org.example.network.match.MatchRegistry;
+import org.example.network.matchmaking.MatchmakingService;
+import org.example.network.rating.RatingService;
+import org.example.network.heartbeat.HeartbeatGameServer;
+import org.example.network.session.ResumableGameServer;
+import org.example.network.timer.HashedWheelTimer;
 import org.example.network.socket.SocketGameServer;
+import org.example.network.loopback.LoopbackGameServer;
+import org.example.network.validation.MoveValidationCache;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Servidor principal do jogo Seega.
  * Responsável por gerenciar conexões dos jogadores e coordenar a comunicação entre eles.
+ * Os jogadores entram no {@link MatchmakingService} do tamanho de tabuleiro pedido no CONNECT
+ * e cada par formado vira uma partida independente no {@link MatchRegistry}; partidas de
+ * tamanhos diferentes rodam ao mesmo tempo.
+ * Os lances são validados contra a posição da partida antes de serem repassados, consultando
+ * o {@link MoveValidationCache} compartilhado.
+ * Cada partida tem um {@link GameClock} ({@link #timeControl}); a queda do relógio é agendada no
+ * timer compartilhado e encerra a partida com derrota de quem estourou o tempo.
+ * Além do transporte escolhido, o servidor sempre aceita clientes {@link CommunicationType#LOOPBACK}
+ * do mesmo processo na mesma porta (o host joga em memória).
  */
 public class MainServer {
-    // Número máximo de jogadores permitidos (2 para o jogo Seega)
-    private static final int MAX_PLAYERS = 2;
+    // Registro de partidas particionado em shards (um laço de eventos por shard)
+    private static final MatchRegistry matches = new MatchRegistry();
 
-    // Mapa thread-safe para armazenar os jogadores conectados
-    private static Map<String, PlayerInfo> players = new ConcurrentHashMap<>();
+    // Intervalo entre os salvamentos do arquivo de ratings
+    private static final long RATING_SNAPSHOT_SECONDS = 60;
 
-    // Armazena o ID do primeiro jogador que se conectou
-    private static String firstPlayerConnected = null;
+    // Ratings Elo persistidos em arquivo local (-Dseega.ratings.file; um por processo atrás do gateway)
+    private static final RatingService ratings = new RatingService(Paths.get(System.getProperty("seega.ratings.file", "ratings.dat")));
 
-    /**
-     * Classe interna para armazenar informações de cada jogador conectado
-     */
-    private static class PlayerInfo {
-        String id;                // ID único do jogador
-        boolean isFirstPlayer;    // Indica se é o primeiro jogador (começa o jogo)
+    // Nome informado por cada jogador conectado (via CONNECT)
+    private static final Map<String, String> playerNames = new ConcurrentHashMap<>();
+    // Conexão que usa cada nome: um nome (e o rating dele) só vale para uma conexão viva por vez
+    private static final Map<String, String> nameHolders = new ConcurrentHashMap<>();
 
-        PlayerInfo(String id, boolean isFirstPlayer) {
-            this.id = id;
-            this.isFirstPlayer = isFirstPlayer;
-        }
-    }
+    // Completado quando o servidor está aceitando conexões (ou com o erro da inicialização)
+    private static final CompletableFuture<Void> ready = new CompletableFuture<>();
+
+    // Destinos válidos por posição, compartilhado entre todas as partidas e shards
+    private static final MoveValidationCache moveValidation = new MoveValidationCache();
+
+    // Tamanho de tabuleiro escolhido por cada jogador (via CONNECT)
+    private static final Map<String, Integer> playerBoardSizes = new ConcurrentHashMap<>();
+
+    // Prazos do servidor (heartbeat, retomada de sessão, relógios): ticks de 100 ms, volta de ~51 s
+    private static final HashedWheelTimer timer = new HashedWheelTimer("server-timer", 100, TimeUnit.MILLISECONDS, 512);
+
+    // Controle de tempo das partidas (-Dseega.clock: "fischer:600+5", "byoyomi:600,5x30" ou "none")
+    private static final TimeControl timeControl = loadTimeControl();
+
+    // Aviso de empate por bloqueio com o mesmo número de peças
+    private static final String DRAW_MESSAGE = "Empate! Os dois jogadores estão bloqueados com o mesmo número de peças.";
+
+    // Uma fila de espera por tamanho de tabuleiro, que forma os pares por rating e tempo de espera
+    private static final Map<Integer, MatchmakingService> matchmakingBySize = new HashMap<>();
 
     /**
      * Método principal que inicia o servidor
@@ -59,8 +102,35 @@ public class MainServer {
         }
 
         try {
-            // Cria uma instância do servidor usando o padrão Factory
-            GameServerCommunication server = GameServerFactory.createServer(serverType);
+            // Cria uma instância do servidor usando o padrão Factory; clientes do mesmo processo
+            // entram pelo loopback na mesma porta e os de rede podem retomar a sessão após uma queda;
+            // o heartbeat derruba conexões mortas (a sessão ainda pode ser retomada)
+            HeartbeatGameServer heartbeat = serverType == CommunicationType.LOOPBACK
+                    ? null
+                    : new HeartbeatGameServer(GameServerFactory.createServer(serverType), timer);
+            GameServerCommunication server = heartbeat == null
+                    ? new LoopbackGameServer()
+                    : new CompositeGameServer(new ResumableGameServer(heartbeat, timer), new LoopbackGameServer());
+
+            ratings.start(RATING_SNAPSHOT_SECONDS);
+
+            // Cada par formado pelo matchmaking vira uma partida do tamanho da fila
+            for (int boardSize : NetworkProtocol.BOARD_SIZES) {
+                MatchmakingService matchmaking = new MatchmakingService((first, second) -> {
+                    // Sem nome (null) o jogador é anônimo e a partida não vale rating
+                    String firstName = playerNames.get(first);
+                    String secondName = playerNames.get(second);
+                    Match match = matches.createMatch(first, second, boardSize, m -> {
+                        m.setPlayerNames(firstName, secondName);
+                        startGame(server, m);
+                    });
+                    if (match == null) {
+                        System.err.println("Par descartado, jogador já em partida: " + first + " / " + second);
+                    }
+                });
+                matchmaking.start();
+                matchmakingBySize.put(boardSize, matchmaking);
+            }
 
             // Configura o listener para eventos do servidor usando classe anônima
             server.setServerListener(new GameServerListener() {
@@ -69,27 +139,8 @@ public class MainServer {
                  */
                 @Override
                 public void onPlayerConnected(String playerId) {
+                    // Entra na fila ao enviar CONNECT, que informa o tamanho do tabuleiro
                     System.out.println("Jogador conectado: " + playerId);
-
-                    // Verifica se o servidor já está cheio
-                    if (players.size() >= MAX_PLAYERS) {
-                        server.sendToPlayer(playerId, "ERROR", "Servidor cheio");
-                        return;
-                    }
-
-                    // Determina se é o primeiro jogador
-                    boolean isFirstPlayer = (firstPlayerConnected == null);
-                    if (isFirstPlayer) {
-                        firstPlayerConnected = playerId;
-                    }
-
-                    // Registra o novo jogador
-                    players.put(playerId, new PlayerInfo(playerId, isFirstPlayer));
-
-                    // Inicia o jogo se atingiu o número necessário de jogadores
-                    if (players.size() == MAX_PLAYERS) {
-                        startGame(server);
-                    }
                 }
 
                 /**
@@ -98,121 +149,495 @@ public class MainServer {
                 @Override
                 public void onPlayerDisconnected(String playerId) {
                     System.out.println("Jogador desconectado: " + playerId);
-
-                    // Remove o jogador desconectado
-                    players.remove(playerId);
-                    if (playerId.equals(firstPlayerConnected)) {
-                        firstPlayerConnected = null;
+                    String name = playerNames.remove(playerId);
+                    if (name != null) {
+                        nameHolders.remove(name, playerId);
                     }
-
-                    // Notifica os jogadores restantes sobre a desconexão
-                    for (String remainingPlayer : players.keySet()) {
-                        server.sendToPlayer(remainingPlayer,
-                                NetworkProtocol.GAME_END, "Oponente desconectou");
-                    }
-
-                    // Reseta o estado do servidor
-                    players.clear();
-                    firstPlayerConnected = null;
+                    Integer boardSize = playerBoardSizes.remove(playerId);
+                    MatchmakingService matchmaking = matchmakingBySize.get(
+                            boardSize != null ? boardSize : NetworkProtocol.DEFAULT_BOARD_SIZE);
+
+                    // Tira o jogador da fila de espera; se ele já tinha sido pareado,
+                    // notifica o oponente sobre a desconexão e encerra a partida
+                    matchmaking.cancel(playerId, () ->
+                            matches.executeForPlayer(playerId, match -> {
+                                String opponent = match.getOpponentOf(playerId);
+                                server.sendToPlayer(opponent,
+                                        NetworkProtocol.GAME_END, "Oponente desconectou");
+                                matches.endMatch(match);
+                            }));
                 }
 
                 /**
-                 * Chamado quando uma mensagem é recebida de um jogador
+                 * Chamado quando uma mensagem é recebida de um jogador (transportes de texto)
                  */
                 @Override
                 public void onMessageReceived(String playerId, String command, String data) {
-                    System.out.println("Mensagem recebida de " + playerId + ": " + command + " | " + data);
+                    onFrameReceived(playerId, MessageFrame.of(command, data));
+                }
+
+                /**
+                 * Chamado com a mensagem ainda em bytes; só o que o servidor interpreta é decodificado.
+                 * O frame é liberado aqui em todos os caminhos, inclusive quando a partida não existe mais.
+                 */
+                @Override
+                public void onFrameReceived(String playerId, MessageFrame frame) {
+                    String command = frame.getCommand();
 
                     // Trata diferentes tipos de mensagens
-                    if (command.equals(NetworkProtocol.GAME_END)) {
-                        handleGameEnd(server, playerId, data);
-                    } else if (command.equals(NetworkProtocol.SURRENDER)) {
-                        handleSurrender(server, playerId);
-                    } else {
-                        // Repassa mensagens normais para o outro jogador
-                        for (String otherPlayerId : players.keySet()) {
-                            if (!otherPlayerId.equals(playerId)) {
-                                server.sendToPlayer(otherPlayerId, command, data);
-                            }
-                        }
+                    // Mensagens que não dependem de uma partida
+                    if (command.equals(NetworkProtocol.CONNECT)) {
+                        System.out.println("Mensagem recebida de " + playerId + ": " + frame);
+                        String data = frame.getData();
+                        frame.release();
+                        handleConnect(server, playerId, data);
+                        return;
+                    } else if (command.equals(NetworkProtocol.LEADERBOARD)) {
+                        String data = frame.getData();
+                        frame.release();
+                        sendLeaderboard(server, playerId, data);
+                        return;
                     }
+
+                    // As demais são processadas no laço do shard dono da partida
+                    matches.executeForPlayer(playerId, match -> {
+                        try {
+                            handleMatchMessage(server, match, playerId, frame);
+                        } finally {
+                            frame.release();
+                        }
+                    }, frame::release);
                 }
             });
 
             // Inicia o servidor
             System.out.println("Iniciando servidor na porta " + port + "...");
             server.start(port);
+            ready.complete(null);
+
+            // Atrás de um GatewayServer (-Dseega.gateway=arquivo do canal de controle), registra-se nele
+            GatewayRegistration registration = createRegistration(serverType, port);
 
             // Configura shutdown hook para parada graciosa do servidor
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 System.out.println("Parando servidor...");
+                if (registration != null) {
+                    registration.stop(); // Sai do anel antes de parar de aceitar conexões
+                }
                 server.stop();
+                for (MatchmakingService matchmaking : matchmakingBySize.values()) {
+                    matchmaking.stop();
+                }
+                matches.shutdown();
+                ratings.stop();
+                timer.stop();
+                System.out.println(moveValidation);
+                System.out.println(BufferPool.getDefault());
+                if (heartbeat != null) {
+                    System.out.println(heartbeat);
+                }
             }));
 
         } catch (CommunicationException e) {
             System.err.println("Erro ao iniciar servidor: " + e.getMessage());
             e.printStackTrace();
+            ready.completeExceptionally(e);
         }
     }
 
+    /**
+     * Sinal de prontidão: completa quando o servidor iniciado por {@link #main} passa a aceitar
+     * conexões, ou com erro se a inicialização falhar. Substitui esperas fixas de quem hospeda.
+     */
+    public static CompletableFuture<Void> readiness() {
+        return ready;
+    }
+
+    /**
+     * Associa o jogador ao nome informado e o coloca na fila do tamanho de tabuleiro pedido.
+     * CONNECTs repetidos só atualizam o nome. Um nome já usado por outra conexão viva é recusado
+     * (com GAME_END): senão qualquer um jogaria valendo o rating de outro jogador.
+     */
+    private static void handleConnect(GameServerCommunication server, String playerId, String data) {
+        String name = NetworkProtocol.parseConnectName(data);
+        if (!name.isEmpty()) {
+            String holder = nameHolders.putIfAbsent(name, playerId);
+            if (holder != null && !holder.equals(playerId)) {
+                System.out.println("Nome " + name + " recusado para " + playerId + ": em uso por " + holder);
+                server.sendToPlayer(playerId, NetworkProtocol.GAME_END, "O nome " + name + " já está em uso por outro jogador conectado");
+                return;
+            }
+            String previous = playerNames.put(playerId, name);
+            if (previous != null && !previous.equals(name)) {
+                nameHolders.remove(previous, playerId);
+            }
+        }
+        int boardSize = NetworkProtocol.parseConnectBoardSize(data);
+        if (playerBoardSizes.putIfAbsent(playerId, boardSize) != null) {
+            return;
+        }
+        int rating = name.isEmpty() ? RatingService.INITIAL_RATING : ratings.getRating(name);
+        matchmakingBySize.get(boardSize).enqueue(playerId, rating);
+    }
+
+    /**
+     * Envia ao jogador o ranking no formato "nome:rating:partidas;..."
+     */
+    private static void sendLeaderboard(GameServerCommunication server, String playerId, String data) {
+        int k = 10;
+        try {
+            if (!data.isEmpty()) k = Math.min(100, Integer.parseInt(data.trim()));
+        } catch (NumberFormatException ignored) {
+            // Mantém o padrão
+        }
+        StringBuilder sb = new StringBuilder();
+        for (RatingService.Entry entry : ratings.topK(k)) {
+            if (sb.length() > 0) sb.append(';');
+            sb.append(entry.getName()).append(':').append(entry.getRating()).append(':').append(entry.getGames());
+        }
+        server.sendToPlayer(playerId, NetworkProtocol.LEADERBOARD, sb.toString());
+    }
+
     /**
      * Inicia o jogo enviando mensagens apropriadas para cada jogador
      */
-    private static void startGame(GameServerCommunication server) {
-        for (PlayerInfo player : players.values()) {
-            String startMessage = player.isFirstPlayer ? "FIRST" : "SECOND";
-            server.sendToPlayer(player.id,
-                    NetworkProtocol.GAME_START, startMessage);
+    private static void startGame(GameServerCommunication server, Match match) {
+        server.sendToPlayer(match.getFirstPlayerId(), NetworkProtocol.GAME_START, "FIRST");
+        server.sendToPlayer(match.getSecondPlayerId(), NetworkProtocol.GAME_START, "SECOND");
+        if (timeControl != null) {
+            GameClock clock = new GameClock(timeControl);
+            match.setClock(clock);
+            clock.start(PieceType.PLAYER1, System.nanoTime());
+            scheduleFlag(server, match);
+            sendClock(server, match);
+        }
+        System.out.println("Jogo iniciado: " + match);
+    }
+
+    private static GatewayRegistration createRegistration(CommunicationType serverType, int port) {
+        String control = System.getProperty("seega.gateway");
+        if (control == null) {
+            return null;
+        }
+        if (serverType != CommunicationType.SOCKET) {
+            System.err.println("O gateway só encaminha o protocolo de socket; registro ignorado");
+            return null;
+        }
+        GatewayRegistration registration = new GatewayRegistration(Paths.get(control),
+                System.getProperty("seega.gateway.host", "localhost"), port);
+        registration.start();
+        return registration;
+    }
+
+    private static TimeControl loadTimeControl() {
+        String spec = System.getProperty("seega.clock", "fischer:600+5");
+        try {
+            return TimeControl.parse(spec);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage() + ", partidas sem relógio");
+            return null;
         }
-        System.out.println("Jogo iniciado com " + players.size() + " jogadores");
     }
 
     /**
-     * Trata a desistência de um jogador
+     * Agenda no timer compartilhado a verificação de queda do relógio de quem está na vez.
+     * O prazo anterior é cancelado; se um turno chegar antes, a verificação não encontra queda.
      */
-    private static void handleSurrender(GameServerCommunication server, String surrenderingPlayer) {
-        for (String playerId : players.keySet()) {
-            String message;
-            if (playerId.equals(surrenderingPlayer)) {
-                message = "Você desistiu, o seu oponente é o vencedor!";
-            } else {
-                message = "Seu oponente desistiu! Você é o vencedor!";
+    private static void scheduleFlag(GameServerCommunication server, Match match) {
+        GameClock clock = match.getClock();
+        long delay = clock.nanosUntilFlag(System.nanoTime());
+        clock.setFlagTimeout(timer.schedule(() -> matches.execute(match, m -> {
+            if (clock.isFlagged(System.nanoTime())) {
+                handleFlagFall(server, m);
             }
+        }), delay, TimeUnit.NANOSECONDS));
+    }
 
-            server.sendToPlayer(playerId,
-                    NetworkProtocol.GAME_END, message);
+    /**
+     * Cobra o turno de quem jogou e passa o relógio para next
+     * @return false se o tempo já tinha acabado: a partida foi encerrada por tempo
+     */
+    private static boolean passClock(GameServerCommunication server, Match match, PieceType next) {
+        GameClock clock = match.getClock();
+        if (clock == null) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (!clock.endTurn(next, now)) {
+            handleFlagFall(server, match);
+            return false;
         }
+        scheduleFlag(server, match);
+        return true;
+    }
 
-        // Limpa o estado do jogo
-        players.clear();
-        firstPlayerConnected = null;
+    /**
+     * Verifica o relógio antes de aceitar um lance: um lance que chega depois da queda não vale
+     * @return false se o tempo de quem está na vez acabou (a partida foi encerrada)
+     */
+    private static boolean checkClock(GameServerCommunication server, Match match) {
+        GameClock clock = match.getClock();
+        if (clock != null && clock.isFlagged(System.nanoTime())) {
+            handleFlagFall(server, match);
+            return false;
+        }
+        return true;
+    }
+
+    private static void sendClock(GameServerCommunication server, Match match) {
+        String data = match.getClock().toData();
+        server.sendToPlayer(match.getFirstPlayerId(), NetworkProtocol.CLOCK, data);
+        server.sendToPlayer(match.getSecondPlayerId(), NetworkProtocol.CLOCK, data);
+    }
+
+    private static String playerOf(Match match, PieceType piece) {
+        return piece == PieceType.PLAYER1 ? match.getFirstPlayerId() : match.getSecondPlayerId();
     }
 
     /**
-     * Trata o fim do jogo quando um jogador vence
+     * Trata, no laço do shard, uma mensagem que depende da partida
      */
-    private static void handleGameEnd(GameServerCommunication server, String winningPlayer, String reason) {
-        for (String playerId : players.keySet()) {
-            // Pula o vencedor pois ele já viu a mensagem localmente
-            if (playerId.equals(winningPlayer)) {
-                continue;
+    private static void handleMatchMessage(GameServerCommunication server, Match match, String playerId, MessageFrame frame) {
+        String command = frame.getCommand();
+        if (command.equals(NetworkProtocol.TURN)) {
+            handleTurn(server, match, playerId, frame);
+        } else if (command.equals(NetworkProtocol.MOVE)) {
+            handleMove(server, match, playerId, frame);
+        } else if (command.equals(NetworkProtocol.GAME_END)) {
+            System.out.println("Mensagem recebida de " + playerId + ": " + frame);
+            handleGameEnd(server, match, playerId, frame.getData());
+        } else if (command.equals(NetworkProtocol.SURRENDER)) {
+            handleSurrender(server, match, playerId);
+        } else if (command.equals(NetworkProtocol.TAKEBACK)) {
+            handleTakeback(server, match, playerId, frame);
+        } else {
+            // Repassa os bytes originais para o outro jogador (sem recodificar)
+            server.sendFrame(match.getOpponentOf(playerId), frame);
+        }
+    }
+
+    /**
+     * Pedido e resposta de voltar lance. Em partidas com rating ou relógio o pedido é recusado
+     * pelo próprio servidor. O servidor guarda o pedido pendente: uma resposta só é repassada
+     * (e o ACCEPT só volta a posição) se responder a um pedido do oponente feito depois do
+     * último lance; as demais são descartadas.
+     */
+    private static void handleTakeback(GameServerCommunication server, Match match, String playerId, MessageFrame frame) {
+        String data = frame.getData();
+        if (NetworkProtocol.TAKEBACK_REQUEST.equals(data)) {
+            if (!match.requestTakeback(playerId)) {
+                server.sendToPlayer(playerId, NetworkProtocol.TAKEBACK, NetworkProtocol.TAKEBACK_REJECT);
+                return;
             }
+        } else if (!match.answerTakeback(playerId)) {
+            return;
+        }
+        if (NetworkProtocol.TAKEBACK_ACCEPT.equals(data)) {
+            // Só partidas sem relógio chegam aqui (Match.allowsTakeback): não há tempo a devolver
+            match.undoMove();
+        }
+        // Repassa os bytes originais para o outro jogador (sem recodificar)
+        server.sendFrame(match.getOpponentOf(playerId), frame);
+    }
+
+    /**
+     * Registra o lance aceito. Um pedido de voltar lance que ainda não foi respondido perde a
+     * validade; quem pediu recebe a recusa, já que a resposta do oponente será descartada.
+     */
+    private static void recordPly(GameServerCommunication server, Match match) {
+        String requester = match.recordPly();
+        if (requester != null) {
+            server.sendToPlayer(requester, NetworkProtocol.TAKEBACK, NetworkProtocol.TAKEBACK_REJECT);
+        }
+    }
 
-            // Envia mensagem apropriada para o perdedor
-            String message;
-            if (reason.equals("VICTORY_CAPTURED_ALL")) {
-                message = "Você perdeu! Todas as suas peças foram capturadas!";
-            } else {
-                message = "Você perdeu! Não há movimentos válidos disponíveis!";
+    /**
+     * Valida o lance contra a posição da partida e o repassa ao oponente.
+     * Lance inválido ou fora da vez encerra a partida com derrota de quem o enviou.
+     */
+    private static void handleMove(GameServerCommunication server, Match match, String playerId, MessageFrame frame) {
+        if (!checkClock(server, match)) {
+            return;
+        }
+        GameState state = match.getState();
+        boolean turnEnded = false;
+        if (state != null) {
+            Move move;
+            try {
+                move = Move.parse(frame.getData());
+            } catch (RuntimeException e) {
+                move = null;
+            }
+            if (move == null || match.getPieceType(playerId) != state.getToMove()
+                    || !moveValidation.isLegal(state, move)) {
+                handleIllegalMove(server, match, playerId, frame.getData());
+                return;
             }
+            match.applyMove(move);
+            turnEnded = !match.getState().isTurnInProgress();
+        }
+        recordPly(server, match);
+        server.sendFrame(match.getOpponentOf(playerId), frame);
+        // Sem posição validada (9x9) não se sabe onde o turno termina: o relógio só anda com TURN
+        if (turnEnded && match.getClock() != null && passClock(server, match, match.getState().getToMove())) {
+            sendClock(server, match);
+        }
+    }
 
-            server.sendToPlayer(playerId,
-                    NetworkProtocol.GAME_END, message);
+    /**
+     * Valida um turno completo numa cópia da posição e só então o aplica e repassa ao oponente.
+     * Lance inválido, fora da vez ou turno incompleto (ou que termina antes do último lance)
+     * encerra a partida com derrota de quem o enviou.
+     */
+    private static void handleTurn(GameServerCommunication server, Match match, String playerId, MessageFrame frame) {
+        if (!checkClock(server, match)) {
+            return;
         }
+        GameState state = match.getState();
+        if (state != null) {
+            PieceType player = match.getPieceType(playerId);
+            List<Move> steps;
+            try {
+                steps = Move.parseTurn(frame.getData());
+            } catch (RuntimeException e) {
+                steps = List.of();
+            }
+            GameState next = steps.isEmpty() || state.isTurnInProgress() ? null : state;
+            for (int i = 0; next != null && i < steps.size(); i++) {
+                Move step = steps.get(i);
+                if (next.getToMove() != player || !moveValidation.isLegal(next, step)) {
+                    next = null;
+                    break;
+                }
+                next = next.applyValidated(step);
+                boolean last = i == steps.size() - 1;
+                if (next.isTurnInProgress() == last) {
+                    next = null;
+                }
+            }
+            if (next == null) {
+                handleIllegalMove(server, match, playerId, frame.getData());
+                return;
+            }
+            match.applyTurn(next);
+        }
+        recordPly(server, match);
+        server.sendFrame(match.getOpponentOf(playerId), frame);
+        if (match.getClock() != null) {
+            // Sem posição validada, supõe que a vez passa ao oponente
+            PieceType nextToMove = match.getState() != null ? match.getState().getToMove()
+                    : match.getPieceType(match.getOpponentOf(playerId));
+            if (passClock(server, match, nextToMove)) {
+                sendClock(server, match);
+            }
+        }
+    }
 
-        // Limpa o estado do jogo
-        players.clear();
-        firstPlayerConnected = null;
+    /**
+     * Encerra a partida com derrota de quem enviou um lance inválido
+     */
+    private static void handleIllegalMove(GameServerCommunication server, Match match, String offender, String data) {
+        System.err.println("Lance inválido de " + offender + " em " + match + ": " + data);
+        String winner = match.getOpponentOf(offender);
+        server.sendToPlayer(offender, NetworkProtocol.GAME_END, "Lance inválido! Você perdeu a partida.");
+        server.sendToPlayer(winner, NetworkProtocol.GAME_END, "Seu oponente fez um lance inválido! Você é o vencedor!");
+        recordWin(match, winner, offender);
+        matches.endMatch(match);
+    }
+
+    /**
+     * Encerra a partida com derrota de quem estava com o relógio quando o tempo acabou
+     */
+    private static void handleFlagFall(GameServerCommunication server, Match match) {
+        GameClock clock = match.getClock();
+        String loser = playerOf(match, clock.getRunning());
+        String winner = match.getOpponentOf(loser);
+        clock.stop();
+        System.out.println("Tempo esgotado para " + loser + " em " + match);
+        server.sendToPlayer(loser, NetworkProtocol.GAME_END, "Seu tempo acabou! Você perdeu a partida.");
+        server.sendToPlayer(winner, NetworkProtocol.GAME_END, "O tempo do oponente acabou! Você é o vencedor!");
+        recordWin(match, winner, loser);
+        matches.endMatch(match);
+    }
+
+    /**
+     * Trata a desistência de um jogador
+     */
+    private static void handleSurrender(GameServerCommunication server, Match match, String surrenderingPlayer) {
+        server.sendToPlayer(surrenderingPlayer,
+                NetworkProtocol.GAME_END, "Você desistiu, o seu oponente é o vencedor!");
+        server.sendToPlayer(match.getOpponentOf(surrenderingPlayer),
+                NetworkProtocol.GAME_END, "Seu oponente desistiu! Você é o vencedor!");
+
+        String winner = match.getOpponentOf(surrenderingPlayer);
+        recordWin(match, winner, surrenderingPlayer);
+
+        // Limpa o estado da partida
+        matches.endMatch(match);
+    }
+
+    /**
+     * Trata o aviso de fim de jogo de um cliente (vitória ou empate). Com posição validada o
+     * resultado é conferido no GameState da partida: um aviso antes do fim é ignorado e o
+     * vencedor registrado é o da posição, não o do aviso. No 9x9 (sem posição) a partida termina
+     * como avisado, mas sem alterar o rating.
+     */
+    private static void handleGameEnd(GameServerCommunication server, Match match, String claimant, String reason) {
+        GameState state = match.getState();
+        if (state == null) {
+            String opponent = match.getOpponentOf(claimant);
+            server.sendToPlayer(opponent, NetworkProtocol.GAME_END,
+                    reason.startsWith("DRAW") ? DRAW_MESSAGE : lossMessage(reason));
+            matches.endMatch(match);
+            return;
+        }
+        if (!state.isGameOver()) {
+            System.err.println("Fim de jogo não confirmado pela posição, ignorado: " + claimant + " em " + match + ": " + reason);
+            return;
+        }
+
+        PieceType winnerPiece = state.getWinner();
+        if (winnerPiece == null) {
+            // Empate não altera o rating
+            server.sendToPlayer(match.getOpponentOf(claimant), NetworkProtocol.GAME_END, DRAW_MESSAGE);
+            if (!reason.startsWith("DRAW")) {
+                server.sendToPlayer(claimant, NetworkProtocol.GAME_END, DRAW_MESSAGE);
+            }
+            matches.endMatch(match);
+            return;
+        }
+
+        // O vencedor já viu a mensagem localmente; só o perdedor é notificado
+        String winner = playerOf(match, winnerPiece);
+        String loser = match.getOpponentOf(winner);
+        boolean captured = state.countPieces(match.getPieceType(loser)) == 0;
+        server.sendToPlayer(loser, NetworkProtocol.GAME_END,
+                lossMessage(captured ? "VICTORY_CAPTURED_ALL" : "VICTORY_BLOCKADE"));
+        if (!winner.equals(claimant)) {
+            server.sendToPlayer(winner, NetworkProtocol.GAME_END, "Fim de jogo: você é o vencedor!");
+        }
+        recordWin(match, winner, loser);
+
+        // Limpa o estado da partida
+        matches.endMatch(match);
     }
-}
 
+    /**
+     * Registra a vitória no rating se os dois jogadores se identificaram; partidas com anônimos
+     * não criam entradas (o ID da conexão não é uma identidade estável)
+     */
+    private static void recordWin(Match match, String winner, String loser) {
+        if (match.isRated()) {
+            ratings.recordWin(match.getPlayerName(winner), match.getPlayerName(loser));
+        }
+    }
+
+    private static String lossMessage(String reason) {
+        if (reason.equals("VICTORY_CAPTURED_ALL")) {
+            return "Você perdeu! Todas as suas peças foram capturadas!";
+        } else if (reason.equals("VICTORY_BLOCKADE")) {
+            return "Você perdeu! Os dois estão bloqueados e o oponente tem mais peças!";
+        }
+        return "Você perdeu! Não há movimentos válidos disponíveis!";
+    }
+}
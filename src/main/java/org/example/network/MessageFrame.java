@@ -0,0 +1,236 @@
+package org.example.network;
+
+import org.example.network.buffer.BufferPool;
+import org.example.network.buffer.PooledBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Mensagem do protocolo ainda em bytes, como chegou do transporte: "COMANDO|DADOS\n".
+ *
+ * Só o cabeçalho (o comando) é decodificado ao receber. Os dados viram String apenas se alguém
+ * pedir {@link #getData()}; para repassar a mensagem ao oponente o servidor escreve os bytes
+ * originais ({@link #writeTo}) sem passar por String nem por {@link NetworkProtocol#createMessage}.
+ * Transportes que já entregam texto (RPC, loopback) usam {@link #of(String, String)}, e aí os
+ * bytes só são montados se a mensagem for parar numa conexão de socket.
+ * A decodificação sob demanda não é sincronizada: o frame passa de uma thread para outra
+ * (leitura, depois o laço do shard), nunca é usado por duas ao mesmo tempo.
+ *
+ * Os bytes ficam num buffer do {@link BufferPool}. Quem recebe o frame é dono dele e deve chamar
+ * {@link #release()} quando terminar (frames de texto não têm buffer e a chamada não faz nada).
+ */
+public final class MessageFrame {
+    // Mesma codificação dos clientes (PrintWriter/InputStreamReader padrão)
+    private static final Charset CHARSET = Charset.defaultCharset();
+    // Em ASCII e nas codificações compatíveis os caracteres < 0x80 são copiados direto, sem encoder
+    private static final boolean ASCII_COMPATIBLE = CHARSET.equals(StandardCharsets.UTF_8)
+            || CHARSET.equals(StandardCharsets.US_ASCII) || CHARSET.equals(StandardCharsets.ISO_8859_1);
+    // Caracteres sem representação viram o substituto da codificação, como em String.getBytes
+    private static final ThreadLocal<CharsetEncoder> ENCODER = ThreadLocal.withInitial(() -> CHARSET.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE));
+
+    // Comandos conhecidos: o cabeçalho é comparado em bytes e reaproveita a constante
+    private static final String[] KNOWN_COMMANDS = {
+            NetworkProtocol.MOVE, NetworkProtocol.TURN, NetworkProtocol.CHAT, NetworkProtocol.CONNECT, NetworkProtocol.SURRENDER,
+            NetworkProtocol.GAME_START, NetworkProtocol.GAME_END, NetworkProtocol.TAKEBACK, NetworkProtocol.LEADERBOARD,
+            NetworkProtocol.ACK, NetworkProtocol.SESSION, NetworkProtocol.RESUME, NetworkProtocol.LEAVE,
+            NetworkProtocol.PONG
+    };
+    private static final byte[][] KNOWN_BYTES = new byte[KNOWN_COMMANDS.length][];
+
+    static {
+        for (int i = 0; i < KNOWN_COMMANDS.length; i++) {
+            KNOWN_BYTES[i] = KNOWN_COMMANDS[i].getBytes(CHARSET);
+        }
+    }
+
+    private final String command;
+    private PooledBuffer pooled;      // Linha completa em [0, length), terminador incluído (montada sob demanda)
+    private int length;
+    private int dataStart;
+    private int dataEnd;              // Exclui o terminador (\n ou \r\n)
+    private String data;              // Decodificado sob demanda
+
+    private MessageFrame(String command, PooledBuffer pooled, int length, int dataStart, int dataEnd) {
+        this.command = command;
+        this.pooled = pooled;
+        this.length = length;
+        this.dataStart = dataStart;
+        this.dataEnd = dataEnd;
+    }
+
+    private MessageFrame(String command, String data) {
+        this.command = command;
+        this.data = data == null ? "" : data;
+    }
+
+    /**
+     * Mensagem já decodificada (transportes de texto); os bytes são montados só se necessário
+     */
+    public static MessageFrame of(String command, String data) {
+        return new MessageFrame(command, data);
+    }
+
+    /**
+     * Cria o frame a partir de uma linha completa, de 0 até a position do buffer (terminador
+     * incluído). O buffer passa a pertencer ao frame e é devolvido ao pool em {@link #release()}.
+     */
+    public static MessageFrame of(PooledBuffer line) {
+        ByteBuffer buffer = line.buffer();
+        int end = buffer.position();
+        int contentEnd = end;
+        if (contentEnd > 0 && buffer.get(contentEnd - 1) == '\n') contentEnd--;
+        if (contentEnd > 0 && buffer.get(contentEnd - 1) == '\r') contentEnd--;
+
+        int pipe = -1;
+        for (int i = 0; i < contentEnd; i++) {
+            if (buffer.get(i) == '|') {
+                pipe = i;
+                break;
+            }
+        }
+        int headerEnd = pipe >= 0 ? pipe : contentEnd;
+        int dataStart = pipe >= 0 ? pipe + 1 : contentEnd;
+        String command = decodeCommand(buffer, headerEnd);
+        return new MessageFrame(command, line, end, dataStart, contentEnd);
+    }
+
+    /**
+     * Codifica uma mensagem montada no servidor num buffer do pool
+     */
+    public static MessageFrame encode(String command, String data) {
+        String d = data == null ? "" : data;
+        int chars = command.length() + 1 + d.length() + 1;
+        PooledBuffer line = BufferPool.getDefault().acquire((int) Math.ceil(chars * ENCODER.get().maxBytesPerChar()));
+        ByteBuffer buffer = line.buffer();
+        try {
+            put(buffer, command);
+            buffer.put((byte) '|');
+            put(buffer, d);
+            buffer.put((byte) '\n');
+        } catch (RuntimeException e) {
+            line.release();
+            throw e;
+        }
+        MessageFrame frame = of(line);
+        frame.data = d;
+        return frame;
+    }
+
+    /**
+     * Cópia independente (com buffer próprio do pool), para guardar além da vida deste frame
+     */
+    public MessageFrame copy() {
+        if (pooled == null) {
+            return of(command, data);
+        }
+        PooledBuffer line = BufferPool.getDefault().acquire(length);
+        ByteBuffer source = pooled.buffer().duplicate();
+        source.limit(length).position(0);
+        line.buffer().put(source);
+        MessageFrame frame = new MessageFrame(command, line, length, dataStart, dataEnd);
+        frame.data = data;
+        return frame;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Dados da mensagem (decodificados na primeira chamada)
+     */
+    public String getData() {
+        String d = data;
+        if (d == null) {
+            ByteBuffer view = pooled.buffer().duplicate();
+            view.position(dataStart).limit(dataEnd);
+            d = CHARSET.decode(view).toString();
+            data = d;
+        }
+        return d;
+    }
+
+    /**
+     * Escreve a linha completa no canal (bloqueante). O frame continua válido depois da escrita.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        if (pooled == null) {
+            MessageFrame encoded = encode(command, data);
+            pooled = encoded.pooled;
+            length = encoded.length;
+            dataStart = encoded.dataStart;
+            dataEnd = encoded.dataEnd;
+        }
+        ByteBuffer buffer = pooled.buffer();
+        buffer.limit(length).position(0);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Devolve o buffer ao pool; o frame não pode mais ser usado depois disso
+     */
+    public void release() {
+        PooledBuffer p = pooled;
+        if (p != null) {
+            pooled = null;
+            p.release();
+        }
+    }
+
+    private static void put(ByteBuffer buffer, String s) {
+        int n = s.length();
+        int i = 0;
+        if (ASCII_COMPATIBLE) {
+            while (i < n) {
+                char c = s.charAt(i);
+                if (c >= 0x80) break;
+                buffer.put((byte) c);
+                i++;
+            }
+        }
+        if (i < n) {
+            CharsetEncoder encoder = ENCODER.get().reset();
+            CoderResult result = encoder.encode(CharBuffer.wrap(s, i, n), buffer, true);
+            if (result.isUnderflow()) {
+                result = encoder.flush(buffer);
+            }
+            if (!result.isUnderflow()) {
+                throw new IllegalStateException("Falha ao codificar mensagem: " + result);
+            }
+        }
+    }
+
+    private static String decodeCommand(ByteBuffer line, int length) {
+        for (int k = 0; k < KNOWN_BYTES.length; k++) {
+            byte[] known = KNOWN_BYTES[k];
+            if (known.length != length) continue;
+            int i = 0;
+            while (i < length && line.get(i) == known[i]) i++;
+            if (i == length) {
+                return KNOWN_COMMANDS[k];
+            }
+        }
+        byte[] raw = new byte[length];
+        for (int i = 0; i < length; i++) {
+            raw[i] = line.get(i);
+        }
+        return new String(raw, CHARSET);
+    }
+
+    @Override
+    public String toString() {
+        return command + "|" + getData();
+    }
+}
@@ -7,12 +7,22 @@ package org.example.network;
 public class NetworkProtocol {
     // Constantes que definem todos os tipos de comandos possíveis no protocolo
 
-    /** Comando para estabelecer conexão inicial */
+    /** Comando para estabelecer conexão inicial e entrar na fila (dados: "nome,tamanho do tabuleiro") */
     public static final String CONNECT = "CONNECT";
 
-    /** Comando para movimentação de peças no tabuleiro */
+    /** Tamanhos de tabuleiro aceitos pelo servidor */
+    public static final int[] BOARD_SIZES = {5, 7, 9};
+    public static final int DEFAULT_BOARD_SIZE = 5;
+
+    /** Comando para movimentação de peças no tabuleiro (um lance avulso) */
     public static final String MOVE = "MOVE";
 
+    /**
+     * Comando com um turno completo, aplicado como unidade: as 2 colocações da preparação ou todos
+     * os passos de uma sequência de capturas (dados: lances "r,c,r,c" separados por ';')
+     */
+    public static final String TURN = "TURN";
+
     /** Comando para mensagens de chat entre jogadores */
     public static final String CHAT = "CHAT";
 
@@ -25,6 +35,55 @@ public class NetworkProtocol {
     /** Comando para sinalizar fim do jogo */
     public static final String GAME_END = "GAME_END";
 
+    /** Comando para voltar o último lance em partidas casuais (dados: REQUEST, ACCEPT ou REJECT) */
+    public static final String TAKEBACK = "TAKEBACK";
+    public static final String TAKEBACK_REQUEST = "REQUEST";
+    public static final String TAKEBACK_ACCEPT = "ACCEPT";
+    public static final String TAKEBACK_REJECT = "REJECT";
+
+    /**
+     * Servidor informa o relógio da partida no início de cada turno (dados:
+     * "vez,período,principal1,períodos1,principal2,períodos2", tempos em ms; vez é PLAYER1, PLAYER2 ou NONE)
+     */
+    public static final String CLOCK = "CLOCK";
+
+    /** Comando para consultar o ranking (dados: quantidade de jogadores) */
+    public static final String LEADERBOARD = "LEADERBOARD";
+
+    // Sessão retomável (opcional): mensagens de controle, fora da contagem de sequência
+
+    /** Cliente pede uma sessão retomável (dados vazios); o servidor responde com o token (dados: token) */
+    public static final String SESSION = "SESSION";
+
+    /** Retomada numa nova conexão (dados: "token,recebidas"), com quantas mensagens o cliente já recebeu */
+    public static final String RESUME = "RESUME";
+
+    /** Retomada aceita (dados: quantas mensagens do cliente o servidor já recebeu) */
+    public static final String RESUMED = "RESUMED";
+
+    /** Retomada recusada: sessão expirada ou mensagens já descartadas (dados: motivo) */
+    public static final String RESUME_FAILED = "RESUME_FAILED";
+
+    /** Confirmação cumulativa (dados: quantas mensagens foram recebidas até agora) */
+    public static final String ACK = "ACK";
+    public static final int ACK_INTERVAL = 8; // Mensagens recebidas entre duas confirmações
+
+    /** Cliente encerra a sessão de propósito: não há retomada a esperar */
+    public static final String LEAVE = "LEAVE";
+
+    // Heartbeat: mensagens de controle, consumidas pelo transporte e fora da contagem de sequência
+
+    /** Servidor verifica se a conexão está viva (dados: marca de tempo, devolvida intacta no PONG) */
+    public static final String PING = "PING";
+
+    /** Resposta ao PING (dados: os mesmos do PING) */
+    public static final String PONG = "PONG";
+
+    // Gateway: canal de controle local entre os servidores e o gateway
+
+    /** Servidor se registra no gateway (dados: "host:porta" onde aceita clientes de socket) */
+    public static final String REGISTER = "REGISTER";
+
     /**
      * Cria uma mensagem formatada para o protocolo.
      * O formato padrão é: "COMANDO|DADOS"
@@ -41,6 +100,49 @@ public class NetworkProtocol {
         return command + "|" + data;
     }
 
+    /**
+     * Monta os dados do CONNECT: nome do jogador e tamanho de tabuleiro desejado
+     */
+    public static String createConnectData(String playerName, int boardSize) {
+        return (playerName == null ? "" : playerName) + "," + boardSize;
+    }
+
+    /**
+     * Extrai o nome dos dados do CONNECT (aceita também só o nome, sem tamanho)
+     */
+    public static String parseConnectName(String data) {
+        int comma = data.lastIndexOf(',');
+        if (comma >= 0 && parseSize(data.substring(comma + 1)) > 0) {
+            return data.substring(0, comma).trim();
+        }
+        return data.trim();
+    }
+
+    /**
+     * Extrai o tamanho de tabuleiro dos dados do CONNECT
+     * @return o tamanho pedido, ou DEFAULT_BOARD_SIZE se ausente ou não suportado
+     */
+    public static int parseConnectBoardSize(String data) {
+        int comma = data.lastIndexOf(',');
+        if (comma >= 0) {
+            int size = parseSize(data.substring(comma + 1));
+            for (int supported : BOARD_SIZES) {
+                if (supported == size) {
+                    return size;
+                }
+            }
+        }
+        return DEFAULT_BOARD_SIZE;
+    }
+
+    private static int parseSize(String text) {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     /**
      * Interpreta uma mensagem recebida, separando-a em comando e dados.
      *
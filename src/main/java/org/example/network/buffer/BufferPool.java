@@ -0,0 +1,161 @@
+package org.example.network.buffer;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool de ByteBuffers diretos para o caminho de rede (socket e frames do servidor).
+ *
+ * Os buffers são agrupados em classes de tamanho (256 B, 1 KB, 4 KB e 16 KB); pedidos maiores
+ * recebem um buffer avulso que não volta para o pool. Cada thread tem um cache pequeno por classe,
+ * e o excedente vai para uma fila global sem travas, de onde as outras threads pegam: a thread de
+ * leitura pega e o laço do shard devolve, então os buffers circulam pela fila global.
+ *
+ * Detecção de vazamentos: cada {@link PooledBuffer} é registrado uma única vez num Cleaner. Um
+ * buffer dentro do pool continua alcançável, então se o Cleaner roda com o buffer ainda emprestado
+ * ninguém o liberou. O local do empréstimo só é gravado com -Dseega.buffer.leakTrace=true, pois
+ * capturar a pilha a cada empréstimo é caro.
+ */
+public final class BufferPool {
+    // Maior classe de tamanho; acima dela os buffers são avulsos
+    public static final int LARGEST_CLASS = 16 * 1024;
+    private static final int[] SIZE_CLASSES = {256, 1024, 4 * 1024, LARGEST_CLASS};
+    private static final int THREAD_CACHE_SIZE = 32;        // Buffers por classe no cache de cada thread
+    private static final int GLOBAL_CACHE_SIZE = 4096;      // Buffers por classe na fila global
+    private static final boolean LEAK_TRACE = Boolean.getBoolean("seega.buffer.leakTrace");
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private static final BufferPool DEFAULT = new BufferPool();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final ThreadLocal<ArrayDeque<PooledBuffer>[]> threadCaches = ThreadLocal.withInitial(() -> {
+        ArrayDeque<PooledBuffer>[] caches = new ArrayDeque[SIZE_CLASSES.length];
+        for (int i = 0; i < caches.length; i++) {
+            caches[i] = new ArrayDeque<>(THREAD_CACHE_SIZE);
+        }
+        return caches;
+    });
+    private final ConcurrentLinkedQueue<PooledBuffer>[] global;
+    private final AtomicInteger[] globalSizes;
+
+    private final LongAdder allocated = new LongAdder();   // Buffers criados
+    private final LongAdder reused = new LongAdder();      // Empréstimos atendidos pelo pool
+    private final LongAdder outstanding = new LongAdder(); // Emprestados e ainda não liberados
+    private final LongAdder leaks = new LongAdder();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BufferPool() {
+        global = new ConcurrentLinkedQueue[SIZE_CLASSES.length];
+        globalSizes = new AtomicInteger[SIZE_CLASSES.length];
+        for (int i = 0; i < SIZE_CLASSES.length; i++) {
+            global[i] = new ConcurrentLinkedQueue<>();
+            globalSizes[i] = new AtomicInteger();
+        }
+    }
+
+    /**
+     * Pool compartilhado pelo processo
+     */
+    public static BufferPool getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Empresta um buffer com pelo menos minCapacity bytes, limpo (position 0, limit = capacidade)
+     */
+    public PooledBuffer acquire(int minCapacity) {
+        int sizeClass = sizeClassFor(minCapacity);
+        PooledBuffer pooled = null;
+        if (sizeClass >= 0) {
+            pooled = threadCaches.get()[sizeClass].pollLast();
+            if (pooled == null) {
+                pooled = global[sizeClass].poll();
+                if (pooled != null) {
+                    globalSizes[sizeClass].decrementAndGet();
+                }
+            }
+        }
+        if (pooled != null) {
+            reused.increment();
+        } else {
+            pooled = allocate(sizeClass, minCapacity);
+        }
+        pooled.leak.inUse.set(true);
+        if (LEAK_TRACE) {
+            pooled.leak.acquiredAt = new Throwable("Buffer emprestado aqui");
+        }
+        pooled.buffer().clear();
+        outstanding.increment();
+        return pooled;
+    }
+
+    /**
+     * Chamado por {@link PooledBuffer#release()}
+     */
+    void recycle(PooledBuffer pooled) {
+        outstanding.decrement();
+        int sizeClass = pooled.sizeClass();
+        if (sizeClass < 0) {
+            return; // Avulso: fica para o GC
+        }
+        ArrayDeque<PooledBuffer> local = threadCaches.get()[sizeClass];
+        if (local.size() < THREAD_CACHE_SIZE) {
+            local.addLast(pooled);
+        } else if (globalSizes[sizeClass].incrementAndGet() <= GLOBAL_CACHE_SIZE) {
+            global[sizeClass].offer(pooled);
+        } else {
+            // Pool cheio: descarta (sem vazamento, já foi liberado)
+            globalSizes[sizeClass].decrementAndGet();
+        }
+    }
+
+    private PooledBuffer allocate(int sizeClass, int minCapacity) {
+        int capacity = sizeClass >= 0 ? SIZE_CLASSES[sizeClass] : minCapacity;
+        PooledBuffer.LeakState leak = new PooledBuffer.LeakState();
+        PooledBuffer pooled = new PooledBuffer(this, ByteBuffer.allocateDirect(capacity), sizeClass, leak);
+        CLEANER.register(pooled, () -> {
+            if (leak.inUse.get()) {
+                reportLeak(leak, capacity);
+            }
+        });
+        allocated.increment();
+        return pooled;
+    }
+
+    private void reportLeak(PooledBuffer.LeakState leak, int capacity) {
+        leaks.increment();
+        outstanding.decrement();
+        Throwable site = leak.acquiredAt;
+        if (site != null) {
+            System.err.println("Vazamento de buffer de " + capacity + " bytes (não liberado antes do GC)");
+            site.printStackTrace();
+        } else {
+            System.err.println("Vazamento de buffer de " + capacity
+                    + " bytes (não liberado antes do GC); use -Dseega.buffer.leakTrace=true para ver a origem");
+        }
+    }
+
+    private static int sizeClassFor(int capacity) {
+        for (int i = 0; i < SIZE_CLASSES.length; i++) {
+            if (capacity <= SIZE_CLASSES[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public long getAllocated() { return allocated.sum(); }
+    public long getReused() { return reused.sum(); }
+    public long getOutstanding() { return outstanding.sum(); }
+    public long getLeaks() { return leaks.sum(); }
+
+    @Override
+    public String toString() {
+        return String.format("BufferPool[%d criados, %d reaproveitados, %d emprestados, %d vazamentos]",
+                getAllocated(), getReused(), getOutstanding(), getLeaks());
+    }
+}
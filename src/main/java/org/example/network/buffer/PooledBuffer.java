@@ -0,0 +1,60 @@
+package org.example.network.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ByteBuffer direto emprestado de um {@link BufferPool}. O próprio objeto volta para o pool junto
+ * com o buffer, então um empréstimo não aloca nada depois do aquecimento.
+ *
+ * Quem recebe o buffer é dono dele até chamar {@link #release()}, exatamente uma vez; depois disso
+ * não pode mais usá-lo. Um buffer que deixa de ser referenciado sem ter sido liberado é acusado
+ * como vazamento pelo pool.
+ */
+public final class PooledBuffer {
+    private final BufferPool pool;
+    private final ByteBuffer buffer;
+    private final int sizeClass;       // Índice da classe de tamanho, ou -1 se não é reaproveitado
+    final LeakState leak;              // Compartilhado com o Cleaner (não referencia este objeto)
+
+    PooledBuffer(BufferPool pool, ByteBuffer buffer, int sizeClass, LeakState leak) {
+        this.pool = pool;
+        this.buffer = buffer;
+        this.sizeClass = sizeClass;
+        this.leak = leak;
+    }
+
+    /**
+     * O buffer em si; position e limit são livres para o dono usar
+     */
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    int sizeClass() {
+        return sizeClass;
+    }
+
+    /**
+     * Devolve o buffer ao pool
+     * @throws IllegalStateException se já tiver sido liberado
+     */
+    public void release() {
+        if (!leak.inUse.compareAndSet(true, false)) {
+            throw new IllegalStateException("Buffer liberado duas vezes");
+        }
+        pool.recycle(this);
+    }
+
+    /**
+     * Estado visto pelo detector de vazamentos: se o buffer está emprestado e onde foi pego
+     */
+    static final class LeakState {
+        final AtomicBoolean inUse = new AtomicBoolean();
+        volatile Throwable acquiredAt;   // Só preenchido com o rastreamento ligado
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.network.buffer;
+
+import org.example.network.MessageFrame;
+import org.example.network.NetworkProtocol;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Benchmark de pressão no GC do repasse de mensagens: bytes alocados no heap por mensagem
+ * recebida e repassada ao oponente.
+ *
+ * Uso: RelayAllocationBenchmark [mensagens] [rodadas]
+ * Compara o caminho antigo por String (decodifica a linha, separa comando e dados, remonta com
+ * createMessage e codifica de novo) com o caminho atual (cópia para um buffer do pool, frame sem
+ * decodificar os dados, escrita direta e devolução ao pool). A medição usa o contador de alocação
+ * da própria thread, então só conta o que o repasse aloca.
+ */
+public class RelayAllocationBenchmark {
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    public static void main(String[] args) throws IOException {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        ByteBuffer input = ByteBuffer.allocateDirect(64 * 1024);
+        String[] lines = {
+                "MOVE|2,3,2,4\n", "MOVE|-1,-1,0,1\n", "CHAT|boa partida!\n", "TAKEBACK|REQUEST\n"
+        };
+        for (int i = 0; input.remaining() > 64; i++) {
+            input.put(lines[i % lines.length].getBytes(CHARSET));
+        }
+        input.flip();
+        BlackHole sink = new BlackHole();
+
+        for (int round = 1; round <= rounds; round++) {
+            // Rodadas iniciais servem de aquecimento (JIT e enchimento do pool)
+            long before = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            relayStrings(input, messages, sink);
+            long stringBytes = threads.getThreadAllocatedBytes(threadId) - before;
+            long stringNanos = System.nanoTime() - start;
+
+            before = threads.getThreadAllocatedBytes(threadId);
+            start = System.nanoTime();
+            relayPooled(input, messages, sink);
+            long pooledBytes = threads.getThreadAllocatedBytes(threadId) - before;
+            long pooledNanos = System.nanoTime() - start;
+
+            System.out.printf("Rodada %d: String %.1f B/msg (%.0f ns/msg) | pool %.1f B/msg (%.0f ns/msg)%n",
+                    round, (double) stringBytes / messages, (double) stringNanos / messages,
+                    (double) pooledBytes / messages, (double) pooledNanos / messages);
+        }
+        System.out.println(BufferPool.getDefault());
+        System.out.println("Bytes escritos: " + sink.written);
+    }
+
+    /**
+     * Caminho antigo: linha -> String -> parseMessage -> createMessage -> bytes
+     */
+    private static void relayStrings(ByteBuffer input, int messages, BlackHole sink) {
+        ByteBuffer view = input.duplicate();
+        int relayed = 0;
+        while (relayed < messages) {
+            int start = 0;
+            for (int i = 0; i < input.limit() && relayed < messages; i++) {
+                if (input.get(i) != '\n') continue;
+                byte[] raw = new byte[i - start];
+                view.limit(i).position(start);
+                view.get(raw);
+                start = i + 1;
+                String[] parts = NetworkProtocol.parseMessage(new String(raw, CHARSET));
+                String out = NetworkProtocol.createMessage(parts[0], parts[1]) + "\n";
+                sink.write(ByteBuffer.wrap(out.getBytes(CHARSET)));
+                relayed++;
+            }
+        }
+    }
+
+    /**
+     * Caminho atual: linha -> buffer do pool -> MessageFrame -> escrita dos mesmos bytes
+     */
+    private static void relayPooled(ByteBuffer input, int messages, BlackHole sink) throws IOException {
+        BufferPool pool = BufferPool.getDefault();
+        ByteBuffer view = input.duplicate();
+        int relayed = 0;
+        while (relayed < messages) {
+            int start = 0;
+            for (int i = 0; i < input.limit() && relayed < messages; i++) {
+                if (input.get(i) != '\n') continue;
+                PooledBuffer line = pool.acquire(i + 1 - start);
+                view.limit(i + 1).position(start);
+                line.buffer().put(view);
+                start = i + 1;
+                MessageFrame frame = MessageFrame.of(line);
+                try {
+                    frame.writeTo(sink);
+                } finally {
+                    frame.release();
+                }
+                relayed++;
+            }
+        }
+    }
+
+    /**
+     * Canal que descarta o que recebe
+     */
+    private static final class BlackHole implements WritableByteChannel {
+        long written;
+
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            src.position(src.limit());
+            written += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
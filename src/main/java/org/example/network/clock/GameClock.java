@@ -0,0 +1,139 @@
+package org.example.network.clock;
+
+import org.example.common.PieceType;
+import org.example.network.timer.HashedWheelTimer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relógio de uma partida, mantido pelo servidor. Só corre o tempo de quem está na vez: ao fim de
+ * cada turno o tempo gasto é cobrado de quem jogou (com acréscimo Fischer ou uso de períodos de
+ * byoyomi) e o relógio passa para o próximo.
+ *
+ * O relógio não tem thread nem tarefa própria: guarda só os tempos e o início do turno, e quem o
+ * usa agenda a queda ({@link #nanosUntilFlag}) num timer compartilhado e registra o prazo em
+ * {@link #setFlagTimeout}. Como a partida, só é alterado pelo laço do shard dela; apenas
+ * {@link #cancelFlagTimeout()} pode ser chamado de outra thread.
+ */
+public class GameClock {
+    private final TimeControl control;
+    private final long incrementNanos;
+    private final long periodNanos;
+    private final long[] mainNanos = new long[2];   // Tempo principal restante no início do turno
+    private final int[] periodsLeft = new int[2];
+    private PieceType running;                      // Quem está com o relógio; null parado
+    private long turnStart;                         // System.nanoTime() do início do turno
+    private volatile HashedWheelTimer.Timeout flagTimeout;
+
+    public GameClock(TimeControl control) {
+        this.control = control;
+        this.incrementNanos = TimeUnit.MILLISECONDS.toNanos(control.getIncrementMillis());
+        this.periodNanos = TimeUnit.MILLISECONDS.toNanos(control.getPeriodMillis());
+        for (int i = 0; i < 2; i++) {
+            mainNanos[i] = TimeUnit.MILLISECONDS.toNanos(control.getMainMillis());
+            periodsLeft[i] = control.getPeriods();
+        }
+    }
+
+    public TimeControl getControl() { return control; }
+    public PieceType getRunning() { return running; }
+
+    /**
+     * Liga o relógio de quem começa
+     */
+    public void start(PieceType first, long now) {
+        running = first;
+        turnStart = now;
+    }
+
+    /**
+     * Encerra o turno de quem está com o relógio: cobra o tempo, soma o acréscimo e passa para next
+     * @return false se o tempo de quem jogou já tinha acabado (nada é alterado)
+     */
+    public boolean endTurn(PieceType next, long now) {
+        if (running == null) {
+            return true;
+        }
+        int i = index(running);
+        long elapsed = now - turnStart;
+        long main = mainNanos[i];
+        if (elapsed > main) {
+            // Tempo principal esgotado: perde os períodos inteiros ultrapassados, o atual se renova
+            if (periodNanos == 0) {
+                return false;
+            }
+            long used = (elapsed - main) / periodNanos;
+            if (used >= periodsLeft[i]) {
+                return false;
+            }
+            periodsLeft[i] -= (int) used;
+            main = 0;
+        } else {
+            main -= elapsed;
+        }
+        mainNanos[i] = main + incrementNanos;
+        running = next;
+        turnStart = now;
+        return true;
+    }
+
+    /**
+     * Quanto falta para o relógio de quem está na vez cair (Long.MAX_VALUE se parado)
+     */
+    public long nanosUntilFlag(long now) {
+        if (running == null) {
+            return Long.MAX_VALUE;
+        }
+        int i = index(running);
+        return mainNanos[i] + periodsLeft[i] * periodNanos - (now - turnStart);
+    }
+
+    public boolean isFlagged(long now) {
+        return nanosUntilFlag(now) <= 0;
+    }
+
+    /**
+     * Para o relógio (fim de partida)
+     */
+    public void stop() {
+        running = null;
+        cancelFlagTimeout();
+    }
+
+    /**
+     * Registra o prazo de queda agendado, cancelando o anterior
+     */
+    public void setFlagTimeout(HashedWheelTimer.Timeout timeout) {
+        HashedWheelTimer.Timeout previous = flagTimeout;
+        flagTimeout = timeout;
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    public void cancelFlagTimeout() {
+        HashedWheelTimer.Timeout timeout = flagTimeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Dados da mensagem CLOCK, com os tempos do início do turno atual (ms):
+     * "vez,período,principal1,períodos1,principal2,períodos2" (vez é PLAYER1, PLAYER2 ou NONE)
+     */
+    public String toData() {
+        return (running == null ? "NONE" : running.name()) + "," + control.getPeriodMillis()
+                + "," + TimeUnit.NANOSECONDS.toMillis(mainNanos[0]) + "," + periodsLeft[0]
+                + "," + TimeUnit.NANOSECONDS.toMillis(mainNanos[1]) + "," + periodsLeft[1];
+    }
+
+    private static int index(PieceType side) {
+        return side == PieceType.PLAYER1 ? 0 : 1;
+    }
+
+    @Override
+    public String toString() {
+        return "GameClock[" + control + ", " + toData() + "]";
+    }
+}
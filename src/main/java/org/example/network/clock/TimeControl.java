@@ -0,0 +1,81 @@
+package org.example.network.clock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controle de tempo das partidas: tempo principal mais acréscimo por lance (Fischer) ou mais
+ * períodos de byoyomi. No byoyomi, esgotado o tempo principal, cada turno tem um período; um turno
+ * que termina dentro dele não gasta nada, e cada período inteiro ultrapassado é perdido.
+ * O relógio cai quando o tempo principal e todos os períodos acabam.
+ */
+public final class TimeControl {
+    private final long mainMillis;
+    private final long incrementMillis;
+    private final int periods;
+    private final long periodMillis;
+
+    private TimeControl(long mainMillis, long incrementMillis, int periods, long periodMillis) {
+        if (mainMillis < 0 || incrementMillis < 0 || periods < 0 || periodMillis < 0
+                || (periods > 0) != (periodMillis > 0) || mainMillis + periods * periodMillis <= 0) {
+            throw new IllegalArgumentException("Controle de tempo inválido");
+        }
+        this.mainMillis = mainMillis;
+        this.incrementMillis = incrementMillis;
+        this.periods = periods;
+        this.periodMillis = periodMillis;
+    }
+
+    /**
+     * Tempo principal com acréscimo a cada turno jogado
+     */
+    public static TimeControl fischer(long main, long increment, TimeUnit unit) {
+        return new TimeControl(unit.toMillis(main), unit.toMillis(increment), 0, 0);
+    }
+
+    /**
+     * Tempo principal seguido de períodos de byoyomi
+     */
+    public static TimeControl byoyomi(long main, int periods, long period, TimeUnit unit) {
+        return new TimeControl(unit.toMillis(main), 0, periods, unit.toMillis(period));
+    }
+
+    /**
+     * Interpreta a configuração, em segundos: "fischer:300+5", "byoyomi:600,5x30" ou "none"
+     * @return o controle de tempo, ou null para partidas sem relógio
+     */
+    public static TimeControl parse(String spec) {
+        String s = spec.trim().toLowerCase();
+        if (s.isEmpty() || s.equals("none")) {
+            return null;
+        }
+        try {
+            if (s.startsWith("fischer:")) {
+                String[] parts = s.substring(8).split("\\+", 2);
+                long increment = parts.length > 1 ? Long.parseLong(parts[1].trim()) : 0;
+                return fischer(Long.parseLong(parts[0].trim()), increment, TimeUnit.SECONDS);
+            }
+            if (s.startsWith("byoyomi:")) {
+                String[] parts = s.substring(8).split(",", 2);
+                String[] periods = parts[1].split("x", 2);
+                return byoyomi(Long.parseLong(parts[0].trim()), Integer.parseInt(periods[0].trim()),
+                        Long.parseLong(periods[1].trim()), TimeUnit.SECONDS);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Controle de tempo inválido: " + spec, e);
+        }
+        throw new IllegalArgumentException("Controle de tempo inválido: " + spec);
+    }
+
+    public long getMainMillis() { return mainMillis; }
+    public long getIncrementMillis() { return incrementMillis; }
+    public int getPeriods() { return periods; }
+    public long getPeriodMillis() { return periodMillis; }
+
+    @Override
+    public String toString() {
+        if (periods > 0) {
+            return "byoyomi:" + mainMillis / 1000 + "," + periods + "x" + periodMillis / 1000;
+        }
+        return "fischer:" + mainMillis / 1000 + "+" + incrementMillis / 1000;
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.network.gateway;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Anel de hash consistente com nós virtuais: cada nó ocupa vários pontos do anel e uma chave
+ * pertence ao primeiro ponto no sentido horário. Quando um nó entra ou sai, só as chaves dos seus
+ * pontos mudam de dono; as demais continuam onde estavam.
+ *
+ * Alterações são sincronizadas e publicam uma cópia ordenada do anel; as consultas são uma busca
+ * binária sem trava sobre a cópia atual.
+ */
+public class ConsistentHashRing<T> {
+    private final int virtualNodes;
+    private final Function<T, String> keyOf;
+    private final TreeMap<Long, T> points = new TreeMap<>();   // Protegido por this
+    private volatile Snapshot snapshot = new Snapshot(new long[0], new Object[0]);
+    private int size;
+
+    /**
+     * @param virtualNodes pontos por nó (mais pontos, distribuição mais uniforme)
+     * @param keyOf identidade estável do nó, usada para calcular os seus pontos
+     */
+    public ConsistentHashRing(int virtualNodes, Function<T, String> keyOf) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Quantidade de nós virtuais deve ser positiva");
+        }
+        this.virtualNodes = virtualNodes;
+        this.keyOf = keyOf;
+    }
+
+    public synchronized void add(T node) {
+        String key = keyOf.apply(node);
+        for (int i = 0; i < virtualNodes; i++) {
+            points.put(hash(key + "#" + i), node);
+        }
+        size++;
+        publish();
+    }
+
+    /**
+     * @return false se o nó não estava no anel
+     */
+    public synchronized boolean remove(T node) {
+        String key = keyOf.apply(node);
+        boolean removed = false;
+        for (int i = 0; i < virtualNodes; i++) {
+            removed |= points.remove(hash(key + "#" + i), node);
+        }
+        if (removed) {
+            size--;
+            publish();
+        }
+        return removed;
+    }
+
+    /**
+     * Dono da chave, ou null se o anel está vazio
+     */
+    @SuppressWarnings("unchecked")
+    public T get(String key) {
+        Snapshot s = snapshot;
+        long[] h = s.hashes;
+        if (h.length == 0) {
+            return null;
+        }
+        int i = Arrays.binarySearch(h, hash(key));
+        if (i < 0) {
+            i = -i - 1;
+            if (i == h.length) {
+                i = 0; // Dá a volta no anel
+            }
+        }
+        return (T) s.owners[i];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void publish() {
+        long[] h = new long[points.size()];
+        Object[] o = new Object[points.size()];
+        int i = 0;
+        for (Map.Entry<Long, T> e : points.entrySet()) {
+            h[i] = e.getKey();
+            o[i] = e.getValue();
+            i++;
+        }
+        snapshot = new Snapshot(h, o);
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre os bytes UTF-8, com a mistura final do MurmurHash3 para espalhar
+     * chaves parecidas ("sala-1", "sala-2") pelo anel
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Cópia imutável do anel: pontos ordenados e o dono de cada um
+     */
+    private static final class Snapshot {
+        final long[] hashes;
+        final Object[] owners;
+
+        Snapshot(long[] hashes, Object[] owners) {
+            this.hashes = hashes;
+            this.owners = owners;
+        }
+    }
+}
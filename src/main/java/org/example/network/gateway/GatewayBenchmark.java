@@ -0,0 +1,125 @@
+package org.example.network.gateway;
+
+import org.example.ai.BotClient;
+import org.example.ai.RandomBot;
+import org.example.communication.CommunicationException;
+import org.example.communication.socket.SocketCommunication;
+import org.example.network.MainServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de escala horizontal numa só máquina: partidas por segundo atrás do gateway com
+ * 1, 2, ... N processos {@link MainServer}.
+ *
+ * Uso: GatewayBenchmark [servidores] [bots] [porta inicial] [pin]
+ * Para cada quantidade, sobe os servidores como processos separados (registrados pelo canal de
+ * controle), um {@link GatewayServer} neste processo e os bots, que jogam partidas completas
+ * pelo gateway. Com "pin", cada servidor fica preso a uma CPU (taskset), simulando uma máquina
+ * por servidor; sem núcleos livres para os novos processos o ganho não aparece.
+ */
+public class GatewayBenchmark {
+    public static void main(String[] args) throws Exception {
+        int maxBackends = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int bots = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int basePort = args.length > 2 ? Integer.parseInt(args[2]) : 23000;
+        boolean pin = args.length > 3 && args[3].equals("pin");
+        int cpus = Runtime.getRuntime().availableProcessors();
+
+        Path workDir = Files.createTempDirectory("seega-gateway");
+        ExecutorService thinkPool = Executors.newFixedThreadPool(cpus);
+        double baseline = 0;
+        System.out.printf("%d CPUs, %d bots por rodada%s%n", cpus, bots, pin ? ", servidores presos a uma CPU" : "");
+
+        for (int n = 1; n <= maxBackends; n++) {
+            int gatewayPort = basePort + 100 * n;
+            Path control = workDir.resolve("gateway-" + n + ".sock");
+            GatewayServer gateway = new GatewayServer(gatewayPort, control);
+            gateway.start();
+            List<Process> backends = new ArrayList<>();
+            try {
+                for (int i = 0; i < n; i++) {
+                    backends.add(startBackend(workDir, control, gatewayPort + 1 + i, pin ? i % cpus : -1));
+                }
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+                while (gateway.getBackendCount() < n && System.nanoTime() < deadline) {
+                    Thread.sleep(100);
+                }
+                if (gateway.getBackendCount() < n) {
+                    System.err.println("Servidores não se registraram a tempo");
+                    break;
+                }
+
+                double gamesPerSecond = run(gatewayPort, bots, thinkPool);
+                if (n == 1) {
+                    baseline = gamesPerSecond;
+                }
+                System.out.printf("%d servidor(es): %.1f partidas/s (%.2fx)%n", n, gamesPerSecond, gamesPerSecond / baseline);
+            } finally {
+                for (Process backend : backends) {
+                    backend.destroy();
+                }
+                for (Process backend : backends) {
+                    backend.waitFor(10, TimeUnit.SECONDS);
+                }
+                gateway.stop();
+            }
+        }
+        thinkPool.shutdown();
+        System.exit(0);
+    }
+
+    private static Process startBackend(Path workDir, Path control, int port, int cpu) throws IOException {
+        List<String> command = new ArrayList<>();
+        if (cpu >= 0) {
+            command.add("taskset");
+            command.add("-c");
+            command.add(String.valueOf(cpu));
+        }
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("-Dseega.gateway=" + control);
+        command.add("-Dseega.ratings.file=" + workDir.resolve("ratings-" + port + ".dat"));
+        command.add(MainServer.class.getName());
+        command.add(String.valueOf(port));
+        command.add("SOCKET");
+        return new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    /**
+     * Joga uma partida por par de bots pelo gateway
+     * @return partidas terminadas por segundo
+     */
+    private static double run(int port, int bots, ExecutorService thinkPool) throws InterruptedException {
+        BotClient[] clients = new BotClient[bots];
+        long start = System.nanoTime();
+        for (int i = 0; i < bots; i++) {
+            clients[i] = new BotClient("bench-" + i, new RandomBot(), new SocketCommunication(), thinkPool);
+            try {
+                clients[i].connect("localhost", port);
+            } catch (CommunicationException e) {
+                System.err.println("Erro ao conectar: " + e.getMessage());
+            }
+        }
+        int finished = 0;
+        for (BotClient client : clients) {
+            if (client.awaitGameEnd(5, TimeUnit.MINUTES)) {
+                finished++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return finished / 2.0 / seconds;
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.network.gateway;
+
+import org.example.network.NetworkProtocol;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+/**
+ * Lado do servidor no canal de controle do {@link GatewayServer}: registra o endereço de socket e
+ * mantém a conexão aberta enquanto o servidor estiver no ar. Se o gateway reinicia, registra de
+ * novo; {@link #stop()} fecha a conexão e o gateway tira o servidor do anel.
+ */
+public class GatewayRegistration {
+    private static final long RETRY_MILLIS = 1000;
+
+    private final Path controlPath;
+    private final String address;
+    private volatile boolean running;
+    private volatile SocketChannel channel;
+
+    /**
+     * @param host endereço pelo qual o gateway alcança este servidor
+     * @param port porta de socket deste servidor
+     */
+    public GatewayRegistration(Path controlPath, String host, int port) {
+        this.controlPath = controlPath;
+        this.address = host + ":" + port;
+    }
+
+    public void start() {
+        running = true;
+        Thread t = new Thread(this::run, "gateway-registration");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public void stop() {
+        running = false;
+        SocketChannel c = channel;
+        if (c != null) {
+            try {
+                c.close();
+            } catch (IOException e) {
+                // Já fechado
+            }
+        }
+    }
+
+    private void run() {
+        boolean announced = false;
+        while (running) {
+            try (SocketChannel c = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+                c.connect(UnixDomainSocketAddress.of(controlPath));
+                channel = c;
+                String line = NetworkProtocol.createMessage(NetworkProtocol.REGISTER, address) + "\n";
+                ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(Charset.defaultCharset()));
+                while (buffer.hasRemaining()) {
+                    c.write(buffer);
+                }
+                System.out.println("Registrado no gateway (" + controlPath + ") como " + address);
+                announced = false;
+                // O gateway nunca responde: a leitura só termina quando ele fecha a conexão
+                InputStream in = Channels.newInputStream(c);
+                while (in.read() >= 0) {
+                }
+            } catch (IOException e) {
+                if (running && !announced) {
+                    System.err.println("Gateway indisponível em " + controlPath + ", tentando de novo...");
+                    announced = true;
+                }
+            }
+            channel = null;
+            if (running) {
+                try {
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
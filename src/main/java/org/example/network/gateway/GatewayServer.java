@@ -0,0 +1,471 @@
+package org.example.network.gateway;
+
+import org.example.network.NetworkProtocol;
+import org.example.network.session.ResumableGameServer;
+import org.example.network.timer.HashedWheelTimer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gateway que distribui as partidas entre vários processos {@code MainServer} (protocolo de socket).
+ *
+ * Os servidores se registram por um canal de controle local (socket Unix): cada um abre uma
+ * conexão, manda REGISTER com o endereço onde aceita clientes e a mantém aberta. Quando a conexão
+ * fecha (o processo saiu ou caiu), o servidor sai do anel de {@link ConsistentHashRing hash
+ * consistente} e as novas salas passam para os demais; só as salas dele mudam de dono.
+ *
+ * Cada cliente é ligado a um servidor pela sala: o gateway agrupa os CONNECT que chegam, por
+ * tamanho de tabuleiro, em salas de dois jogadores, e o dono da sala no anel recebe os dois (que
+ * então se encontram no matchmaking dele). Se quem abriu a sala sai antes de ela completar, a sala
+ * é fechada: o próximo jogador abre outra em vez de ir sozinho para aquele servidor. A partir
+ * daí o gateway só copia os bytes nos dois
+ * sentidos. Partidas em andamento não migram: continuam no servidor onde começaram, inclusive as
+ * retomadas (RESUME vai para o servidor que criou o token de sessão).
+ *
+ * Uso: GatewayServer [porta] [arquivo do canal de controle]
+ */
+public class GatewayServer {
+    public static final int DEFAULT_PORT = 12345;
+    // Pontos de cada servidor no anel
+    private static final int VIRTUAL_NODES = 128;
+    private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+    private static final int BUFFER_SIZE = 8192;
+    // Limite das mensagens lidas antes de escolher o servidor (CONNECT, SESSION, RESUME...)
+    private static final int MAX_HEAD_BYTES = 4096;
+    // Tokens de sessão sem conexão são esquecidos depois da tolerância de retomada do servidor
+    private static final long SESSION_RETENTION_SECONDS = ResumableGameServer.DEFAULT_GRACE_SECONDS + 10;
+    // Mesma codificação dos clientes e servidores (ver MessageFrame)
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    private final int port;
+    private final Path controlPath;
+    private final ConsistentHashRing<Backend> ring = new ConsistentHashRing<>(VIRTUAL_NODES, Backend::toString);
+    private final ConcurrentHashMap<String, Route> sessions = new ConcurrentHashMap<>();
+    private final HashedWheelTimer timer = new HashedWheelTimer("gateway-timer", 1, TimeUnit.SECONDS, 64);
+
+    // Sala aberta (esperando o segundo jogador) por tamanho de tabuleiro; protegido por rooms
+    private final Map<Integer, String> rooms = new HashMap<>();
+    private final AtomicLong roomSequence = new AtomicLong();
+
+    private final LongAdder routed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+
+    private volatile boolean running;
+    private ServerSocket clientSocket;
+    private ServerSocketChannel controlChannel;
+
+    public GatewayServer(int port, Path controlPath) {
+        this.port = port;
+        this.controlPath = controlPath;
+    }
+
+    /**
+     * Arquivo padrão do canal de controle (-Dseega.gateway.control)
+     */
+    public static Path defaultControlPath() {
+        return Paths.get(System.getProperty("seega.gateway.control",
+                Paths.get(System.getProperty("java.io.tmpdir"), "seega-gateway.sock").toString()));
+    }
+
+    public void start() throws IOException {
+        Files.deleteIfExists(controlPath); // Arquivo de uma execução anterior
+        controlChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        controlChannel.bind(UnixDomainSocketAddress.of(controlPath));
+        clientSocket = new ServerSocket(port);
+        running = true;
+        startThread("gateway-control", this::acceptBackends);
+        // Thread comum (não daemon): mantém o processo do gateway vivo
+        new Thread(this::acceptClients, "gateway-accept").start();
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            if (clientSocket != null) clientSocket.close();
+            if (controlChannel != null) controlChannel.close();
+            Files.deleteIfExists(controlPath);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        timer.stop();
+    }
+
+    public int getBackendCount() {
+        return ring.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GatewayServer[%d servidores, %d conexões ativas, %d encaminhadas, %d recusadas, %d sessões]",
+                getBackendCount(), activeConnections.get(), routed.sum(), rejected.sum(), sessions.size());
+    }
+
+    // ---- Canal de controle ----
+
+    private void acceptBackends() {
+        while (running) {
+            try {
+                SocketChannel channel = controlChannel.accept();
+                startThread("gateway-backend", () -> serveBackend(channel));
+            } catch (IOException e) {
+                if (running) e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Mantém o servidor no anel enquanto a conexão de controle estiver aberta
+     */
+    private void serveBackend(SocketChannel channel) {
+        Backend backend = null;
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), CHARSET))) {
+            String line = in.readLine();
+            String[] parts = line == null ? null : NetworkProtocol.parseMessage(line);
+            if (parts == null || !parts[0].equals(NetworkProtocol.REGISTER)) {
+                return;
+            }
+            backend = Backend.parse(parts[1]);
+            ring.add(backend);
+            System.out.println("Servidor registrado: " + backend + " (" + ring.size() + " no anel)");
+            // Nada mais é esperado: a leitura só termina quando o servidor sai
+            while (in.readLine() != null) {
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Conexão de controle perdida
+        } finally {
+            if (backend != null && ring.remove(backend)) {
+                System.out.println("Servidor saiu: " + backend + " (" + ring.size() + " no anel)");
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Já fechado
+            }
+        }
+    }
+
+    // ---- Clientes ----
+
+    private void acceptClients() {
+        while (running) {
+            try {
+                Socket client = clientSocket.accept();
+                client.setTcpNoDelay(true);
+                startThread("gateway-client", () -> serveClient(client));
+            } catch (IOException e) {
+                if (running) e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Lê as primeiras mensagens até saber o servidor do cliente, repassa-as e passa a copiar bytes
+     */
+    private void serveClient(Socket client) {
+        activeConnections.incrementAndGet();
+        Route route = null;
+        Socket upstream = null;
+        String room = null;
+        int roomBoardSize = 0;
+        try {
+            InputStream in = new BufferedInputStream(client.getInputStream(), BUFFER_SIZE);
+            OutputStream out = client.getOutputStream();
+            ByteArrayOutputStream head = new ByteArrayOutputStream();
+            boolean wantsSession = false;
+            Backend backend = null;
+            while (backend == null) {
+                byte[] line = readLine(in, MAX_HEAD_BYTES - head.size());
+                if (line == null) {
+                    return;
+                }
+                head.write(line);
+                String[] parts = NetworkProtocol.parseMessage(new String(line, CHARSET).trim());
+                String command = parts[0];
+                if (command.equals(NetworkProtocol.SESSION)) {
+                    wantsSession = true;   // O servidor só é escolhido no CONNECT
+                } else if (command.equals(NetworkProtocol.RESUME)) {
+                    int comma = parts[1].lastIndexOf(',');
+                    route = comma > 0 ? sessions.get(parts[1].substring(0, comma)) : null;
+                    if (route == null) {
+                        reject(out, NetworkProtocol.RESUME_FAILED, "Sessão não encontrada ou expirada");
+                        return;
+                    }
+                    backend = route.backend;
+                } else if (command.equals(NetworkProtocol.CONNECT)) {
+                    roomBoardSize = NetworkProtocol.parseConnectBoardSize(parts[1]);
+                    room = assignRoom(roomBoardSize);
+                    backend = ring.get(room);
+                    if (backend == null) {
+                        reject(out, "ERROR", "Nenhum servidor disponível");
+                        return;
+                    }
+                } else {
+                    // Mensagem avulsa (ex: LEADERBOARD): qualquer servidor responde
+                    backend = ring.get(client.getRemoteSocketAddress().toString());
+                    if (backend == null) {
+                        reject(out, "ERROR", "Nenhum servidor disponível");
+                        return;
+                    }
+                }
+            }
+
+            upstream = new Socket();
+            try {
+                upstream.connect(backend.address, CONNECT_TIMEOUT_MILLIS);
+                upstream.setTcpNoDelay(true);
+            } catch (IOException e) {
+                reject(out, route != null ? NetworkProtocol.RESUME_FAILED : "ERROR", "Servidor indisponível");
+                return;
+            }
+            routed.increment();
+            if (route != null) {
+                route.connections.incrementAndGet();
+            }
+            upstream.getOutputStream().write(head.toByteArray());
+
+            Socket server = upstream;
+            Backend target = backend;
+            Route[] created = new Route[1];
+            boolean captureToken = wantsSession && route == null;
+            Thread down = startThread("gateway-pump", () -> created[0] = pumpFromServer(server, client, target, captureToken));
+            copy(in, upstream.getOutputStream());
+            // Cliente saiu: fecha o outro lado para encerrar a cópia contrária
+            upstream.close();
+            down.join();
+            if (route == null) {
+                route = created[0];
+            }
+        } catch (IOException e) {
+            // Conexão encerrada por um dos lados
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeQuietly(client);
+            closeQuietly(upstream);
+            if (room != null) {
+                closeRoom(roomBoardSize, room);
+            }
+            activeConnections.decrementAndGet();
+            if (route != null) {
+                release(route);
+            }
+        }
+    }
+
+    /**
+     * Copia do servidor para o cliente. Numa sessão nova, a primeira linha é o SESSION com o
+     * token, que passa a apontar para este servidor (para a retomada).
+     * @return a rota da sessão criada, ou null
+     */
+    private Route pumpFromServer(Socket server, Socket client, Backend backend, boolean captureToken) {
+        Route route = null;
+        try {
+            InputStream in = new BufferedInputStream(server.getInputStream(), BUFFER_SIZE);
+            OutputStream out = client.getOutputStream();
+            if (captureToken) {
+                byte[] line = readLine(in, MAX_HEAD_BYTES);
+                if (line == null) {
+                    return null;
+                }
+                String[] parts = NetworkProtocol.parseMessage(new String(line, CHARSET).trim());
+                if (parts[0].equals(NetworkProtocol.SESSION)) {
+                    route = new Route(backend, parts[1]);
+                    route.connections.incrementAndGet();
+                    sessions.put(route.token, route);
+                }
+                out.write(line);
+            }
+            copy(in, out);
+        } catch (IOException e) {
+            // Conexão encerrada por um dos lados
+        } finally {
+            closeQuietly(client);
+        }
+        return route;
+    }
+
+    /**
+     * Conexão da sessão terminou: sem retomada dentro do prazo, o token é esquecido
+     */
+    private void release(Route route) {
+        if (route.connections.decrementAndGet() > 0) {
+            return;
+        }
+        timer.schedule(() -> {
+            if (route.connections.get() == 0) {
+                sessions.remove(route.token, route);
+            }
+        }, SESSION_RETENTION_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sala do próximo jogador: o primeiro abre uma sala, o segundo a completa
+     */
+    private String assignRoom(int boardSize) {
+        synchronized (rooms) {
+            String room = rooms.remove(boardSize);
+            if (room == null) {
+                room = "sala-" + boardSize + "-" + roomSequence.incrementAndGet();
+                rooms.put(boardSize, room);
+            }
+            return room;
+        }
+    }
+
+    /**
+     * Conexão de um jogador da sala terminou: se ela ainda está aberta, quem saiu foi quem a abriu
+     * e ninguém mais vai para lá
+     */
+    private void closeRoom(int boardSize, String room) {
+        synchronized (rooms) {
+            rooms.remove(boardSize, room);
+        }
+    }
+
+    private void reject(OutputStream out, String command, String reason) throws IOException {
+        rejected.increment();
+        out.write((NetworkProtocol.createMessage(command, reason) + "\n").getBytes(CHARSET));
+        out.flush();
+    }
+
+    /**
+     * Lê uma linha com o terminador (bytes originais)
+     * @param maxBytes tamanho máximo aceito, terminador incluído
+     * @return null no fim do fluxo
+     * @throws IOException se a linha passar do limite (a conexão é encerrada)
+     */
+    private static byte[] readLine(InputStream in, int maxBytes) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = in.read()) >= 0) {
+            if (line.size() >= maxBytes) {
+                throw new IOException("Mensagem inicial maior que " + MAX_HEAD_BYTES + " bytes");
+            }
+            line.write(b);
+            if (b == '\n') {
+                return line.toByteArray();
+            }
+        }
+        return null;
+    }
+
+    private static void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, n);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Já fechado
+            }
+        }
+    }
+
+    private static Thread startThread(String name, Runnable task) {
+        Thread t = new Thread(task, name);
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    /**
+     * Servidor registrado (identidade: host:porta)
+     */
+    static final class Backend {
+        final String host;
+        final int port;
+        final InetSocketAddress address;
+
+        Backend(String host, int port) {
+            this.host = host;
+            this.port = port;
+            this.address = new InetSocketAddress(host, port);
+        }
+
+        static Backend parse(String text) {
+            int colon = text.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Endereço inválido: " + text);
+            }
+            return new Backend(text.substring(0, colon).trim(), Integer.parseInt(text.substring(colon + 1).trim()));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Backend && ((Backend) o).host.equals(host) && ((Backend) o).port == port;
+        }
+
+        @Override
+        public int hashCode() {
+            return host.hashCode() * 31 + port;
+        }
+
+        @Override
+        public String toString() {
+            return host + ":" + port;
+        }
+    }
+
+    /**
+     * Sessão retomável: o servidor dono do token e quantas conexões a usam agora
+     */
+    private static final class Route {
+        final Backend backend;
+        final String token;
+        final AtomicInteger connections = new AtomicInteger();
+
+        Route(Backend backend, String token) {
+            this.backend = backend;
+            this.token = token;
+        }
+    }
+
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        Path control = args.length > 1 ? Paths.get(args[1]) : defaultControlPath();
+        GatewayServer gateway = new GatewayServer(port, control);
+        try {
+            gateway.start();
+        } catch (IOException e) {
+            System.err.println("Erro ao iniciar gateway: " + e.getMessage());
+            System.exit(1);
+        }
+        System.out.println("Gateway na porta " + port + ", canal de controle em " + control);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            gateway.stop();
+            System.out.println(gateway);
+        }));
+    }
+}
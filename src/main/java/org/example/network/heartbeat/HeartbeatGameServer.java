@@ -0,0 +1,296 @@
+package org.example.network.heartbeat;
+
+import org.example.communication.CommunicationException;
+import org.example.network.GameServerCommunication;
+import org.example.network.GameServerListener;
+import org.example.network.MessageFrame;
+import org.example.network.NetworkProtocol;
+import org.example.network.timer.HashedWheelTimer;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Heartbeat sobre um servidor de rede: detecta pares mortos e mede o RTT de cada conexão.
+ *
+ * Cada conexão tem um prazo no {@link HashedWheelTimer} compartilhado. Quando ele vence, se nada
+ * chegou da conexão há mais que o limite de inatividade ela é derrubada
+ * ({@link GameServerCommunication#disconnectPlayer}); senão o servidor manda PING com a marca de
+ * tempo e agenda a próxima verificação. O cliente devolve os dados no PONG e a diferença é o RTT,
+ * suavizado por conexão como no TCP (srtt = 7/8 srtt + 1/8 amostra). PING e PONG são consumidos
+ * aqui e não chegam ao listener.
+ *
+ * Qualquer mensagem recebida conta como sinal de vida, então um cliente antigo que não responde PONG
+ * só é derrubado se ficar calado além do limite. As métricas são expostas via JMX
+ * ({@link HeartbeatGameServerMXBean}) e no toString.
+ */
+public class HeartbeatGameServer implements GameServerCommunication, HeartbeatGameServerMXBean {
+    // Intervalo entre PINGs e limite de inatividade (-Dseega.heartbeat.interval/.timeout, em segundos)
+    public static final long DEFAULT_INTERVAL_SECONDS = Long.getLong("seega.heartbeat.interval", 5);
+    public static final long DEFAULT_TIMEOUT_SECONDS = Long.getLong("seega.heartbeat.timeout", 15);
+    private static final String MBEAN_NAME = "org.example.network:type=Heartbeat";
+    // Amostras acima disso vêm de PONGs forjados ou de relógio reiniciado e são descartadas
+    private static final long MAX_RTT_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final GameServerCommunication inner;
+    private final HashedWheelTimer timer;
+    private final long intervalNanos;
+    private final long timeoutNanos;
+    private final ConcurrentHashMap<String, Peer> peers = new ConcurrentHashMap<>();
+    // Escritas e desconexões saem da thread da roda (podem bloquear num par lento)
+    private final ExecutorService io = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "heartbeat-io");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final LongAdder reaped = new LongAdder();
+    private final LongAdder pingsSent = new LongAdder();
+    private final LongAdder pongsReceived = new LongAdder();
+    private volatile GameServerListener listener;
+    private ObjectName mbeanName;
+
+    public HeartbeatGameServer(GameServerCommunication inner, HashedWheelTimer timer) {
+        this(inner, timer, DEFAULT_INTERVAL_SECONDS, DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param timer timer das verificações (não é parado por este servidor)
+     * @param interval intervalo entre PINGs
+     * @param timeout inatividade a partir da qual a conexão é derrubada
+     */
+    public HeartbeatGameServer(GameServerCommunication inner, HashedWheelTimer timer, long interval, long timeout, TimeUnit unit) {
+        if (interval <= 0 || timeout < interval) {
+            throw new IllegalArgumentException("Limite de inatividade deve ser maior que o intervalo");
+        }
+        this.inner = inner;
+        this.timer = timer;
+        this.intervalNanos = unit.toNanos(interval);
+        this.timeoutNanos = unit.toNanos(timeout);
+        inner.setServerListener(new ConnectionListener());
+    }
+
+    @Override
+    public void start(int port) throws CommunicationException {
+        inner.start(port);
+        try {
+            ObjectName name = new ObjectName(MBEAN_NAME);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            mbeanName = name;
+        } catch (Exception e) {
+            // Outro servidor na mesma JVM já registrou: as métricas continuam no toString
+            System.err.println("Métricas de heartbeat não registradas no JMX: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        inner.stop();
+        for (Peer peer : peers.values()) {
+            peer.cancel();
+        }
+        io.shutdownNow();
+        if (mbeanName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName);
+            } catch (Exception e) {
+                // Já removido
+            }
+        }
+    }
+
+    @Override
+    public void setServerListener(GameServerListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void sendToPlayer(String playerId, String command, String data) {
+        inner.sendToPlayer(playerId, command, data);
+    }
+
+    @Override
+    public void sendFrame(String playerId, MessageFrame frame) {
+        inner.sendFrame(playerId, frame);
+    }
+
+    @Override
+    public void disconnectPlayer(String playerId) {
+        inner.disconnectPlayer(playerId);
+    }
+
+    /**
+     * Na thread da roda: derruba a conexão inativa ou manda o próximo PING
+     */
+    private void check(Peer peer) {
+        if (peers.get(peer.connection) != peer) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - peer.lastSeen >= timeoutNanos) {
+            reaped.increment();
+            System.out.println("Conexão sem resposta encerrada: " + peer.connection);
+            io.execute(() -> inner.disconnectPlayer(peer.connection));
+            return;
+        }
+        io.execute(() -> {
+            pingsSent.increment();
+            inner.sendToPlayer(peer.connection, NetworkProtocol.PING, Long.toString(System.nanoTime()));
+        });
+        peer.schedule();
+    }
+
+    private void onPong(Peer peer, String data) {
+        long sent;
+        try {
+            sent = Long.parseLong(data.trim());
+        } catch (NumberFormatException e) {
+            return;
+        }
+        long rtt = System.nanoTime() - sent;
+        if (rtt < 0 || rtt > MAX_RTT_NANOS) {
+            return;
+        }
+        pongsReceived.increment();
+        peer.sample(rtt);
+    }
+
+    @Override
+    public int getConnections() {
+        return peers.size();
+    }
+
+    @Override
+    public long getReapedConnections() {
+        return reaped.sum();
+    }
+
+    @Override
+    public long getPingsSent() {
+        return pingsSent.sum();
+    }
+
+    @Override
+    public long getPongsReceived() {
+        return pongsReceived.sum();
+    }
+
+    @Override
+    public double getAverageRttMillis() {
+        long total = 0;
+        int count = 0;
+        for (Peer peer : peers.values()) {
+            long srtt = peer.srtt;
+            if (srtt >= 0) {
+                total += srtt;
+                count++;
+            }
+        }
+        return count == 0 ? -1 : total / (count * 1e6);
+    }
+
+    @Override
+    public double getMaxRttMillis() {
+        long max = -1;
+        for (Peer peer : peers.values()) {
+            max = Math.max(max, peer.srtt);
+        }
+        return max < 0 ? -1 : max / 1e6;
+    }
+
+    @Override
+    public double getRttMillis(String connection) {
+        Peer peer = peers.get(connection);
+        return peer == null || peer.srtt < 0 ? -1 : peer.srtt / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HeartbeatGameServer[%d conexões, %d derrubadas, %d pings, %d pongs, RTT médio %.2f ms, máx %.2f ms]",
+                getConnections(), getReapedConnections(), getPingsSent(), getPongsReceived(),
+                getAverageRttMillis(), getMaxRttMillis());
+    }
+
+    /**
+     * Eventos do servidor de rede, por conexão
+     */
+    private class ConnectionListener implements GameServerListener {
+        @Override
+        public void onPlayerConnected(String connection) {
+            Peer peer = new Peer(connection);
+            peers.put(connection, peer);
+            peer.schedule();
+            listener.onPlayerConnected(connection);
+        }
+
+        @Override
+        public void onPlayerDisconnected(String connection) {
+            Peer peer = peers.remove(connection);
+            if (peer != null) {
+                peer.cancel();
+            }
+            listener.onPlayerDisconnected(connection);
+        }
+
+        @Override
+        public void onMessageReceived(String connection, String command, String data) {
+            onFrameReceived(connection, MessageFrame.of(command, data));
+        }
+
+        @Override
+        public void onFrameReceived(String connection, MessageFrame frame) {
+            Peer peer = peers.get(connection);
+            if (peer != null) {
+                peer.lastSeen = System.nanoTime();
+            }
+            String command = frame.getCommand();
+            if (command.equals(NetworkProtocol.PONG)) {
+                if (peer != null) {
+                    onPong(peer, frame.getData());
+                }
+                frame.release();
+            } else if (command.equals(NetworkProtocol.PING)) {
+                frame.release(); // Só o servidor pinga
+            } else {
+                listener.onFrameReceived(connection, frame);
+            }
+        }
+    }
+
+    /**
+     * Estado de heartbeat de uma conexão
+     */
+    private final class Peer {
+        final String connection;
+        volatile long lastSeen = System.nanoTime();
+        volatile long srtt = -1;                   // RTT suavizado (ns); -1 sem medida
+        private HashedWheelTimer.Timeout timeout;  // Próxima verificação (protegido por this)
+        private boolean cancelled;
+
+        Peer(String connection) {
+            this.connection = connection;
+        }
+
+        synchronized void schedule() {
+            if (!cancelled) {
+                timeout = timer.schedule(() -> check(this), intervalNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+
+        synchronized void sample(long rtt) {
+            srtt = srtt < 0 ? rtt : srtt - (srtt >> 3) + (rtt >> 3);
+        }
+    }
+}
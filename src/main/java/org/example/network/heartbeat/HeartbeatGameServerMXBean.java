@@ -0,0 +1,23 @@
+package org.example.network.heartbeat;
+
+/**
+ * Métricas do heartbeat expostas via JMX (org.example.network:type=Heartbeat)
+ */
+public interface HeartbeatGameServerMXBean {
+    /** Conexões acompanhadas no momento */
+    int getConnections();
+
+    /** Conexões derrubadas por falta de resposta desde o início */
+    long getReapedConnections();
+
+    /** PINGs enviados e PONGs recebidos desde o início */
+    long getPingsSent();
+    long getPongsReceived();
+
+    /** RTT suavizado médio e máximo entre as conexões atuais (ms; -1 se ainda não há medida) */
+    double getAverageRttMillis();
+    double getMaxRttMillis();
+
+    /** RTT suavizado de uma conexão (ms; -1 se desconhecida ou sem medida) */
+    double getRttMillis(String connection);
+}
@@ -0,0 +1,115 @@
+package org.example.network.loopback;
+
+import org.example.communication.CommunicationException;
+import org.example.network.GameServerCommunication;
+import org.example.network.GameServerListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor de jogo em memória, para clientes no mesmo processo (host e benchmarks).
+ *
+ * Registra-se pela porta num mapa estático, onde a {@code LoopbackCommunication} o encontra no
+ * connect; cada cliente ganha um par de {@link LoopbackMailbox}. Não há socket, canal nem
+ * serialização: comandos e dados passam como strings pelas filas.
+ */
+public class LoopbackGameServer implements GameServerCommunication {
+    /** Prefixo dos IDs de jogador deste transporte */
+    public static final String PLAYER_PREFIX = "loopback:";
+
+    // Servidores em execução, por porta
+    private static final ConcurrentHashMap<Integer, LoopbackGameServer> SERVERS = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Connection> players = new ConcurrentHashMap<>();
+    private final AtomicLong playerSequence = new AtomicLong();
+    private volatile GameServerListener listener;
+    private volatile boolean running;
+    private int port;
+
+    /**
+     * Servidor loopback em execução na porta, ou null
+     */
+    public static LoopbackGameServer find(int port) {
+        return SERVERS.get(port);
+    }
+
+    /**
+     * Indica se o ID pertence a um jogador conectado pelo loopback
+     */
+    public static boolean isLoopbackPlayer(String playerId) {
+        return playerId.startsWith(PLAYER_PREFIX);
+    }
+
+    @Override
+    public void start(int port) throws CommunicationException {
+        if (SERVERS.putIfAbsent(port, this) != null) {
+            throw new CommunicationException("Já existe um servidor loopback na porta " + port);
+        }
+        this.port = port;
+        running = true;
+        System.out.println("Servidor Loopback iniciado na porta " + port);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        SERVERS.remove(port, this);
+        for (Connection connection : players.values()) {
+            connection.toClient.close();
+            connection.fromClient.close();
+        }
+    }
+
+    @Override
+    public void setServerListener(GameServerListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void sendToPlayer(String playerId, String command, String data) {
+        Connection connection = players.get(playerId);
+        if (connection != null) {
+            connection.toClient.post(command, data);
+        }
+    }
+
+    /**
+     * Conecta um cliente do mesmo processo
+     * @param toClient caixa do cliente, onde o servidor entrega as mensagens para ele
+     * @return caixa do servidor, onde o cliente posta as mensagens dele
+     */
+    public LoopbackMailbox accept(LoopbackMailbox toClient) throws CommunicationException {
+        if (!running) {
+            throw new CommunicationException("Servidor loopback parado");
+        }
+        String playerId = PLAYER_PREFIX + playerSequence.incrementAndGet();
+        LoopbackMailbox fromClient = new LoopbackMailbox("loopback-" + playerId,
+                (command, data) -> {
+                    GameServerListener l = listener;
+                    if (l != null) l.onMessageReceived(playerId, command, data);
+                },
+                () -> {
+                    // Cliente desconectou: mesma limpeza do PlayerHandler do socket
+                    players.remove(playerId);
+                    toClient.close();
+                    GameServerListener l = listener;
+                    if (l != null) l.onPlayerDisconnected(playerId);
+                });
+        players.put(playerId, new Connection(toClient, fromClient));
+
+        GameServerListener l = listener;
+        if (l != null) l.onPlayerConnected(playerId);
+        return fromClient;
+    }
+
+    private static final class Connection {
+        final LoopbackMailbox toClient;
+        final LoopbackMailbox fromClient;
+
+        Connection(LoopbackMailbox toClient, LoopbackMailbox fromClient) {
+            this.toClient = toClient;
+            this.fromClient = fromClient;
+        }
+    }
+}
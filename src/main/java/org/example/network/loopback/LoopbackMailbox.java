@@ -0,0 +1,90 @@
+package org.example.network.loopback;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Caixa de mensagens de um lado da conexão em memória.
+ *
+ * Quem envia só enfileira o par comando/dados numa fila sem travas (nada é serializado); uma
+ * thread própria entrega as mensagens em ordem ao handler, como a thread de leitura de um socket.
+ * Assim o handler nunca roda na thread de quem enviou e não há reentrância entre cliente e servidor.
+ */
+public final class LoopbackMailbox {
+    /**
+     * Recebe cada mensagem, na thread da caixa
+     */
+    public interface Handler {
+        void handle(String command, String data);
+    }
+
+    private final ConcurrentLinkedQueue<Message> queue = new ConcurrentLinkedQueue<>();
+    private final Handler handler;
+    private final Runnable onClose;     // Executado na thread da caixa depois da última entrega (pode ser null)
+    private final Thread worker;
+    private volatile boolean closed;
+
+    public LoopbackMailbox(String name, Handler handler, Runnable onClose) {
+        this.handler = handler;
+        this.onClose = onClose;
+        this.worker = new Thread(this::deliverLoop, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Enfileira uma mensagem
+     * @return false se a caixa já foi fechada
+     */
+    public boolean post(String command, String data) {
+        if (closed) {
+            return false;
+        }
+        queue.offer(new Message(command, data == null ? "" : data));
+        LockSupport.unpark(worker);
+        return true;
+    }
+
+    /**
+     * Fecha a caixa: as mensagens já enfileiradas ainda são entregues, depois roda o onClose
+     */
+    public void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private void deliverLoop() {
+        while (true) {
+            Message message = queue.poll();
+            if (message != null) {
+                try {
+                    handler.handle(message.command, message.data);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            } else if (closed) {
+                break;
+            } else {
+                // O unpark de post() acorda a thread; um permit anterior faz o park retornar na hora
+                LockSupport.park(this);
+            }
+        }
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+
+    private static final class Message {
+        final String command;
+        final String data;
+
+        Message(String command, String data) {
+            this.command = command;
+            this.data = data;
+        }
+    }
+}
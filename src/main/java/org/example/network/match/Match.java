@@ -0,0 +1,191 @@
+package org.example.network.match;
+
+import org.example.common.PieceType;
+import org.example.model.BoardGeometry;
+import org.example.model.GameState;
+import org.example.model.Move;
+import org.example.network.clock.GameClock;
+
+import java.util.ArrayDeque;
+
+/**
+ * Representa uma partida entre dois jogadores no servidor.
+ * Cada partida pertence a um único shard do {@link MatchRegistry} e seu estado
+ * só é alterado pela thread (laço de eventos) desse shard.
+ */
+public class Match {
+    private final long id;                // Identificador único da partida
+    private final String firstPlayerId;   // Jogador que começa (recebe FIRST)
+    private final String secondPlayerId;  // Jogador que responde (recebe SECOND)
+    private final int boardSize;          // Tamanho do tabuleiro da partida (5, 7 ou 9)
+    private volatile boolean active = true; // false depois que a partida termina
+    private String firstPlayerName;       // Nome com que o primeiro jogador se identificou
+    private String secondPlayerName;      // Nome com que o segundo jogador se identificou
+    private GameState state;              // Posição atual validada pelo servidor (null no 9x9)
+    private final ArrayDeque<GameState> history = new ArrayDeque<>(); // Posições anteriores, para o takeback
+    private int plies;                    // Lances/turnos aceitos pelo servidor
+    private String takebackRequester;     // Quem pediu para voltar lance (null: nenhum pedido pendente)
+    private int takebackPly;              // Valor de plies quando o pedido foi feito
+    private volatile GameClock clock;     // Relógio da partida (null: sem controle de tempo)
+
+    Match(long id, String firstPlayerId, String secondPlayerId, int boardSize) {
+        this.id = id;
+        this.firstPlayerId = firstPlayerId;
+        this.secondPlayerId = secondPlayerId;
+        this.boardSize = boardSize;
+        BoardGeometry geometry = BoardGeometry.of(boardSize);
+        this.state = geometry.isPackable() ? GameState.initial(geometry) : null;
+    }
+
+    public long getId() { return id; }
+    public String getFirstPlayerId() { return firstPlayerId; }
+    public String getSecondPlayerId() { return secondPlayerId; }
+    public int getBoardSize() { return boardSize; }
+    public boolean isActive() { return active; }
+
+    void markEnded() {
+        active = false;
+        GameClock c = clock;
+        if (c != null) {
+            c.cancelFlagTimeout();
+        }
+    }
+
+    public GameClock getClock() { return clock; }
+    public void setClock(GameClock clock) { this.clock = clock; }
+
+    /**
+     * Posição atual da partida, ou null se o tabuleiro não cabe num GameState (lances não validados)
+     */
+    public GameState getState() { return state; }
+
+    /**
+     * Aplica um lance já validado contra {@link #getState()}
+     */
+    public void applyMove(Move move) {
+        history.push(state);
+        state = state.applyValidated(move);
+    }
+
+    /**
+     * Troca a posição pelo resultado de um turno inteiro já validado; o takeback o desfaz como unidade
+     */
+    public void applyTurn(GameState after) {
+        history.push(state);
+        state = after;
+    }
+
+    /**
+     * Registra um lance ou turno aceito; um pedido de voltar lance pendente deixa de valer
+     * @return quem tinha o pedido descartado (precisa ser avisado da recusa), ou null
+     */
+    public String recordPly() {
+        plies++;
+        String discarded = takebackRequester;
+        takebackRequester = null;
+        return discarded;
+    }
+
+    public int getPlies() { return plies; }
+
+    /**
+     * Registra o pedido de voltar lance do jogador, válido até o próximo lance
+     * @return false se o jogador não participa da partida ou se ela não permite voltar lance
+     */
+    public boolean requestTakeback(String playerId) {
+        if (!hasPlayer(playerId) || !allowsTakeback()) {
+            return false;
+        }
+        takebackRequester = playerId;
+        takebackPly = plies;
+        return true;
+    }
+
+    /**
+     * Resposta do jogador ao pedido pendente; só vale se o pedido foi do oponente e nenhum lance
+     * foi jogado depois dele. O pedido é consumido.
+     * @return false se não havia pedido do oponente a responder
+     */
+    public boolean answerTakeback(String playerId) {
+        boolean valid = takebackRequester != null && takebackRequester.equals(getOpponentOf(playerId))
+                && takebackPly == plies;
+        if (valid) {
+            takebackRequester = null;
+        }
+        return valid;
+    }
+
+    /**
+     * Volta o último lance ou turno (takeback aceito)
+     * @return false se não havia lance para voltar
+     */
+    public boolean undoMove() {
+        if (history.isEmpty()) {
+            return false;
+        }
+        state = history.pop();
+        return true;
+    }
+
+    /**
+     * Peça do jogador nesta partida: o primeiro jogador é o PLAYER1
+     */
+    public PieceType getPieceType(String playerId) {
+        if (firstPlayerId.equals(playerId)) return PieceType.PLAYER1;
+        if (secondPlayerId.equals(playerId)) return PieceType.PLAYER2;
+        return PieceType.EMPTY;
+    }
+
+    /**
+     * Define os nomes (identidade estável) dos jogadores, usados para o rating (null: anônimo)
+     */
+    public void setPlayerNames(String firstPlayerName, String secondPlayerName) {
+        this.firstPlayerName = firstPlayerName;
+        this.secondPlayerName = secondPlayerName;
+    }
+
+    /**
+     * Voltar lance só vale em partida casual: sem rating e sem relógio
+     */
+    public boolean allowsTakeback() {
+        return !isRated() && clock == null;
+    }
+
+    /**
+     * Partida vale rating só se os dois jogadores se identificaram com um nome
+     */
+    public boolean isRated() {
+        return firstPlayerName != null && secondPlayerName != null;
+    }
+
+    /**
+     * Retorna o nome do jogador informado, ou o próprio ID se ele não se identificou
+     */
+    public String getPlayerName(String playerId) {
+        String name = null;
+        if (firstPlayerId.equals(playerId)) name = firstPlayerName;
+        else if (secondPlayerId.equals(playerId)) name = secondPlayerName;
+        return name != null ? name : playerId;
+    }
+
+    /**
+     * Indica se o jogador participa desta partida
+     */
+    public boolean hasPlayer(String playerId) {
+        return firstPlayerId.equals(playerId) || secondPlayerId.equals(playerId);
+    }
+
+    /**
+     * Retorna o oponente do jogador informado (ou null se ele não estiver na partida)
+     */
+    public String getOpponentOf(String playerId) {
+        if (firstPlayerId.equals(playerId)) return secondPlayerId;
+        if (secondPlayerId.equals(playerId)) return firstPlayerId;
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "Match#" + id + "[" + firstPlayerId + " x " + secondPlayerId + ", " + boardSize + "x" + boardSize + "]";
+    }
+}
@@ -0,0 +1,190 @@
+package org.example.network.match;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Registro de partidas particionado em shards independentes.
+ *
+ * Cada shard possui suas próprias partidas e um laço de eventos com uma única thread,
+ * que é a única a alterar o estado delas. Operações em partidas de shards diferentes
+ * nunca disputam o mesmo lock; apenas o índice jogador -> partida é compartilhado,
+ * e ele usa o particionamento interno do ConcurrentHashMap.
+ */
+public class MatchRegistry {
+    private final Shard[] shards;
+    private final int shardMask;
+
+    // Gera IDs únicos de partida (também usados para escolher o shard)
+    private final AtomicLong matchIdSequence = new AtomicLong();
+
+    // Índice global para encontrar a partida de um jogador sem percorrer os shards
+    private final ConcurrentHashMap<String, Match> matchesByPlayer = new ConcurrentHashMap<>();
+
+    /**
+     * Cria um registro com um shard por processador disponível
+     */
+    public MatchRegistry() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Cria um registro com pelo menos shardCount shards (arredondado para potência de 2)
+     */
+    public MatchRegistry(int shardCount) {
+        int size = Integer.highestOneBit(Math.max(1, shardCount));
+        if (size < shardCount) {
+            size <<= 1;
+        }
+        shards = new Shard[size];
+        shardMask = size - 1;
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard(i);
+        }
+    }
+
+    /**
+     * Cria uma nova partida e a registra no shard correspondente.
+     * A operação inicial (ex: enviar GAME_START) roda no laço do shard.
+     * @param boardSize tamanho do tabuleiro; partidas de tamanhos diferentes convivem no mesmo registro
+     * @return a partida criada ou null se algum dos jogadores já estiver em outra partida
+     */
+    public Match createMatch(String firstPlayerId, String secondPlayerId, int boardSize, Consumer<Match> onCreated) {
+        Match match = new Match(matchIdSequence.incrementAndGet(), firstPlayerId, secondPlayerId, boardSize);
+
+        if (matchesByPlayer.putIfAbsent(firstPlayerId, match) != null) {
+            return null;
+        }
+        if (matchesByPlayer.putIfAbsent(secondPlayerId, match) != null) {
+            matchesByPlayer.remove(firstPlayerId, match);
+            return null;
+        }
+
+        Shard shard = shardFor(match);
+        shard.loop.execute(() -> {
+            shard.matches.put(match.getId(), match);
+            if (onCreated != null) {
+                onCreated.accept(match);
+            }
+        });
+        return match;
+    }
+
+    /**
+     * Executa uma operação sobre a partida do jogador no laço do shard dono dela.
+     * Não faz nada se o jogador não estiver em nenhuma partida ativa.
+     * @return true se a operação foi agendada
+     */
+    public boolean executeForPlayer(String playerId, Consumer<Match> operation) {
+        return executeForPlayer(playerId, operation, null);
+    }
+
+    /**
+     * Como {@link #executeForPlayer(String, Consumer)}, mas chama onSkipped quando a operação não
+     * roda (jogador sem partida ou partida encerrada antes), para liberar recursos presos a ela
+     */
+    public boolean executeForPlayer(String playerId, Consumer<Match> operation, Runnable onSkipped) {
+        Match match = matchesByPlayer.get(playerId);
+        if (match == null) {
+            if (onSkipped != null) onSkipped.run();
+            return false;
+        }
+        execute(match, operation, onSkipped);
+        return true;
+    }
+
+    /**
+     * Executa uma operação sobre a partida no laço do seu shard.
+     * A operação é descartada se a partida já tiver terminado quando for processada.
+     */
+    public void execute(Match match, Consumer<Match> operation) {
+        execute(match, operation, null);
+    }
+
+    private void execute(Match match, Consumer<Match> operation, Runnable onSkipped) {
+        Shard shard = shardFor(match);
+        shard.loop.execute(() -> {
+            if (match.isActive()) {
+                operation.accept(match);
+            } else if (onSkipped != null) {
+                onSkipped.run();
+            }
+        });
+    }
+
+    /**
+     * Encerra a partida: remove os jogadores do índice e a partida do seu shard.
+     * Pode ser chamado de qualquer thread; a remoção do shard ocorre no seu laço.
+     */
+    public void endMatch(Match match) {
+        match.markEnded();
+        matchesByPlayer.remove(match.getFirstPlayerId(), match);
+        matchesByPlayer.remove(match.getSecondPlayerId(), match);
+
+        Shard shard = shardFor(match);
+        shard.loop.execute(() -> shard.matches.remove(match.getId()));
+    }
+
+    /**
+     * Retorna a partida ativa do jogador (ou null)
+     */
+    public Match getMatchOf(String playerId) {
+        return matchesByPlayer.get(playerId);
+    }
+
+    /**
+     * Retorna o número de partidas ativas (aproximado durante alterações concorrentes)
+     */
+    public int getActiveMatchCount() {
+        return matchesByPlayer.size() / 2;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Para os laços de todos os shards, aguardando as operações pendentes
+     */
+    public void shutdown() {
+        for (Shard shard : shards) {
+            shard.loop.shutdown();
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.loop.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Shard shardFor(Match match) {
+        // Espalha os IDs sequenciais entre os shards
+        long h = match.getId() * 0x9E3779B97F4A7C15L;
+        return shards[(int) (h >>> 32) & shardMask];
+    }
+
+    /**
+     * Partição do registro: um mapa de partidas acessado apenas pela thread do próprio laço
+     */
+    private static class Shard {
+        final Map<Long, Match> matches = new HashMap<>();
+        final ExecutorService loop;
+
+        Shard(int index) {
+            loop = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "match-shard-" + index);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.network.matchmaking;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark do serviço de matchmaking simulando rajadas de chegada de jogadores.
+ *
+ * Uso: MatchmakingBenchmark [rajadas] [jogadoresPorRajada] [threadsProdutoras]
+ * Cada rajada enfileira jogadores com rating normal (média 1500, desvio 300) a partir de várias
+ * threads ao mesmo tempo; uma fração dos jogadores desiste antes de ser pareada.
+ */
+public class MatchmakingBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int bursts = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int playersPerBurst = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int producers = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        ConcurrentHashMap<String, Long> enqueueTimes = new ConcurrentHashMap<>();
+        AtomicLong totalWaitNanos = new AtomicLong();
+        AtomicLong maxWaitNanos = new AtomicLong();
+
+        MatchmakingService service = new MatchmakingService((first, second) -> {
+            long now = System.nanoTime();
+            for (String id : new String[]{first, second}) {
+                Long since = enqueueTimes.remove(id);
+                if (since != null) {
+                    long waited = now - since;
+                    totalWaitNanos.addAndGet(waited);
+                    maxWaitNanos.accumulateAndGet(waited, Math::max);
+                }
+            }
+        });
+        service.start();
+
+        AtomicLong operations = new AtomicLong();
+        long start = System.nanoTime();
+        long burstNanos = 0;
+
+        for (int burst = 0; burst < bursts; burst++) {
+            final int burstIndex = burst;
+            CountDownLatch done = new CountDownLatch(producers);
+            long burstStart = System.nanoTime();
+            for (int p = 0; p < producers; p++) {
+                final int producer = p;
+                new Thread(() -> {
+                    Random random = new Random(burstIndex * 31L + producer);
+                    for (int i = producer; i < playersPerBurst; i += producers) {
+                        String id = "b" + burstIndex + "-p" + i;
+                        int rating = (int) Math.round(1500 + random.nextGaussian() * 300);
+                        enqueueTimes.put(id, System.nanoTime());
+                        service.enqueue(id, rating);
+                        operations.incrementAndGet();
+
+                        // ~5% dos jogadores desistem logo depois de entrar na fila
+                        if (random.nextInt(20) == 0) {
+                            enqueueTimes.remove(id);
+                            service.cancel(id);
+                            operations.incrementAndGet();
+                        }
+                    }
+                    done.countDown();
+                }).start();
+            }
+            done.await();
+            burstNanos += System.nanoTime() - burstStart;
+            // Intervalo entre rajadas
+            Thread.sleep(50);
+        }
+
+        // Aguarda a tolerância crescer o bastante para esvaziar a fila
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (!enqueueTimes.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        long elapsed = System.nanoTime() - start;
+        service.stop();
+
+        long pairs = service.getPairsFormed();
+        double seconds = elapsed / 1e9;
+        System.out.printf("Rajadas: %d x %d jogadores (%d threads)%n", bursts, playersPerBurst, producers);
+        System.out.printf("Operações (enqueue/cancel): %d em %.2fs de rajadas -> %.0f ops/s%n",
+                operations.get(), burstNanos / 1e9, operations.get() / (burstNanos / 1e9));
+        System.out.printf("Pares formados: %d em %.2fs no total, sem par no fim: %d%n",
+                pairs, seconds, enqueueTimes.size());
+        if (pairs > 0) {
+            System.out.printf("Espera média: %.2f ms, máxima: %.2f ms%n",
+                    totalWaitNanos.get() / 1e6 / (pairs * 2), maxWaitNanos.get() / 1e6);
+        }
+    }
+}
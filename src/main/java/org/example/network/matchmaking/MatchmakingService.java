@@ -0,0 +1,337 @@
+package org.example.network.matchmaking;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço de matchmaking: mantém os jogadores em espera e forma pares por rating e tempo de espera.
+ *
+ * O pool de espera é indexado em baldes ordenados por faixa de rating, com um BitSet dos baldes
+ * ocupados, de modo que o oponente mais próximo é encontrado sem percorrer todos os jogadores.
+ * A tolerância de diferença de rating cresce com o tempo de espera, para que ninguém fique
+ * esperando para sempre. Todo o estado do pool é acessado por uma única thread; as outras
+ * threads apenas enfileiram comandos.
+ */
+public class MatchmakingService {
+    // Largura de cada balde de rating
+    private static final int BUCKET_WIDTH = 25;
+    // Maior rating indexado (ratings acima vão para o último balde)
+    private static final int MAX_RATING = 4000;
+    // Intervalo entre varreduras que reavaliam a tolerância dos jogadores em espera
+    private static final long TICK_MILLIS = 100;
+
+    private final int baseTolerance;          // Diferença de rating aceita sem espera
+    private final int tolerancePerSecond;     // Quanto a tolerância cresce por segundo de espera
+    private final PairListener pairListener;  // Recebe os pares formados
+
+    // Comandos enfileirados por outras threads (enqueue/cancel)
+    private final LinkedBlockingQueue<Runnable> commands = new LinkedBlockingQueue<>();
+
+    // Estado do pool (acessado apenas pela thread do serviço)
+    private final ArrayDeque<Waiting>[] buckets;
+    private final int[] liveCounts;          // Entradas não removidas em cada balde
+    private final BitSet occupiedBuckets;
+    private final Map<String, Waiting> waitingById = new HashMap<>();
+    // Ordem de chegada (para priorizar quem espera há mais tempo nas varreduras)
+    private final LinkedHashMap<String, Waiting> arrivalOrder = new LinkedHashMap<>();
+
+    private final AtomicLong pairsFormed = new AtomicLong();
+    private Thread worker;
+    private volatile boolean running;
+
+    /**
+     * Jogador no pool de espera
+     */
+    private static class Waiting {
+        final String playerId;
+        final int rating;
+        final int bucket;
+        final long enqueuedAtNanos;
+        boolean removed; // Remoção preguiçosa: o balde descarta a entrada quando chega nela
+
+        Waiting(String playerId, int rating, int bucket, long enqueuedAtNanos) {
+            this.playerId = playerId;
+            this.rating = rating;
+            this.bucket = bucket;
+            this.enqueuedAtNanos = enqueuedAtNanos;
+        }
+    }
+
+    public MatchmakingService(PairListener pairListener) {
+        this(pairListener, 100, 50);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public MatchmakingService(PairListener pairListener, int baseTolerance, int tolerancePerSecond) {
+        this.pairListener = pairListener;
+        this.baseTolerance = baseTolerance;
+        this.tolerancePerSecond = tolerancePerSecond;
+
+        int bucketCount = MAX_RATING / BUCKET_WIDTH + 1;
+        buckets = new ArrayDeque[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        liveCounts = new int[bucketCount];
+        occupiedBuckets = new BitSet(bucketCount);
+    }
+
+    /**
+     * Inicia a thread do serviço
+     */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        worker = new Thread(this::runLoop, "matchmaking");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Para a thread do serviço (jogadores em espera são descartados)
+     */
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    /**
+     * Coloca o jogador na fila de espera. Se ele já estiver esperando,
+     * a entrada é substituída (ex: rating atualizado), mantendo o tempo de espera.
+     */
+    public void enqueue(String playerId, int rating) {
+        long now = System.nanoTime();
+        commands.add(() -> {
+            Waiting previous = remove(playerId);
+            long since = previous != null ? previous.enqueuedAtNanos : now;
+            Waiting w = new Waiting(playerId, rating, bucketOf(rating), since);
+            add(w);
+            tryPair(w, now);
+        });
+    }
+
+    /**
+     * Atualiza o rating de um jogador que ainda está esperando (ex: após se identificar).
+     * Não faz nada se ele já tiver sido pareado.
+     */
+    public void updateRating(String playerId, int rating) {
+        long now = System.nanoTime();
+        commands.add(() -> {
+            Waiting previous = remove(playerId);
+            if (previous == null) return;
+            Waiting w = new Waiting(playerId, rating, bucketOf(rating), previous.enqueuedAtNanos);
+            add(w);
+            tryPair(w, now);
+        });
+    }
+
+    /**
+     * Remove o jogador da fila de espera (ex: desconexão)
+     */
+    public void cancel(String playerId) {
+        cancel(playerId, null);
+    }
+
+    /**
+     * Remove o jogador da fila de espera e depois executa afterCancel na thread do serviço.
+     * Como os comandos são processados em ordem, afterCancel enxerga qualquer par
+     * já formado com esse jogador.
+     */
+    public void cancel(String playerId, Runnable afterCancel) {
+        commands.add(() -> {
+            remove(playerId);
+            if (afterCancel != null) {
+                afterCancel.run();
+            }
+        });
+    }
+
+    /**
+     * Retorna o total de pares formados desde o início
+     */
+    public long getPairsFormed() {
+        return pairsFormed.get();
+    }
+
+    /**
+     * Laço principal: processa comandos em lote e, a cada tick, reavalia os jogadores em espera
+     */
+    private void runLoop() {
+        ArrayDeque<Runnable> batch = new ArrayDeque<>();
+        long nextTick = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+
+        while (running) {
+            try {
+                long waitNanos = nextTick - System.nanoTime();
+                Runnable first = waitNanos > 0 ? commands.poll(waitNanos, TimeUnit.NANOSECONDS) : commands.poll();
+                if (first != null) {
+                    batch.add(first);
+                    commands.drainTo(batch);
+                    Runnable command;
+                    while ((command = batch.poll()) != null) {
+                        command.run();
+                    }
+                }
+
+                long now = System.nanoTime();
+                if (now >= nextTick) {
+                    sweep(now);
+                    nextTick = now + TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Um erro no listener não pode derrubar o matchmaking
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Tenta formar pares para os jogadores em espera, do mais antigo para o mais novo
+     */
+    private void sweep(long now) {
+        Iterator<Waiting> it = arrivalOrder.values().iterator();
+        while (it.hasNext()) {
+            Waiting w = it.next();
+            // Oponentes pareados nesta varredura são descartados quando o iterador chega neles
+            if (w.removed) {
+                it.remove();
+                continue;
+            }
+            Waiting opponent = findOpponent(w, now);
+            if (opponent != null) {
+                it.remove();
+                removeFromIndex(w);
+                removeFromIndex(opponent);
+                emitPair(w, opponent);
+            }
+        }
+    }
+
+    /**
+     * Procura um oponente para um jogador que acabou de chegar e forma o par se encontrar
+     */
+    private void tryPair(Waiting w, long now) {
+        Waiting opponent = findOpponent(w, now);
+        if (opponent != null) {
+            remove(w.playerId);
+            remove(opponent.playerId);
+            emitPair(w, opponent);
+        }
+    }
+
+    /**
+     * Busca o oponente de rating mais próximo dentro da tolerância do jogador, expandindo para
+     * os dois lados a partir do seu balde e pulando baldes vazios pelo BitSet.
+     * Como a varredura passa por todos os jogadores, quem espera há mais tempo (e tem
+     * tolerância maior) acaba encontrando os mais novos.
+     */
+    private Waiting findOpponent(Waiting w, long now) {
+        int tolerance = toleranceOf(w, now);
+        int lowBucket = bucketOf(w.rating - tolerance);
+        int highBucket = bucketOf(w.rating + tolerance);
+
+        Waiting best = null;
+        int bestDiff = Integer.MAX_VALUE;
+
+        int up = occupiedBuckets.nextSetBit(w.bucket);
+        int down = w.bucket > 0 ? occupiedBuckets.previousSetBit(w.bucket - 1) : -1;
+
+        while ((up != -1 && up <= highBucket) || (down != -1 && down >= lowBucket)) {
+            // Menor diferença possível nos baldes ainda não visitados de cada lado
+            int upDistance = (up != -1 && up <= highBucket) ? Math.max(0, (up - w.bucket - 1) * BUCKET_WIDTH) : Integer.MAX_VALUE;
+            int downDistance = (down != -1 && down >= lowBucket) ? Math.max(0, (w.bucket - down - 1) * BUCKET_WIDTH) : Integer.MAX_VALUE;
+            if (Math.min(upDistance, downDistance) >= bestDiff) {
+                break;
+            }
+
+            int bucket;
+            if (upDistance <= downDistance) {
+                bucket = up;
+                up = occupiedBuckets.nextSetBit(up + 1);
+            } else {
+                bucket = down;
+                down = down > 0 ? occupiedBuckets.previousSetBit(down - 1) : -1;
+            }
+
+            for (Waiting candidate : buckets[bucket]) {
+                if (candidate.removed || candidate == w) continue;
+                int diff = Math.abs(candidate.rating - w.rating);
+                if (diff < bestDiff && diff <= tolerance) {
+                    best = candidate;
+                    bestDiff = diff;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void emitPair(Waiting a, Waiting b) {
+        pairsFormed.incrementAndGet();
+        // Quem espera há mais tempo começa o jogo
+        if (a.enqueuedAtNanos <= b.enqueuedAtNanos) {
+            pairListener.onPair(a.playerId, b.playerId);
+        } else {
+            pairListener.onPair(b.playerId, a.playerId);
+        }
+    }
+
+    private int toleranceOf(Waiting w, long now) {
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(now - w.enqueuedAtNanos);
+        long tolerance = baseTolerance + (waitedMillis * tolerancePerSecond) / 1000;
+        return (int) Math.min(tolerance, MAX_RATING);
+    }
+
+    private void add(Waiting w) {
+        waitingById.put(w.playerId, w);
+        arrivalOrder.put(w.playerId, w);
+        buckets[w.bucket].addLast(w);
+        liveCounts[w.bucket]++;
+        occupiedBuckets.set(w.bucket);
+    }
+
+    private Waiting remove(String playerId) {
+        Waiting w = waitingById.get(playerId);
+        if (w != null) {
+            arrivalOrder.remove(playerId);
+            removeFromIndex(w);
+        }
+        return w;
+    }
+
+    private void removeFromIndex(Waiting w) {
+        if (w.removed) return;
+        waitingById.remove(w.playerId, w);
+        w.removed = true;
+
+        ArrayDeque<Waiting> bucket = buckets[w.bucket];
+        if (--liveCounts[w.bucket] == 0) {
+            bucket.clear();
+            occupiedBuckets.clear(w.bucket);
+        } else if (bucket.size() > 2 * liveCounts[w.bucket] + 16) {
+            // Compacta o balde quando as entradas removidas passam a dominar
+            bucket.removeIf(entry -> entry.removed);
+        } else {
+            while (bucket.peekFirst().removed) {
+                bucket.pollFirst();
+            }
+        }
+    }
+
+    private static int bucketOf(int rating) {
+        int clamped = Math.max(0, Math.min(MAX_RATING, rating));
+        return clamped / BUCKET_WIDTH;
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.network.matchmaking;
+
+// Interface para receber os pares formados pelo serviço de matchmaking.
+// O primeiro jogador é o que esperava há mais tempo (começa o jogo).
+public interface PairListener {
+    void onPair(String firstPlayerId, String secondPlayerId);
+}
@@ -0,0 +1,250 @@
+package org.example.network.rating;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serviço de rating Elo dos jogadores.
+ *
+ * Os jogadores são identificados por nome (convertido em uma chave long estável), e os ratings
+ * ficam numa {@link RatingTable} compacta. O estado é salvo periodicamente em um arquivo local
+ * (escrita em arquivo temporário + rename atômico) e recarregado ao iniciar o servidor.
+ */
+public class RatingService {
+    public static final int INITIAL_RATING = 1500;
+
+    // Fator K maior enquanto o jogador ainda tem poucas partidas
+    private static final int PROVISIONAL_GAMES = 30;
+    private static final int PROVISIONAL_K = 32;
+    private static final int ESTABLISHED_K = 16;
+
+    // Identifica o formato do arquivo de snapshot
+    private static final int SNAPSHOT_MAGIC = 0x53454741; // "SEGA"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final RatingTable table = new RatingTable(1024);
+    private final Path snapshotFile;
+    private ScheduledExecutorService snapshotScheduler;
+    private boolean dirty; // Há alterações ainda não salvas
+    // Serializa os salvamentos (periódico e final), que escrevem o mesmo arquivo temporário
+    private final Object snapshotLock = new Object();
+
+    /**
+     * Entrada do leaderboard
+     */
+    public static class Entry {
+        private final String name;
+        private final int rating;
+        private final int games;
+
+        Entry(String name, int rating, int games) {
+            this.name = name;
+            this.rating = rating;
+            this.games = games;
+        }
+
+        public String getName() { return name; }
+        public int getRating() { return rating; }
+        public int getGames() { return games; }
+    }
+
+    public RatingService(Path snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Carrega o snapshot (se existir) e agenda o salvamento periódico
+     */
+    public void start(long snapshotIntervalSeconds) {
+        try {
+            load();
+        } catch (IOException e) {
+            System.err.println("Não foi possível carregar ratings de " + snapshotFile + ": " + e.getMessage());
+        }
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rating-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly,
+                snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Para o salvamento periódico (esperando um salvamento em andamento) e grava o estado final
+     */
+    public void stop() {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdown();
+            try {
+                if (!snapshotScheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+                    System.err.println("Salvamento periódico de ratings não terminou a tempo");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        snapshotQuietly();
+    }
+
+    /**
+     * Retorna o rating atual do jogador (ou o inicial se ele nunca jogou)
+     */
+    public synchronized int getRating(String playerName) {
+        int slot = table.find(keyOf(playerName));
+        return slot < 0 ? INITIAL_RATING : table.rating(slot);
+    }
+
+    /**
+     * Registra o resultado de uma partida e atualiza o rating dos dois jogadores
+     */
+    public synchronized void recordWin(String winnerName, String loserName) {
+        long winnerKey = keyOf(winnerName);
+        long loserKey = keyOf(loserName);
+        if (winnerKey == loserKey) {
+            return;
+        }
+        int winner = table.findOrInsert(winnerKey, winnerName, INITIAL_RATING);
+        int loser = table.findOrInsert(loserKey, loserName, INITIAL_RATING);
+
+        int winnerRating = table.rating(winner);
+        int loserRating = table.rating(loser);
+        double expectedWinner = 1.0 / (1.0 + Math.pow(10, (loserRating - winnerRating) / 400.0));
+
+        int winnerDelta = (int) Math.round(kFactor(table.games(winner)) * (1.0 - expectedWinner));
+        int loserDelta = (int) Math.round(kFactor(table.games(loser)) * (0.0 - (1.0 - expectedWinner)));
+
+        table.update(winner, winnerRating + winnerDelta, table.games(winner) + 1);
+        table.update(loser, Math.max(0, loserRating + loserDelta), table.games(loser) + 1);
+        dirty = true;
+    }
+
+    /**
+     * Retorna os K melhores jogadores em ordem decrescente de rating.
+     * O histograma dá o rating de corte; só os jogadores acima dele são ordenados.
+     */
+    public synchronized List<Entry> topK(int k) {
+        List<Entry> result = new ArrayList<>();
+        if (k <= 0 || table.size() == 0) {
+            return result;
+        }
+        int threshold = table.topKThreshold(k);
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            if (table.occupied(slot) && table.rating(slot) >= threshold) {
+                result.add(new Entry(table.name(slot), table.rating(slot), table.games(slot)));
+            }
+        }
+        result.sort((a, b) -> Integer.compare(b.getRating(), a.getRating()));
+        return result.size() > k ? new ArrayList<>(result.subList(0, k)) : result;
+    }
+
+    /**
+     * Grava o snapshot se houver alterações desde o último salvamento.
+     * Sob o lock do serviço só os registros são copiados; a escrita em disco e o rename ficam fora
+     * dele (recordWin e getRating não esperam pelo disco), sob um lock próprio dos salvamentos.
+     */
+    public void snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            long[] keys;
+            int[] ratings;
+            int[] games;
+            String[] names;
+            synchronized (this) {
+                if (!dirty) return;
+                int count = table.size();
+                keys = new long[count];
+                ratings = new int[count];
+                games = new int[count];
+                names = new String[count];
+                int i = 0;
+                for (int slot = 0; slot < table.capacity(); slot++) {
+                    if (!table.occupied(slot)) continue;
+                    keys[i] = table.key(slot);
+                    ratings[i] = table.rating(slot);
+                    games[i] = table.games(slot);
+                    names[i] = table.name(slot);
+                    i++;
+                }
+                dirty = false;
+            }
+            try {
+                write(keys, ratings, games, names);
+            } catch (IOException e) {
+                // Não salvou: fica para a próxima tentativa
+                synchronized (this) {
+                    dirty = true;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void write(long[] keys, int[] ratings, int[] games, String[] names) throws IOException {
+        Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                out.writeLong(keys[i]);
+                out.writeShort(ratings[i]);
+                out.writeInt(games[i]);
+                byte[] name = names[i] == null ? new byte[0] : names[i].getBytes(StandardCharsets.UTF_8);
+                out.writeShort(name.length);
+                out.write(name);
+            }
+        }
+        Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private synchronized void load() throws IOException {
+        if (!Files.exists(snapshotFile)) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Formato de snapshot desconhecido");
+            }
+            table.clear();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long key = in.readLong();
+                int rating = in.readShort();
+                int games = in.readInt();
+                byte[] name = new byte[in.readUnsignedShort()];
+                in.readFully(name);
+                int slot = table.findOrInsert(key, new String(name, StandardCharsets.UTF_8), rating);
+                table.update(slot, rating, games);
+            }
+        }
+        System.out.println("Ratings carregados: " + table.size() + " jogadores");
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar ratings: " + e.getMessage());
+        }
+    }
+
+    private static int kFactor(int games) {
+        return games < PROVISIONAL_GAMES ? PROVISIONAL_K : ESTABLISHED_K;
+    }
+
+    /**
+     * Converte o nome do jogador em uma chave estável (FNV-1a de 64 bits, nunca 0)
+     */
+    static long keyOf(String playerName) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < playerName.length(); i++) {
+            h ^= playerName.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h == 0 ? 1 : h;
+    }
+}
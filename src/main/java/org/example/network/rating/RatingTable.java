@@ -0,0 +1,149 @@
+package org.example.network.rating;
+
+import java.util.Arrays;
+
+/**
+ * Tabela compacta de ratings indexada por chave primitiva (long).
+ *
+ * Usa endereçamento aberto com sondagem linear sobre arrays paralelos, sem objetos por jogador
+ * além do nome. Mantém também um histograma de ratings, que permite achar o corte do top-K
+ * sem ordenar a população inteira. Não é thread-safe: o acesso é sincronizado pelo {@link RatingService}.
+ */
+class RatingTable {
+    // Maior rating representado no histograma (ratings acima contam no último índice)
+    static final int MAX_RATING = 4000;
+
+    private static final long EMPTY = 0L; // Chave reservada para slot livre
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] ratings;
+    private int[] games;
+    private String[] names;
+    private int size;
+
+    // Quantidade de jogadores com cada rating (limitado a [0, MAX_RATING])
+    private final int[] histogram = new int[MAX_RATING + 1];
+
+    RatingTable(int expectedPlayers) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedPlayers / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Retorna o slot da chave ou -1 se ela não existir
+     */
+    int find(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Retorna o slot da chave, criando o jogador com o rating inicial se necessário
+     */
+    int findOrInsert(long key, String name, int initialRating) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Chave 0 é reservada");
+        }
+        if (size + 1 > keys.length * LOAD_FACTOR) {
+            rehash(keys.length << 1);
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                if (name != null) names[slot] = name;
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        ratings[slot] = initialRating;
+        names[slot] = name;
+        histogram[clamp(initialRating)]++;
+        size++;
+        return slot;
+    }
+
+    int rating(int slot) { return ratings[slot]; }
+    int games(int slot) { return games[slot]; }
+    String name(int slot) { return names[slot]; }
+    long key(int slot) { return keys[slot]; }
+    int capacity() { return keys.length; }
+    boolean occupied(int slot) { return keys[slot] != EMPTY; }
+
+    /**
+     * Atualiza o rating de um slot mantendo o histograma consistente
+     */
+    void update(int slot, int newRating, int newGames) {
+        histogram[clamp(ratings[slot])]--;
+        ratings[slot] = newRating;
+        games[slot] = newGames;
+        histogram[clamp(newRating)]++;
+    }
+
+    /**
+     * Menor rating que ainda entra no top-K, calculado pelo histograma (O(MAX_RATING))
+     */
+    int topKThreshold(int k) {
+        int count = 0;
+        for (int r = MAX_RATING; r > 0; r--) {
+            count += histogram[r];
+            if (count >= k) return r;
+        }
+        return 0;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        ratings = new int[capacity];
+        games = new int[capacity];
+        names = new String[capacity];
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldRatings = ratings;
+        int[] oldGames = games;
+        String[] oldNames = names;
+        allocate(newCapacity);
+
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) continue;
+            int slot = mix(oldKeys[i]) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            ratings[slot] = oldRatings[i];
+            games[slot] = oldGames[i];
+            names[slot] = oldNames[i];
+        }
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(names, null);
+        Arrays.fill(histogram, 0);
+        size = 0;
+    }
+
+    private static int clamp(int rating) {
+        return Math.max(0, Math.min(MAX_RATING, rating));
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -13,12 +13,21 @@ import java.io.IOException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Servidor gRPC: cada stream bidirecional é um jogador.
+ *
+ * Um StreamObserver não aceita chamadas concorrentes, e as mensagens a um jogador saem de várias
+ * threads (partidas, heartbeat, relógio); por isso onNext e onCompleted de cada stream são feitos
+ * sob o lock do próprio observer, e só enquanto o stream ainda está registrado.
+ */
 public class RPCGameServer implements GameServerCommunication {
     private Server server;
     private final ConcurrentHashMap<String, StreamObserver<SeegaProto.GameMessage>> clients = new ConcurrentHashMap<>();
     private final AtomicInteger clientCounter = new AtomicInteger(0);
     private GameServerListener listener;
-    private String firstPlayerId = null;
+    // Builder reaproveitado por thread: build() copia os campos, então limpar e reusar é seguro
+    private static final ThreadLocal<SeegaProto.GameMessage.Builder> BUILDER =
+            ThreadLocal.withInitial(SeegaProto.GameMessage::newBuilder);
 
     @Override
     public void start(int port) throws CommunicationException {
@@ -44,69 +53,71 @@ public class RPCGameServer implements GameServerCommunication {
 
     @Override
     public void sendToPlayer(String playerId, String command, String data) {
-        SeegaProto.GameMessage msg = SeegaProto.GameMessage.newBuilder()
+        SeegaProto.GameMessage msg = BUILDER.get().clear()
                 .setCommand(command)
                 .setData(data)
                 .setPlayerId(playerId)
                 .build();
         StreamObserver<SeegaProto.GameMessage> obs = clients.get(playerId);
-        if (obs != null) obs.onNext(msg);
+        if (obs == null) return;
+        synchronized (obs) {
+            // Encerrado entre o get e o lock: o stream não aceita mais mensagens
+            if (clients.get(playerId) == obs) {
+                obs.onNext(msg);
+            }
+        }
+    }
+
+    /**
+     * Encerra o stream do jogador do lado do servidor e avisa o listener
+     */
+    @Override
+    public void disconnectPlayer(String playerId) {
+        StreamObserver<SeegaProto.GameMessage> obs = clients.remove(playerId);
+        if (obs == null) return;
+        if (listener != null) listener.onPlayerDisconnected(playerId);
+        synchronized (obs) {
+            try {
+                obs.onCompleted();
+            } catch (RuntimeException e) {
+                // Stream já cancelado pelo cliente
+            }
+        }
     }
 
     private class SeegaGameImpl extends SeegaGameGrpc.SeegaGameImplBase {
         @Override
         public StreamObserver<SeegaProto.GameMessage> gameStream(StreamObserver<SeegaProto.GameMessage> responseObserver) {
-            // Verifica se já há dois clientes conectados
-            if (clients.size() >= 2) {
-                // Envia mensagem de erro apenas para este cliente
-                SeegaProto.GameMessage errorMsg = SeegaProto.GameMessage.newBuilder()
-                        .setCommand("ERROR")
-                        .setData("Servidor cheio")
-                        .build();
-                responseObserver.onNext(errorMsg);
-                responseObserver.onCompleted();
-                return new StreamObserver<SeegaProto.GameMessage>() {
-                    @Override public void onNext(SeegaProto.GameMessage value) {}
-                    @Override public void onError(Throwable t) {}
-                    @Override public void onCompleted() {}
-                };
-            }
-
-            // Se não está cheio, prossegue normalmente
+            // Cada stream é um jogador; o pareamento e o GAME_START ficam a cargo do MainServer
             String clientId = String.valueOf(clientCounter.incrementAndGet());
             clients.put(clientId, responseObserver);
 
             if (listener != null) listener.onPlayerConnected(clientId);
 
-            // Inicia o jogo se ambos conectaram
-            if (clients.size() == 2) {
-                int i = 0;
-                for (String id : clients.keySet()) {
-                    String startMsg = (i == 0) ? "FIRST" : "SECOND";
-                    sendToPlayer(id, org.example.network.NetworkProtocol.GAME_START, startMsg);
-                    i++;
-                }
-            }
-
             return new StreamObserver<SeegaProto.GameMessage>() {
                 @Override
                 public void onNext(SeegaProto.GameMessage msg) {
-                    if (listener != null) {
+                    // Stream já encerrado pelo servidor (disconnectPlayer): ignora
+                    if (listener != null && clients.containsKey(clientId)) {
                         listener.onMessageReceived(clientId, msg.getCommand(), msg.getData());
                     }
                 }
 
                 @Override
                 public void onError(Throwable t) {
-                    clients.remove(clientId);
-                    if (listener != null) listener.onPlayerDisconnected(clientId);
+                    if (clients.remove(clientId) != null && listener != null) {
+                        listener.onPlayerDisconnected(clientId);
+                    }
                 }
 
                 @Override
                 public void onCompleted() {
-                    clients.remove(clientId);
-                    if (listener != null) listener.onPlayerDisconnected(clientId);
-                    responseObserver.onCompleted();
+                    if (clients.remove(clientId) != null) {
+                        if (listener != null) listener.onPlayerDisconnected(clientId);
+                        synchronized (responseObserver) {
+                            responseObserver.onCompleted();
+                        }
+                    }
                 }
             };
         }
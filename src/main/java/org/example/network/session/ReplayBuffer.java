@@ -0,0 +1,101 @@
+package org.example.network.session;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Mensagens enviadas e ainda não confirmadas pelo outro lado, numeradas em sequência a partir de 1.
+ *
+ * O número de sequência de uma mensagem é a sua posição no fluxo daquela direção; os dois lados
+ * contam as mensagens, então o número não viaja no frame. A confirmação (ack) é cumulativa: "recebi
+ * até n" descarta tudo até n. A capacidade é limitada: se o outro lado não confirmar a tempo, as
+ * mais antigas são descartadas e uma retomada que dependa delas deixa de ser possível.
+ * Não é thread-safe: quem usa sincroniza.
+ */
+public class ReplayBuffer<T> {
+    private final ArrayDeque<T> pending;
+    private final int capacity;
+    private final Consumer<T> onDiscard;   // Libera recursos das mensagens que saem do buffer
+    private long firstSeq = 1;             // Sequência da mensagem mais antiga guardada
+    private long lastSeq;                  // Sequência da última mensagem adicionada
+
+    /**
+     * @param onDiscard chamado para cada mensagem confirmada ou descartada (pode ser null)
+     */
+    public ReplayBuffer(int capacity, Consumer<T> onDiscard) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva");
+        }
+        this.pending = new ArrayDeque<>(Math.min(capacity, 64));
+        this.capacity = capacity;
+        this.onDiscard = onDiscard;
+    }
+
+    /**
+     * Guarda a próxima mensagem do fluxo
+     * @return a sequência atribuída
+     */
+    public long add(T message) {
+        if (pending.size() == capacity) {
+            discard(pending.pollFirst());
+            firstSeq++;
+        }
+        pending.addLast(message);
+        return ++lastSeq;
+    }
+
+    /**
+     * O outro lado recebeu tudo até seq: essas mensagens não serão mais reenviadas
+     */
+    public void acknowledge(long seq) {
+        while (firstSeq <= seq && !pending.isEmpty()) {
+            discard(pending.pollFirst());
+            firstSeq++;
+        }
+    }
+
+    /**
+     * Indica se ainda é possível reenviar tudo depois de seq (nada foi perdido por capacidade)
+     */
+    public boolean canReplayAfter(long seq) {
+        return seq >= firstSeq - 1 && seq <= lastSeq;
+    }
+
+    /**
+     * Entrega, em ordem, as mensagens guardadas com sequência maior que seq
+     */
+    public void forEachAfter(long seq, Consumer<T> action) {
+        long current = firstSeq;
+        for (T message : pending) {
+            if (current > seq) {
+                action.accept(message);
+            }
+            current++;
+        }
+    }
+
+    /**
+     * Descarta tudo (sessão encerrada)
+     */
+    public void clear() {
+        T message;
+        while ((message = pending.pollFirst()) != null) {
+            discard(message);
+        }
+        firstSeq = lastSeq + 1;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    private void discard(T message) {
+        if (onDiscard != null) {
+            onDiscard.accept(message);
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package org.example.network.session;
+
+import org.example.communication.CommunicationException;
+import org.example.network.GameServerCommunication;
+import org.example.network.GameServerListener;
+import org.example.network.MessageFrame;
+import org.example.network.NetworkProtocol;
+import org.example.network.timer.HashedWheelTimer;
+
+import java.security.SecureRandom;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sessões retomáveis sobre um servidor de rede: uma queda rápida de conexão não encerra a partida.
+ *
+ * O cliente que quer retomada manda SESSION como primeira mensagem e recebe um token. A partir daí
+ * as mensagens de cada direção são numeradas pela posição no fluxo (os dois lados contam, então o
+ * frame repassado continua intacto) e confirmadas com ACK cumulativo a cada
+ * {@link NetworkProtocol#ACK_INTERVAL} mensagens. O servidor guarda as mensagens enviadas e ainda
+ * não confirmadas num {@link ReplayBuffer} limitado por sessão.
+ *
+ * Se a conexão cai, a sessão fica aguardando por um prazo de tolerância e as mensagens para ela
+ * continuam sendo guardadas. Numa nova conexão, RESUME com o token e a quantidade de mensagens já
+ * recebidas religa a sessão: o servidor responde RESUMED com quantas mensagens do cliente recebeu
+ * (o cliente reenvia o resto) e reenvia as suas que faltam. Só quando o prazo acaba, ou o cliente
+ * sai com LEAVE, o listener recebe onPlayerDisconnected. Os prazos correm no
+ * {@link HashedWheelTimer} compartilhado do servidor.
+ *
+ * Para o listener o jogador tem sempre o mesmo ID (o da primeira conexão). Conexões que não pedem
+ * sessão passam direto, com o comportamento antigo.
+ */
+public class ResumableGameServer implements GameServerCommunication {
+    // Prazo para a retomada antes de encerrar a sessão (-Dseega.session.grace, em segundos)
+    public static final long DEFAULT_GRACE_SECONDS = Long.getLong("seega.session.grace", 30);
+    // Mensagens guardadas por sessão à espera de confirmação
+    private static final int REPLAY_CAPACITY = 256;
+
+    private final GameServerCommunication inner;
+    private final HashedWheelTimer timer;
+    private final long graceMillis;
+    private final SecureRandom random = new SecureRandom();
+
+    private final ConcurrentHashMap<String, Session> byConnection = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Session> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Session> byToken = new ConcurrentHashMap<>();
+    // Conexões substituídas por uma retomada antes de o transporte avisar a queda: ignoradas
+    private final Set<String> retired = ConcurrentHashMap.newKeySet();
+
+    private volatile GameServerListener listener;
+
+    public ResumableGameServer(GameServerCommunication inner, HashedWheelTimer timer) {
+        this(inner, timer, TimeUnit.SECONDS.toMillis(DEFAULT_GRACE_SECONDS));
+    }
+
+    /**
+     * @param timer timer dos prazos de retomada (não é parado por este servidor)
+     * @param graceMillis tempo que uma sessão desconectada aguarda a retomada
+     */
+    public ResumableGameServer(GameServerCommunication inner, HashedWheelTimer timer, long graceMillis) {
+        this.inner = inner;
+        this.timer = timer;
+        this.graceMillis = graceMillis;
+        inner.setServerListener(new ConnectionListener());
+    }
+
+    @Override
+    public void start(int port) throws CommunicationException {
+        inner.start(port);
+    }
+
+    @Override
+    public void stop() {
+        inner.stop();
+    }
+
+    @Override
+    public void setServerListener(GameServerListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void sendToPlayer(String playerId, String command, String data) {
+        Session session = byId.get(playerId);
+        if (session == null || session.token == null) {
+            inner.sendToPlayer(playerId, command, data);
+            return;
+        }
+        synchronized (session) {
+            if (session.closed) return;
+            session.sent.add(MessageFrame.of(command, data));
+            if (session.connection != null) {
+                inner.sendToPlayer(session.connection, command, data);
+            }
+        }
+    }
+
+    @Override
+    public void sendFrame(String playerId, MessageFrame frame) {
+        Session session = byId.get(playerId);
+        if (session == null || session.token == null) {
+            inner.sendFrame(playerId, frame);
+            return;
+        }
+        synchronized (session) {
+            if (session.closed) return;
+            // O frame é do chamador: o buffer guarda uma cópia
+            session.sent.add(frame.copy());
+            if (session.connection != null) {
+                inner.sendFrame(session.connection, frame);
+            }
+        }
+    }
+
+    /**
+     * Encerra a sessão de vez (sem retomada) e derruba a conexão atual, se houver
+     */
+    @Override
+    public void disconnectPlayer(String playerId) {
+        Session session = byId.get(playerId);
+        if (session == null) {
+            inner.disconnectPlayer(playerId);
+            return;
+        }
+        String connection;
+        synchronized (session) {
+            connection = session.connection;
+        }
+        if (session.token != null) {
+            close(session);
+        }
+        if (connection != null) {
+            inner.disconnectPlayer(connection);
+        }
+    }
+
+    /**
+     * Primeira mensagem da conexão: sessão nova, retomada ou conexão comum
+     */
+    private void onFirstFrame(String connection, MessageFrame frame) {
+        String command = frame.getCommand();
+        if (command.equals(NetworkProtocol.SESSION)) {
+            frame.release();
+            open(connection, true);
+        } else if (command.equals(NetworkProtocol.RESUME)) {
+            String data = frame.getData();
+            frame.release();
+            resume(connection, data);
+        } else {
+            deliver(open(connection, false), connection, frame);
+        }
+    }
+
+    private Session open(String connection, boolean resumable) {
+        Session session = new Session(connection, resumable ? newToken() : null, connection);
+        byConnection.put(connection, session);
+        byId.put(session.id, session);
+        if (resumable) {
+            byToken.put(session.token, session);
+            inner.sendToPlayer(connection, NetworkProtocol.SESSION, session.token);
+        }
+        listener.onPlayerConnected(session.id);
+        return session;
+    }
+
+    /**
+     * Religa a sessão do token a esta conexão e reenvia o que o cliente não recebeu
+     */
+    private void resume(String connection, String data) {
+        int comma = data.lastIndexOf(',');
+        Session session = comma > 0 ? byToken.get(data.substring(0, comma)) : null;
+        long clientReceived = comma > 0 ? parseCount(data.substring(comma + 1)) : -1;
+        if (session == null || clientReceived < 0) {
+            inner.sendToPlayer(connection, NetworkProtocol.RESUME_FAILED, "Sessão não encontrada ou expirada");
+            return;
+        }
+        boolean replayable;
+        synchronized (session) {
+            replayable = !session.closed && session.sent.canReplayAfter(clientReceived);
+            if (replayable) {
+                if (session.connection != null) {
+                    // A conexão antiga ainda não tinha sido dada como perdida: passa a ser ignorada
+                    retired.add(session.connection);
+                    byConnection.remove(session.connection, session);
+                }
+                if (session.expiryTask != null) {
+                    session.expiryTask.cancel();
+                    session.expiryTask = null;
+                }
+                session.connection = connection;
+                byConnection.put(connection, session);
+                session.sent.acknowledge(clientReceived);
+                inner.sendToPlayer(connection, NetworkProtocol.RESUMED, Long.toString(session.received));
+                session.sent.forEachAfter(clientReceived, message -> inner.sendFrame(connection, message));
+            }
+        }
+        if (replayable) {
+            System.out.println("Sessão retomada: " + session.id + " via " + connection);
+        } else {
+            inner.sendToPlayer(connection, NetworkProtocol.RESUME_FAILED, "Mensagens perdidas, não é possível retomar");
+            close(session);
+        }
+    }
+
+    /**
+     * Mensagem de uma conexão já associada a uma sessão
+     */
+    private void deliver(Session session, String connection, MessageFrame frame) {
+        if (session.token == null) {
+            listener.onFrameReceived(session.id, frame);
+            return;
+        }
+        String command = frame.getCommand();
+        if (command.equals(NetworkProtocol.ACK)) {
+            long count = parseCount(frame.getData());
+            frame.release();
+            synchronized (session) {
+                if (connection.equals(session.connection) && count >= 0) {
+                    session.sent.acknowledge(count);
+                }
+            }
+            return;
+        }
+        if (command.equals(NetworkProtocol.LEAVE)) {
+            frame.release();
+            close(session);
+            return;
+        }
+        if (command.equals(NetworkProtocol.SESSION) || command.equals(NetworkProtocol.RESUME)) {
+            frame.release(); // Só valem como primeira mensagem
+            return;
+        }
+        synchronized (session) {
+            // Mensagens atrasadas de uma conexão substituída são descartadas: o cliente as reenvia
+            if (session.closed || !connection.equals(session.connection)) {
+                frame.release();
+                return;
+            }
+            session.received++;
+            if (session.received % NetworkProtocol.ACK_INTERVAL == 0) {
+                inner.sendToPlayer(connection, NetworkProtocol.ACK, Long.toString(session.received));
+            }
+            listener.onFrameReceived(session.id, frame);
+        }
+    }
+
+    private void connectionLost(String connection) {
+        if (retired.remove(connection)) {
+            return;
+        }
+        Session session = byConnection.remove(connection);
+        if (session == null) {
+            return;
+        }
+        if (session.token == null) {
+            byId.remove(session.id, session);
+            listener.onPlayerDisconnected(session.id);
+            return;
+        }
+        synchronized (session) {
+            if (session.closed || !connection.equals(session.connection)) {
+                return;
+            }
+            session.connection = null;
+            session.expiryTask = timer.schedule(() -> expire(session), graceMillis, TimeUnit.MILLISECONDS);
+        }
+        System.out.println("Conexão perdida, aguardando retomada: " + session.id);
+    }
+
+    private void expire(Session session) {
+        synchronized (session) {
+            if (session.closed || session.connection != null) {
+                return;
+            }
+        }
+        close(session);
+    }
+
+    /**
+     * Encerra a sessão de vez e avisa o listener (fora do lock da sessão)
+     */
+    private void close(Session session) {
+        synchronized (session) {
+            if (session.closed) {
+                return;
+            }
+            session.closed = true;
+            if (session.expiryTask != null) {
+                session.expiryTask.cancel();
+            }
+            if (session.connection != null) {
+                byConnection.remove(session.connection, session);
+                session.connection = null;
+            }
+            session.sent.clear();
+        }
+        byId.remove(session.id, session);
+        byToken.remove(session.token, session);
+        listener.onPlayerDisconnected(session.id);
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        StringBuilder sb = new StringBuilder(32);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit(b >> 4 & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private static long parseCount(String text) {
+        try {
+            return Long.parseLong(text.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Eventos do servidor de rede, por conexão
+     */
+    private class ConnectionListener implements GameServerListener {
+        @Override
+        public void onPlayerConnected(String connection) {
+            // A sessão é criada na primeira mensagem, que diz se é nova ou retomada
+        }
+
+        @Override
+        public void onPlayerDisconnected(String connection) {
+            connectionLost(connection);
+        }
+
+        @Override
+        public void onMessageReceived(String connection, String command, String data) {
+            onFrameReceived(connection, MessageFrame.of(command, data));
+        }
+
+        @Override
+        public void onFrameReceived(String connection, MessageFrame frame) {
+            Session session = byConnection.get(connection);
+            if (session == null) {
+                if (retired.contains(connection)) {
+                    frame.release();
+                    return;
+                }
+                onFirstFrame(connection, frame);
+            } else {
+                deliver(session, connection, frame);
+            }
+        }
+    }
+
+    /**
+     * Estado de um jogador entre conexões (campos mutáveis protegidos pelo próprio objeto)
+     */
+    private static final class Session {
+        final String id;                          // ID visto pelo listener
+        final String token;                       // null: conexão comum, sem retomada
+        final ReplayBuffer<MessageFrame> sent;    // Enviadas e não confirmadas (só com token)
+        String connection;                        // Conexão atual; null enquanto desconectado
+        long received;                            // Mensagens do cliente já recebidas
+        boolean closed;
+        HashedWheelTimer.Timeout expiryTask;
+
+        Session(String id, String token, String connection) {
+            this.id = id;
+            this.token = token;
+            this.connection = connection;
+            this.sent = token != null ? new ReplayBuffer<>(REPLAY_CAPACITY, MessageFrame::release) : null;
+        }
+    }
+}
@@ -3,24 +3,40 @@ package org.example.network.socket;
 import org.example.communication.*;
 import org.example.network.GameServerCommunication;
 import org.example.network.GameServerListener;
+import org.example.network.MessageFrame;
+import org.example.network.buffer.BufferPool;
+import org.example.network.buffer.PooledBuffer;
 
 import java.io.*;
 import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.*;
 
 /**
  * Implementação do servidor de jogo usando sockets TCP.
  * Gerencia conexões de jogadores e comunicação em rede.
+ *
+ * Cada conexão é lida em blocos para um ByteBuffer direto e quebrada em linhas sem decodificar
+ * o texto: só o cabeçalho vira String ({@link MessageFrame}). Mensagens repassadas ao oponente
+ * com {@link #sendFrame} são escritas com os mesmos bytes recebidos, sem ida e volta por String.
+ * As linhas são copiadas para buffers do {@link BufferPool}; o listener fica com o frame e o libera.
  */
 public class SocketGameServer implements GameServerCommunication {
-    // Socket do servidor para aceitar conexões
-    private ServerSocket serverSocket;
+    // Tamanho inicial do buffer de leitura de cada jogador (cresce para linhas maiores)
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+    // Maior linha aceita; um cliente que passa disso sem mandar '\n' é desconectado
+    private static final int MAX_LINE_LENGTH = 4 * BufferPool.LARGEST_CLASS;
+
+    // Canal do servidor para aceitar conexões
+    private ServerSocketChannel serverChannel;
 
     // Pool de threads para gerenciar múltiplos jogadores
     private ExecutorService playerPool;
 
-    // Mapa thread-safe para armazenar os escritores de cada jogador
-    private ConcurrentHashMap<String, PrintWriter> players;
+    // Mapa thread-safe com o canal de cada jogador
+    private ConcurrentHashMap<String, SocketChannel> players;
 
     // Listener para notificar eventos do servidor
     private GameServerListener listener;
@@ -43,11 +59,12 @@ public class SocketGameServer implements GameServerCommunication {
     @Override
     public void start(int port) throws CommunicationException {
         try {
-            // Cria o socket do servidor
-            serverSocket = new ServerSocket(port);
+            // Cria o canal do servidor (modo bloqueante, uma thread por jogador)
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(port));
 
-            // Cria pool com 2 threads (uma para cada jogador)
-            playerPool = Executors.newFixedThreadPool(2);
+            // Cria pool com uma thread por jogador conectado (várias partidas simultâneas)
+            playerPool = Executors.newCachedThreadPool();
 
             // Marca servidor como em execução
             running = true;
@@ -68,20 +85,18 @@ public class SocketGameServer implements GameServerCommunication {
         while (running) {
             try {
                 // Aceita nova conexão
-                Socket playerSocket = serverSocket.accept();
+                SocketChannel channel = serverChannel.accept();
+                channel.socket().setTcpNoDelay(true);
 
                 // Gera ID único para o jogador baseado no endereço
-                String playerId = playerSocket.getRemoteSocketAddress().toString();
-
-                // Cria writer para enviar mensagens para este jogador
-                PrintWriter out = new PrintWriter(playerSocket.getOutputStream(), true);
-                players.put(playerId, out);
+                String playerId = channel.getRemoteAddress().toString();
+                players.put(playerId, channel);
 
                 // Notifica sobre nova conexão
                 if (listener != null) listener.onPlayerConnected(playerId);
 
                 // Cria e executa handler para este jogador
-                playerPool.execute(new PlayerHandler(playerSocket, playerId));
+                playerPool.execute(new PlayerHandler(channel, playerId));
             } catch (IOException e) {
                 // Só imprime erro se o servidor ainda estiver rodando
                 if (running) e.printStackTrace();
@@ -96,7 +111,7 @@ public class SocketGameServer implements GameServerCommunication {
     public void stop() {
         running = false;
         try {
-            if (serverSocket != null) serverSocket.close();
+            if (serverChannel != null) serverChannel.close();
             if (playerPool != null) playerPool.shutdownNow();
         } catch (IOException e) {
             e.printStackTrace();
@@ -119,9 +134,37 @@ public class SocketGameServer implements GameServerCommunication {
      */
     @Override
     public void sendToPlayer(String playerId, String command, String data) {
-        PrintWriter out = players.get(playerId);
-        if (out != null) {
-            out.println(org.example.network.NetworkProtocol.createMessage(command, data));
+        MessageFrame frame = MessageFrame.encode(command, data);
+        try {
+            sendFrame(playerId, frame);
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * Escreve os bytes do frame na conexão do jogador, sem recodificar (o frame continua do chamador)
+     */
+    @Override
+    public void sendFrame(String playerId, MessageFrame frame) {
+        SocketChannel channel = players.get(playerId);
+        if (channel != null) {
+            write(channel, frame);
+        }
+    }
+
+    /**
+     * Fecha o canal do jogador; a thread de leitura termina e avisa o listener
+     */
+    @Override
+    public void disconnectPlayer(String playerId) {
+        SocketChannel channel = players.get(playerId);
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Já fechado
+            }
         }
     }
 
@@ -131,9 +174,26 @@ public class SocketGameServer implements GameServerCommunication {
      * @param data Dados do comando
      */
     public void broadcast(String command, String data) {
-        String msg = org.example.network.NetworkProtocol.createMessage(command, data);
-        for (PrintWriter out : players.values()) {
-            out.println(msg);
+        MessageFrame frame = MessageFrame.encode(command, data);
+        try {
+            for (SocketChannel channel : players.values()) {
+                write(channel, frame);
+            }
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * Escreve a linha inteira; o lock do canal impede que mensagens de threads diferentes se misturem
+     */
+    private static void write(SocketChannel channel, MessageFrame frame) {
+        synchronized (channel) {
+            try {
+                frame.writeTo(channel);
+            } catch (IOException e) {
+                // Conexão caiu: o PlayerHandler trata a desconexão
+            }
         }
     }
 
@@ -141,17 +201,17 @@ public class SocketGameServer implements GameServerCommunication {
      * Classe interna que gerencia a comunicação com um jogador específico
      */
     private class PlayerHandler implements Runnable {
-        private Socket socket;          // Socket do jogador
+        private SocketChannel channel;  // Canal do jogador
         private String playerId;        // ID único do jogador
-        private BufferedReader in;      // Reader para receber mensagens
+        private ByteBuffer buffer;      // Bytes lidos ainda não processados (modo escrita)
 
         /**
          * Construtor que inicializa a conexão com o jogador
          */
-        public PlayerHandler(Socket socket, String playerId) throws IOException {
-            this.socket = socket;
+        public PlayerHandler(SocketChannel channel, String playerId) {
+            this.channel = channel;
             this.playerId = playerId;
-            this.in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            this.buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
         }
 
         /**
@@ -160,17 +220,18 @@ public class SocketGameServer implements GameServerCommunication {
         @Override
         public void run() {
             try {
-                String inputLine;
-                // Lê mensagens enquanto houver conexão
-                while ((inputLine = in.readLine()) != null) {
-                    // Processa a mensagem recebida
-                    String[] parts = org.example.network.NetworkProtocol.parseMessage(inputLine);
-                    String command = parts[0];
-                    String data = parts[1];
-
-                    // Notifica o listener sobre a mensagem
-                    if (listener != null) {
-                        listener.onMessageReceived(playerId, command, data);
+                // Lê blocos enquanto houver conexão e entrega cada linha completa
+                while (channel.read(buffer) >= 0) {
+                    buffer.flip();
+                    dispatchLines();
+                    if (!buffer.hasRemaining()) {
+                        buffer.clear();
+                    } else {
+                        buffer.compact();
+                        if (!buffer.hasRemaining() && !grow()) {
+                            System.err.println("Linha maior que " + MAX_LINE_LENGTH + " bytes de " + playerId + ", desconectando");
+                            break;
+                        }
                     }
                 }
             } catch (IOException e) {
@@ -180,11 +241,49 @@ public class SocketGameServer implements GameServerCommunication {
                 try {
                     players.remove(playerId);
                     if (listener != null) listener.onPlayerDisconnected(playerId);
-                    socket.close();
+                    channel.close();
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
             }
         }
+
+        /**
+         * Entrega as linhas completas do buffer (modo leitura); deixa a linha incompleta no buffer
+         */
+        private void dispatchLines() {
+            int start = buffer.position();
+            int limit = buffer.limit();
+            for (int i = start; i < limit; i++) {
+                if (buffer.get(i) != '\n') continue;
+                int lineStart = start;
+
+                start = i + 1;
+                if (listener == null) continue;
+
+                // Copia só esta linha para um buffer do pool: o de leitura será reaproveitado
+                PooledBuffer line = BufferPool.getDefault().acquire(start - lineStart);
+                buffer.limit(start).position(lineStart);
+                line.buffer().put(buffer);
+                buffer.limit(limit);
+                listener.onFrameReceived(playerId, MessageFrame.of(line));
+            }
+            buffer.position(start);
+        }
+
+        /**
+         * Dobra o buffer quando uma única linha não cabe nele, até MAX_LINE_LENGTH
+         * @return false se a linha já passou do limite
+         */
+        private boolean grow() {
+            if (buffer.capacity() >= MAX_LINE_LENGTH) {
+                return false;
+            }
+            ByteBuffer bigger = ByteBuffer.allocateDirect(Math.min(buffer.capacity() * 2, MAX_LINE_LENGTH));
+            buffer.flip();
+            bigger.put(buffer);
+            buffer = bigger;
+            return true;
+        }
     }
 }
@@ -0,0 +1,265 @@
+package org.example.network.timer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timer de roda com hash (hashed timing wheel) para um grande número de prazos curtos e imprecisos:
+ * heartbeats, tolerância de reconexão, relógios de partida.
+ *
+ * A roda tem um número fixo de casas (potência de 2) e avança uma casa por tick. Um prazo cai na
+ * casa (tick do vencimento & máscara) com o número de voltas que ainda faltam; a cada tick só a casa
+ * atual é percorrida. Agendar e cancelar custam O(1) (filas sem trava consumidas pela thread da
+ * roda) e o custo de um tick depende só dos prazos daquela casa, não do total agendado.
+ * A precisão é de um tick: um prazo vence entre o instante pedido e um tick depois.
+ *
+ * As tarefas rodam na thread da roda e devem ser rápidas; E/S bloqueante deve ir para outro executor.
+ */
+public class HashedWheelTimer {
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private final long startTime;
+    private volatile boolean running = true;
+    private long tick;                              // Só a thread da roda usa
+
+    private final LongAdder pending = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    /**
+     * @param tickDuration duração de um tick (precisão do timer)
+     * @param ticksPerWheel casas da roda (arredondado para potência de 2)
+     */
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("Tick e tamanho da roda devem ser positivos");
+        }
+        int size = Integer.highestOneBit(ticksPerWheel);
+        if (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Agenda a tarefa para depois do atraso; pode ser chamado de qualquer thread
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(this, task, System.nanoTime() - startTime + unit.toNanos(Math.max(0, delay)));
+        pending.increment();
+        pendingAdds.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Para a thread da roda; prazos ainda não vencidos são abandonados
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    public long getPending() { return pending.sum(); }
+    public long getExpired() { return expired.sum(); }
+
+    @Override
+    public String toString() {
+        return String.format("HashedWheelTimer[%s, %d casas de %d ms, %d pendentes, %d vencidos]",
+                worker.getName(), wheel.length, TimeUnit.NANOSECONDS.toMillis(tickNanos), getPending(), getExpired());
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                break;
+            }
+            processCancels();
+            transferAdds();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    /**
+     * Dorme até o fim do tick atual
+     * @return o instante do fim do tick (relativo ao início), ou -1 se o timer parou
+     */
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long now = System.nanoTime() - startTime;
+            long sleepMillis = (deadline - now + 999_999) / 1_000_000;
+            if (sleepMillis <= 0) {
+                return now;
+            }
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferAdds() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = pendingAdds.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.state.get() != Timeout.ACTIVE) {
+                continue; // Cancelado antes de entrar na roda
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated, tick); // Prazo já passado: vence neste tick
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void processCancels() {
+        Timeout timeout;
+        while ((timeout = pendingCancels.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * Prazo agendado; cancel() pode ser chamado de qualquer thread
+     */
+    public static final class Timeout {
+        static final int ACTIVE = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;        // Nanos desde o início do timer
+        private final AtomicInteger state = new AtomicInteger(ACTIVE);
+        long remainingRounds;
+        Timeout prev;
+        Timeout next;
+        Bucket bucket;
+
+        Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancela o prazo
+         * @return false se ele já tinha vencido ou sido cancelado
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ACTIVE, CANCELLED)) {
+                return false;
+            }
+            timer.pending.decrement();
+            timer.pendingCancels.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        void expire() {
+            if (!state.compareAndSet(ACTIVE, EXPIRED)) {
+                return;
+            }
+            timer.pending.decrement();
+            timer.expired.increment();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                System.err.println("Erro em tarefa do timer: " + t);
+                t.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Casa da roda: lista duplamente encadeada, usada só pela thread da roda
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /**
+         * Vence os prazos desta casa que chegaram à última volta; os demais perdem uma volta
+         */
+        void expire(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        timeout.expire();
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.network.validation;
+
+import org.example.model.GameState;
+import org.example.model.Move;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache dos lances válidos por posição, compartilhado por todas as partidas do servidor.
+ *
+ * A chave é a posição ({@link GameState}) mais a casa de origem do lance (-1 para colocação) e o
+ * valor é a máscara de bits dos destinos válidos. As mesmas posições se repetem muito entre
+ * partidas, principalmente na colocação, então a maior parte das validações vira um acesso à
+ * tabela em vez de geração de lances.
+ *
+ * A tabela tem tamanho fixo e endereçamento direto: cada chave tem um único slot e uma chave nova
+ * substitui a anterior (despejo por tamanho). As entradas são imutáveis e trocadas por referência
+ * atômica, então leituras e escritas de shards diferentes não usam locks. Uma entrada só é usada
+ * se a posição for igual à consultada, de modo que colisões de hash nunca aceitam lance errado.
+ */
+public class MoveValidationCache {
+    // 2^16 entradas: bem acima das posições distintas ativas mesmo com milhares de partidas
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public MoveValidationCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity quantidade de entradas (arredondada para potência de 2)
+     */
+    public MoveValidationCache(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * Indica se o lance é válido para o jogador da vez na posição
+     */
+    public boolean isLegal(GameState state, Move move) {
+        int size = state.getGeometry().getSize();
+        if (!inside(move.getToRow(), move.getToCol(), size)) {
+            return false;
+        }
+        int from = -1;
+        if (!move.isPlacement()) {
+            if (!inside(move.getFromRow(), move.getFromCol(), size)) {
+                return false;
+            }
+            from = state.getGeometry().square(move.getFromRow(), move.getFromCol());
+        }
+        int to = state.getGeometry().square(move.getToRow(), move.getToCol());
+        return (legalTargets(state, from) >>> to & 1) != 0;
+    }
+
+    /**
+     * Destinos válidos a partir de "from" (-1 para colocação), consultando o cache antes das regras
+     */
+    public long legalTargets(GameState state, int from) {
+        int slot = spread(state.hashCode() * 31 + from) & mask;
+        Entry entry = slots.get(slot);
+        if (entry != null && entry.from == from && entry.state.equals(state)) {
+            hits.increment();
+            return entry.targets;
+        }
+        misses.increment();
+        long targets = state.legalTargets(from);
+        if (entry != null) {
+            evictions.increment();
+        }
+        slots.set(slot, new Entry(state, from, targets));
+        return targets;
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+
+    /**
+     * Fração das consultas respondidas pelo cache (0 se ainda não houve consultas)
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MoveValidationCache[%d slots, %d acertos, %d faltas, %d despejos, taxa %.1f%%]",
+                mask + 1, getHits(), getMisses(), getEvictions(), getHitRate() * 100);
+    }
+
+    private static boolean inside(int row, int col, int size) {
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+
+    private static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+
+    /**
+     * Entrada imutável: posição, origem e destinos válidos
+     */
+    private static final class Entry {
+        final GameState state;
+        final int from;
+        final long targets;
+
+        Entry(GameState state, int from, long targets) {
+            this.state = state;
+            this.from = from;
+            this.targets = targets;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.ai.tablebase;
+
+import org.example.model.BoardGeometry;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * O índice da tablebase precisa ser uma bijeção entre as posições de cada grupo de material
+ * e o intervalo [0, classSize): sem buracos e sem duas posições no mesmo índice.
+ */
+class TablebaseIndexTest {
+    private final TablebaseIndex index = new TablebaseIndex(BoardGeometry.FIVE, 3);
+
+    @Test
+    void unindexThenIndexIsIdentity() {
+        long[] position = new long[2];
+        for (int a = 1; a <= 3; a++) {
+            for (int b = 1; b <= 3; b++) {
+                long size = index.classSize(a, b);
+                for (long i = 0; i < size; i++) {
+                    index.unindex(i, a, b, position);
+                    assertEquals(a, Long.bitCount(position[0]), "peças do jogador 1");
+                    assertEquals(b, Long.bitCount(position[1]), "peças do jogador 2");
+                    assertEquals(0, position[0] & position[1], "casas sobrepostas");
+                    assertEquals(0, (position[0] | position[1]) & ~BoardGeometry.FIVE.getAllSquares(), "fora do tabuleiro");
+                    assertEquals(i, index.index(position[0], position[1], a, b));
+                }
+            }
+        }
+    }
+
+    @Test
+    void everyPositionGetsADistinctIndex() {
+        // Enumera todas as posições com 2 peças de cada lado e confere que cobrem o grupo inteiro
+        int squares = BoardGeometry.FIVE.getSquareCount();
+        BitSet seen = new BitSet();
+        long count = 0;
+        for (int s1 = 0; s1 < squares; s1++) {
+            for (int s2 = s1 + 1; s2 < squares; s2++) {
+                long p1 = 1L << s1 | 1L << s2;
+                for (int t1 = 0; t1 < squares; t1++) {
+                    for (int t2 = t1 + 1; t2 < squares; t2++) {
+                        long p2 = 1L << t1 | 1L << t2;
+                        if ((p1 & p2) != 0) continue;
+                        long i = index.index(p1, p2, 2, 2);
+                        assertTrue(i >= 0 && i < index.classSize(2, 2), "índice fora do grupo: " + i);
+                        assertFalse(seen.get((int) i), "índice repetido: " + i);
+                        seen.set((int) i);
+                        count++;
+                    }
+                }
+            }
+        }
+        assertEquals(index.classSize(2, 2), count);
+        assertEquals(count, seen.cardinality());
+    }
+
+    @Test
+    void segmentsAreContiguous() {
+        long expected = 0;
+        for (int a = 1; a <= 3; a++) {
+            for (int b = 1; b <= 3; b++) {
+                for (int stm = 0; stm < 2; stm++) {
+                    assertEquals(expected, index.segmentOffset(index.segment(a, b, stm)));
+                    expected += index.classSize(a, b);
+                }
+            }
+        }
+        assertEquals(expected, index.totalEntries());
+    }
+}
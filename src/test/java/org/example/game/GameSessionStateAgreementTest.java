@@ -0,0 +1,105 @@
+package org.example.game;
+
+import org.example.model.Board;
+import org.example.model.BoardGeometry;
+import org.example.model.GameState;
+import org.example.model.Move;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link GameState} (usado na busca e na validação do servidor) e {@link GameSession} (usado nos
+ * clientes) implementam as mesmas regras de formas diferentes. Partidas aleatórias jogadas nos
+ * dois precisam concordar em cada posição, em quais lances são válidos e no resultado.
+ */
+class GameSessionStateAgreementTest {
+    private static final int MAX_PLIES = 300;
+
+    @Test
+    void randomGamesAgreeOn5x5() {
+        for (long seed = 0; seed < 20; seed++) {
+            playRandomGame(BoardGeometry.FIVE, seed);
+        }
+    }
+
+    @Test
+    void randomGamesAgreeOn7x7() {
+        for (long seed = 0; seed < 3; seed++) {
+            playRandomGame(BoardGeometry.SEVEN, seed);
+        }
+    }
+
+    private static void playRandomGame(BoardGeometry geometry, long seed) {
+        Random random = new Random(seed);
+        GameState state = GameState.initial(geometry);
+        List<Move> history = new ArrayList<>();
+        GameSession session = replay(geometry, history);
+
+        while (!state.isGameOver() && history.size() < MAX_PLIES) {
+            String where = "semente " + seed + ", lance " + history.size();
+            assertEquals(state, session.snapshot(), where);
+            assertFalse(session.isOver(), where);
+
+            // Cada candidato é aceito pela sessão exatamente quando o GameState o considera válido
+            Set<Move> accepted = new HashSet<>();
+            for (Move candidate : candidates(geometry)) {
+                boolean played = session.play(candidate);
+                assertEquals(state.isLegal(candidate), played, where + ": " + candidate.toProtocolString());
+                if (!played) continue;
+                accepted.add(candidate);
+                if (session.isOver()) {
+                    session = replay(geometry, history);
+                } else {
+                    assertTrue(session.undo(), where);
+                }
+                assertEquals(state, session.snapshot(), where + ": desfazer " + candidate.toProtocolString());
+            }
+            assertEquals(accepted, new HashSet<>(state.legalMoves()), where);
+
+            List<Move> legal = state.legalMoves();
+            Move move = legal.get(random.nextInt(legal.size()));
+            assertTrue(session.play(move), where);
+            state = state.apply(move);
+            history.add(move);
+        }
+
+        assertEquals(state, session.snapshot(), "semente " + seed + ", posição final");
+        assertEquals(state.isGameOver(), session.isOver(), "semente " + seed);
+        if (state.isGameOver()) {
+            assertEquals(state.getWinner(), session.getWinner(), "semente " + seed);
+        }
+    }
+
+    private static GameSession replay(BoardGeometry geometry, List<Move> history) {
+        GameSession session = new GameSession(new Board(geometry.getSize()));
+        for (Move move : history) {
+            assertTrue(session.play(move));
+        }
+        return session;
+    }
+
+    /**
+     * Todas as colocações e todos os passos ortogonais de uma casa, válidos ou não
+     */
+    private static List<Move> candidates(BoardGeometry geometry) {
+        int size = geometry.getSize();
+        List<Move> moves = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                moves.add(Move.placement(row, col));
+                if (row > 0) moves.add(new Move(row, col, row - 1, col));
+                if (row < size - 1) moves.add(new Move(row, col, row + 1, col));
+                if (col > 0) moves.add(new Move(row, col, row, col - 1));
+                if (col < size - 1) moves.add(new Move(row, col, row, col + 1));
+            }
+        }
+        return moves;
+    }
+}
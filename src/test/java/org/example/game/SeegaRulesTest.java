@@ -0,0 +1,222 @@
+package org.example.game;
+
+import org.example.common.PieceType;
+import org.example.model.Board;
+import org.example.model.GameState;
+import org.example.model.Move;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regras de captura e de bloqueio em posições montadas à mão (5x5, centro em (2,2)).
+ * Cada lance também é aplicado no {@link GameState}, que precisa chegar à mesma posição.
+ */
+class SeegaRulesTest {
+
+    @Test
+    void movingNextToASandwichCaptures() {
+        GameSession session = session(
+                ".21..",
+                "1....",
+                ".....",
+                ".....",
+                "....2");
+        GameState state = session.snapshot();
+        Move move = new Move(1, 0, 0, 0);
+
+        assertTrue(session.play(move));
+        assertEquals(PieceType.EMPTY, type(session, 0, 1));
+        assertEquals(1, session.getBoard().countPieces(PieceType.PLAYER2));
+        assertEquals(PieceType.PLAYER2, session.getToMove());
+        assertEquals(state.apply(move), session.snapshot());
+    }
+
+    @Test
+    void captureChainKeepsTheTurnWithTheSamePiece() {
+        GameSession session = session(
+                ".21..",
+                "12...",
+                ".1...",
+                ".....",
+                "....2");
+        GameState state = session.snapshot();
+        Move first = new Move(1, 0, 0, 0);
+        Move second = new Move(0, 0, 0, 1);
+
+        assertTrue(session.play(first));
+        assertEquals(PieceType.EMPTY, type(session, 0, 1));
+        // A peça que capturou ainda pode capturar: o turno continua, só com ela
+        assertEquals(PieceType.PLAYER1, session.getToMove());
+        assertTrue(session.isTurnInProgress());
+        assertEquals(0, session.getBoard().getChainSquare());
+        assertFalse(session.play(new Move(2, 1, 3, 1)), "outra peça não pode mover no meio da sequência");
+        assertFalse(session.play(new Move(0, 0, 1, 0)), "passo sem captura não continua a sequência");
+        assertEquals(List.of(second), session.getBoard().getValidMoves(PieceType.PLAYER1));
+
+        assertTrue(session.play(second));
+        assertEquals(PieceType.EMPTY, type(session, 1, 1));
+        assertEquals(-1, session.getBoard().getChainSquare());
+        assertEquals(PieceType.PLAYER2, session.getToMove());
+        assertFalse(session.isTurnInProgress());
+        assertEquals(state.apply(first).apply(second), session.snapshot());
+    }
+
+    @Test
+    void chainTurnIsUndoneAsAUnit() {
+        GameSession session = session(
+                ".21..",
+                "12...",
+                ".1...",
+                ".....",
+                "....2");
+        GameState before = session.snapshot();
+        assertTrue(session.playTurn(List.of(new Move(1, 0, 0, 0), new Move(0, 0, 0, 1))));
+        assertTrue(session.undoTurn());
+        assertEquals(before, session.snapshot());
+        assertEquals(PieceType.PLAYER1, session.getToMove());
+        // Turno incompleto (a sequência ainda podia continuar) é recusado inteiro
+        assertFalse(session.playTurn(List.of(new Move(1, 0, 0, 0))));
+        assertEquals(before, session.snapshot());
+    }
+
+    @Test
+    void pieceOnTheCenterCannotBeCaptured() {
+        GameSession session = session(
+                ".....",
+                ".1...",
+                "..21.",
+                ".....",
+                "2....");
+        GameState state = session.snapshot();
+        Move move = new Move(1, 1, 2, 1);
+
+        assertTrue(session.play(move));
+        assertEquals(PieceType.PLAYER2, type(session, 2, 2));
+        assertEquals(2, session.getBoard().countPieces(PieceType.PLAYER2));
+        assertEquals(state.apply(move), session.snapshot());
+    }
+
+    @Test
+    void pieceOnTheCenterStillCaptures() {
+        GameSession session = session(
+                "....1",
+                ".....",
+                "..12.",
+                ".....",
+                "2....");
+        GameState state = session.snapshot();
+        Move move = new Move(0, 4, 1, 4);
+        assertTrue(session.play(move));
+        assertEquals(PieceType.PLAYER2, type(session, 2, 3), "sem sanduíche ainda");
+
+        assertTrue(session.play(new Move(4, 0, 3, 0)));
+        Move capture = new Move(1, 4, 2, 4);
+        assertTrue(session.play(capture));
+        assertEquals(PieceType.EMPTY, type(session, 2, 3));
+        assertEquals(state.apply(move).apply(new Move(4, 0, 3, 0)).apply(capture), session.snapshot());
+    }
+
+    @Test
+    void capturingTheLastPieceWins() {
+        GameSession session = session(
+                ".21..",
+                "1....",
+                ".....",
+                ".....",
+                ".....");
+        List<String> events = record(session);
+
+        assertTrue(session.play(new Move(1, 0, 0, 0)));
+        assertTrue(session.isOver());
+        assertEquals(PieceType.PLAYER1, session.getWinner());
+        assertEquals(EndReason.CAPTURED_ALL, session.getEndReason());
+        assertTrue(events.contains("fim:PLAYER1:CAPTURED_ALL"), events.toString());
+        assertFalse(session.play(new Move(0, 0, 1, 0)), "partida encerrada não aceita lances");
+    }
+
+    @Test
+    void blockedPlayerPassesTheTurn() {
+        GameSession session = session(
+                "21...",
+                ".....",
+                "1....",
+                ".....",
+                "....1");
+        GameState state = session.snapshot();
+        List<String> events = record(session);
+        Move move = new Move(2, 0, 1, 0);
+
+        assertTrue(session.play(move));
+        // O jogador 2 não tem para onde ir: a vez volta para o jogador 1
+        assertFalse(session.isOver());
+        assertEquals(PieceType.PLAYER1, session.getToMove());
+        assertTrue(events.contains("passou:PLAYER2"), events.toString());
+        assertTrue(session.getBoard().getValidMoves(PieceType.PLAYER2).isEmpty());
+        assertEquals(state.apply(move), session.snapshot());
+        assertEquals(PieceType.PLAYER1, state.apply(move).getToMove());
+    }
+
+    @Test
+    void mutualBlockadeIsWonByTheLargerArmy() {
+        // Tabuleiro cheio: ninguém se move e o jogador 1 tem uma peça a mais
+        GameSession session = session(
+                "12121",
+                "21212",
+                "12121",
+                "21212",
+                "12121");
+        GameState state = session.snapshot();
+        assertTrue(state.isGameOver());
+        assertEquals(PieceType.PLAYER1, state.getWinner());
+        assertTrue(state.legalMoves().isEmpty());
+    }
+
+    /**
+     * Monta a posição depois da fase inicial: preenche o tabuleiro pelas colocações normais e
+     * reescreve as casas ('1', '2' ou '.'); o jogador 1 é o próximo a jogar
+     */
+    private static GameSession session(String... rows) {
+        Board board = new Board(rows.length);
+        int size = board.getBoardSize();
+        int placed = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (row == size / 2 && col == size / 2) continue;
+                assertTrue(board.placePiece(row, col, placed++ % 2 == 0 ? PieceType.PLAYER1 : PieceType.PLAYER2));
+            }
+        }
+        board.resetTurnCounter();
+        assertFalse(board.isSetupPhase());
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                char c = rows[row].charAt(col);
+                board.getPiece(row, col).setType(c == '1' ? PieceType.PLAYER1 : c == '2' ? PieceType.PLAYER2 : PieceType.EMPTY);
+            }
+        }
+        return new GameSession(board);
+    }
+
+    private static PieceType type(GameSession session, int row, int col) {
+        return session.getBoard().getPiece(row, col).getType();
+    }
+
+    private static List<String> record(GameSession session) {
+        List<String> events = new ArrayList<>();
+        session.addListener(new GameSessionListener() {
+            @Override
+            public void onTurnPassed(PieceType blocked) {
+                events.add("passou:" + blocked);
+            }
+
+            @Override
+            public void onGameOver(PieceType winner, EndReason reason) {
+                events.add("fim:" + winner + ":" + reason);
+            }
+        });
+        return events;
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.model;
+
+import org.example.common.PieceType;
+import org.example.game.GameSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * makeMove/unmakeMove precisam devolver o tabuleiro exatamente ao estado anterior: peças,
+ * capturas, contadores da fase inicial e sequência de capturas em andamento.
+ */
+class BoardMakeUnmakeTest {
+    private static final int MAX_PLIES = 400;
+
+    @Test
+    void unmakingAWholeGameRestoresEveryPosition() {
+        for (int size : new int[]{5, 7, 9}) {
+            for (long seed = 0; seed < 5; seed++) {
+                GameSession session = new GameSession(new Board(size));
+                Board board = session.getBoard();
+                String initial = fingerprint(board);
+
+                List<String> before = new ArrayList<>();
+                List<Move> played = new ArrayList<>();
+                List<PieceType> players = new ArrayList<>();
+                Random random = new Random(seed);
+                while (!session.isOver() && played.size() < MAX_PLIES) {
+                    List<Move> moves = board.getValidMoves(session.getToMove());
+                    Move move = moves.get(random.nextInt(moves.size()));
+                    before.add(fingerprint(board));
+                    players.add(session.getToMove());
+                    assertTrue(session.play(move));
+                    played.add(move);
+                }
+
+                assertEquals(played.size(), board.getUndoDepth());
+                for (int i = played.size() - 1; i >= 0; i--) {
+                    String where = size + "x" + size + ", semente " + seed + ", lance " + i;
+                    assertEquals(played.get(i), board.getLastMove(), where);
+                    assertEquals(players.get(i), board.unmakeMove(), where);
+                    // O contador do turno é zerado pela sessão depois do makeMove; o unmake volta ao valor de antes
+                    assertEquals(before.get(i), fingerprint(board), where);
+                }
+                assertEquals(initial, fingerprint(board));
+                assertNull(board.unmakeMove());
+            }
+        }
+    }
+
+    @Test
+    void everyMoveRoundTripsFromEveryPosition() {
+        for (long seed = 0; seed < 10; seed++) {
+            GameSession session = new GameSession(new Board());
+            Board board = session.getBoard();
+            Random random = new Random(seed);
+            while (!session.isOver() && session.getPlies() < MAX_PLIES) {
+                PieceType player = session.getToMove();
+                PieceType opponent = GameSession.opponentOf(player);
+                List<Move> moves = board.getValidMoves(player);
+                for (Move move : moves) {
+                    String where = "semente " + seed + ", lance " + session.getPlies() + ": " + move.toProtocolString();
+                    String before = fingerprint(board);
+                    int opponentPieces = board.countPieces(opponent);
+                    int depth = board.getUndoDepth();
+
+                    int captured = board.makeMove(move, player);
+                    assertTrue(captured >= 0, where);
+                    assertEquals(opponentPieces - captured, board.countPieces(opponent), where);
+                    assertEquals(captured, board.getLastCaptures().size(), where);
+                    assertEquals(move, board.getLastMove(), where);
+                    assertEquals(player, board.getLastMovePlayer(), where);
+                    assertEquals(depth + 1, board.getUndoDepth(), where);
+
+                    assertEquals(player, board.unmakeMove(), where);
+                    assertEquals(before, fingerprint(board), where);
+                    assertEquals(depth, board.getUndoDepth(), where);
+                }
+                assertTrue(session.play(moves.get(random.nextInt(moves.size()))));
+            }
+        }
+    }
+
+    @Test
+    void invalidMoveLeavesBoardUntouched() {
+        Board board = new Board();
+        String before = fingerprint(board);
+        // Centro proibido na colocação, e movimento durante a fase inicial
+        assertEquals(-1, board.makeMove(Move.placement(2, 2), PieceType.PLAYER1));
+        assertEquals(-1, board.makeMove(new Move(0, 0, 0, 1), PieceType.PLAYER1));
+        assertEquals(-1, board.makeMove(Move.placement(5, 0), PieceType.PLAYER1));
+        assertEquals(before, fingerprint(board));
+        assertEquals(0, board.getUndoDepth());
+    }
+
+    /**
+     * Tudo o que makeMove altera e unmakeMove precisa restaurar
+     */
+    private static String fingerprint(Board board) {
+        StringBuilder sb = new StringBuilder();
+        int size = board.getBoardSize();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                sb.append(board.getPiece(row, col).getType().ordinal());
+            }
+        }
+        return sb.append('|').append(board.isSetupPhase())
+                .append('|').append(board.getPiecesToPlace(PieceType.PLAYER1))
+                .append('|').append(board.getPiecesToPlace(PieceType.PLAYER2))
+                .append('|').append(board.getPiecesPlacedThisTurn())
+                .append('|').append(board.getChainSquare())
+                .toString();
+    }
+}
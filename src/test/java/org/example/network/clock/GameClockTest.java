@@ -0,0 +1,109 @@
+package org.example.network.clock;
+
+import org.example.common.PieceType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contagem do relógio com instantes sintéticos (nanos): tempo principal, períodos de byoyomi
+ * renovados ou perdidos, queda e acréscimo Fischer.
+ */
+class GameClockTest {
+    private static final long START = 1_000_000_000L;
+
+    // 10 s de tempo principal, depois 3 períodos de 5 s
+    private final TimeControl byoyomi = TimeControl.byoyomi(10, 3, 5, TimeUnit.SECONDS);
+
+    @Test
+    void turnWithinMainTimeKeepsThePeriods() {
+        GameClock clock = started(byoyomi);
+        assertTrue(clock.endTurn(PieceType.PLAYER2, at(4_000)));
+        assertEquals("PLAYER2,5000,6000,3,10000,3", clock.toData());
+    }
+
+    @Test
+    void turnThatFitsInAPeriodRenewsIt() {
+        GameClock clock = started(byoyomi);
+        // Esgota o principal e termina dentro do primeiro período
+        assertTrue(clock.endTurn(PieceType.PLAYER2, at(14_000)));
+        assertEquals("PLAYER2,5000,0,3,10000,3", clock.toData());
+
+        assertTrue(clock.endTurn(PieceType.PLAYER1, at(15_000)));
+        // Só períodos: 4,9 s ainda cabem no período, que se renova no próximo turno
+        assertTrue(clock.endTurn(PieceType.PLAYER2, at(19_900)));
+        assertEquals("PLAYER2,5000,0,3,9000,3", clock.toData());
+    }
+
+    @Test
+    void eachExceededPeriodIsLost() {
+        GameClock clock = started(byoyomi);
+        // 10 s de principal + 12 s: dois períodos inteiros ultrapassados, o terceiro em uso
+        assertTrue(clock.endTurn(PieceType.PLAYER2, at(22_000)));
+        assertEquals("PLAYER2,5000,0,1,10000,3", clock.toData());
+
+        assertTrue(clock.endTurn(PieceType.PLAYER1, at(23_000)));
+        assertEquals(TimeUnit.SECONDS.toNanos(5), clock.nanosUntilFlag(at(23_000)));
+        assertTrue(clock.endTurn(PieceType.PLAYER2, at(27_000)));
+        assertEquals("PLAYER2,5000,0,1,9000,3", clock.toData());
+    }
+
+    @Test
+    void flagFallsWhenTheLastPeriodRunsOut() {
+        GameClock clock = started(byoyomi);
+        long flagAt = at(10_000 + 3 * 5_000);
+        assertEquals(TimeUnit.SECONDS.toNanos(25), clock.nanosUntilFlag(at(0)));
+        assertEquals(1, clock.nanosUntilFlag(flagAt - 1));
+        assertFalse(clock.isFlagged(flagAt - 1));
+        assertTrue(clock.isFlagged(flagAt));
+
+        // Lance depois da queda é recusado e o relógio não muda
+        String before = clock.toData();
+        assertFalse(clock.endTurn(PieceType.PLAYER2, flagAt));
+        assertEquals(PieceType.PLAYER1, clock.getRunning());
+        assertEquals(before, clock.toData());
+
+        assertTrue(clock.endTurn(PieceType.PLAYER2, flagAt - 1));
+        assertEquals("PLAYER2,5000,0,1,10000,3", clock.toData());
+    }
+
+    @Test
+    void fischerAddsTheIncrementAtTheEndOfEachTurn() {
+        GameClock clock = started(TimeControl.fischer(60, 5, TimeUnit.SECONDS));
+        assertTrue(clock.endTurn(PieceType.PLAYER2, at(10_000)));
+        assertEquals("PLAYER2,0,55000,0,60000,0", clock.toData());
+        assertTrue(clock.endTurn(PieceType.PLAYER1, at(12_000)));
+        assertEquals("PLAYER1,0,55000,0,63000,0", clock.toData());
+        assertFalse(clock.endTurn(PieceType.PLAYER2, at(12_000 + 55_001)));
+    }
+
+    @Test
+    void stoppedClockNeverFlags() {
+        GameClock clock = started(byoyomi);
+        clock.stop();
+        assertNull(clock.getRunning());
+        assertEquals(Long.MAX_VALUE, clock.nanosUntilFlag(at(1_000_000)));
+        assertTrue(clock.endTurn(PieceType.PLAYER2, at(1_000_000)));
+    }
+
+    @Test
+    void parsesTheConfiguration() {
+        assertEquals("byoyomi:600,5x30", TimeControl.parse("byoyomi:600,5x30").toString());
+        assertEquals("fischer:300+5", TimeControl.parse(" Fischer:300+5 ").toString());
+        assertNull(TimeControl.parse("none"));
+        assertThrows(IllegalArgumentException.class, () -> TimeControl.parse("byoyomi:600"));
+        assertThrows(IllegalArgumentException.class, () -> TimeControl.parse("byoyomi:0,0x0"));
+    }
+
+    private static GameClock started(TimeControl control) {
+        GameClock clock = new GameClock(control);
+        clock.start(PieceType.PLAYER1, START);
+        return clock;
+    }
+
+    private static long at(long millis) {
+        return START + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
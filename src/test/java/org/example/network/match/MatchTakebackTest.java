@@ -0,0 +1,62 @@
+package org.example.network.match;
+
+import org.example.model.Move;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pedido de voltar lance guardado pelo servidor, inclusive quando o lance do oponente chega
+ * depois do pedido e antes da resposta.
+ */
+class MatchTakebackTest {
+    private static final String A = "a";
+    private static final String B = "b";
+
+    @Test
+    void answerToAPendingRequestIsAcceptedOnce() {
+        Match match = casualMatchAfterFirstTurn();
+        assertTrue(match.requestTakeback(A));
+        assertFalse(match.answerTakeback(A), "quem pediu não responde ao próprio pedido");
+        assertTrue(match.answerTakeback(B));
+        assertFalse(match.answerTakeback(B), "o pedido é consumido pela resposta");
+    }
+
+    @Test
+    void answerWithoutARequestIsDropped() {
+        Match match = casualMatchAfterFirstTurn();
+        assertFalse(match.answerTakeback(B));
+    }
+
+    @Test
+    void opponentPlyBeforeTheAnswerDiscardsTheRequest() {
+        Match match = casualMatchAfterFirstTurn();
+        // O pedido de A chega ao servidor antes do turno que B já tinha enviado
+        assertTrue(match.requestTakeback(A));
+        match.applyMove(Move.placement(1, 1));
+        match.applyMove(Move.placement(1, 2));
+        // Quem pediu é devolvido para ser avisado da recusa; a resposta atrasada de B não vale mais
+        assertEquals(A, match.recordPly());
+        assertFalse(match.answerTakeback(B));
+        assertNull(match.recordPly(), "nada pendente no lance seguinte");
+    }
+
+    @Test
+    void ratedOrClockedMatchesRefuseTheRequest() {
+        Match rated = casualMatchAfterFirstTurn();
+        rated.setPlayerNames("ana", "bia");
+        assertFalse(rated.requestTakeback(A));
+        assertNull(rated.recordPly());
+
+        Match stranger = casualMatchAfterFirstTurn();
+        assertFalse(stranger.requestTakeback("c"));
+    }
+
+    private static Match casualMatchAfterFirstTurn() {
+        Match match = new Match(1, A, B, 5);
+        match.applyMove(Move.placement(0, 0));
+        match.applyMove(Move.placement(0, 1));
+        assertNull(match.recordPly());
+        return match;
+    }
+}